@@ -0,0 +1,72 @@
+package br.com.tech.os.ostech.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files and exits with status 1 when any benchmark present in both
+ * got slower than the allowed threshold. Throughput scores regress when they drop; time-based
+ * scores (avgt, sample, ss) regress when they grow.
+ *
+ * <p>Usage: {@code BenchmarkRegressionCheck <baseline.json> <current.json> [threshold-percent]}
+ */
+public final class BenchmarkRegressionCheck {
+
+    private BenchmarkRegressionCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkRegressionCheck <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW         %s%n", entry.getKey());
+                continue;
+            }
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = entry.getValue().path("primaryMetric").path("score").asDouble();
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            double slowdown = higherIsBetter ? -change : change;
+            boolean regressed = slowdown > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-11s %s: %.3f -> %.3f %s (%+.1f%%)%n", regressed ? "REGRESSION" : "OK",
+                    entry.getKey(), oldScore, newScore,
+                    entry.getValue().path("primaryMetric").path("scoreUnit").asText(), change);
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            String key = result.path("benchmark").asText() + (params.isEmpty() ? "" : params.toString());
+            results.put(key, result);
+        }
+        return results;
+    }
+
+}
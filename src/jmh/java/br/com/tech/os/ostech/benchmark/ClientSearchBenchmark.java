@@ -0,0 +1,140 @@
+package br.com.tech.os.ostech.benchmark;
+
+import br.com.tech.os.ostech.repository.search.LikePattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the paginated client search (page + count) with and without the trigram index.
+ * Needs a PostgreSQL database; connection settings come from the system properties
+ * {@code benchmark.jdbc.url}, {@code benchmark.jdbc.user} and {@code benchmark.jdbc.password}.
+ * The data set is created once in the {@code search_bench} schema and reused between runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientSearchBenchmark {
+
+    private static final String SCHEMA = "search_bench";
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"silva", "uza 4242"})
+    public String term;
+
+    private Connection connection;
+    private PreparedStatement plainPage;
+    private PreparedStatement plainCount;
+    private PreparedStatement trigramPage;
+    private PreparedStatement trigramCount;
+    private String pattern;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://127.0.0.1:5432/techos"),
+                System.getProperty("benchmark.jdbc.user", "postgres"),
+                System.getProperty("benchmark.jdbc.password", ""));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            statement.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+            seed(statement, "clients_plain", false);
+            seed(statement, "clients_trgm", true);
+        }
+        pattern = LikePattern.contains(term);
+        plainPage = pageStatement("clients_plain");
+        plainCount = countStatement("clients_plain");
+        trigramPage = pageStatement("clients_trgm");
+        trigramCount = countStatement("clients_trgm");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long sequentialScan() throws SQLException {
+        return search(plainPage, plainCount);
+    }
+
+    @Benchmark
+    public long trigramIndex() throws SQLException {
+        return search(trigramPage, trigramCount);
+    }
+
+    private long search(PreparedStatement page, PreparedStatement count) throws SQLException {
+        long checksum = 0;
+        page.setString(1, pattern);
+        try (ResultSet resultSet = page.executeQuery()) {
+            while (resultSet.next()) {
+                checksum += resultSet.getString(1).length();
+            }
+        }
+        count.setString(1, pattern);
+        try (ResultSet resultSet = count.executeQuery()) {
+            resultSet.next();
+            checksum += resultSet.getLong(1);
+        }
+        return checksum;
+    }
+
+    private PreparedStatement pageStatement(String table) throws SQLException {
+        return connection.prepareStatement("SELECT c.id, c.name FROM " + SCHEMA + "." + table
+                + " c WHERE lower(c.name) LIKE ? ESCAPE '\\' LIMIT " + PAGE_SIZE);
+    }
+
+    private PreparedStatement countStatement(String table) throws SQLException {
+        return connection.prepareStatement("SELECT count(*) FROM " + SCHEMA + "." + table
+                + " c WHERE lower(c.name) LIKE ? ESCAPE '\\'");
+    }
+
+    private void seed(Statement statement, String table, boolean trigramIndex) throws SQLException {
+        String qualified = SCHEMA + "." + table;
+        statement.execute("CREATE TABLE IF NOT EXISTS " + qualified
+                + " (id varchar(36) PRIMARY KEY, name varchar(255), cpf varchar(255), created_at timestamp)");
+        try (ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM " + qualified)) {
+            resultSet.next();
+            if (resultSet.getLong(1) == rows) {
+                return;
+            }
+        }
+        statement.execute("TRUNCATE " + qualified);
+        statement.execute("INSERT INTO " + qualified + " (id, name, cpf, created_at) "
+                + "SELECT md5(i::text), "
+                + "(ARRAY['Ana','Bruno','Carla','Diego','Elisa','Fabio','Gabriela','Hugo','Isabela','Joao'])[1 + i % 10] || ' ' || "
+                + "(ARRAY['Silva','Souza','Costa','Santos','Oliveira','Pereira','Lima','Carvalho','Ferreira','Almeida'])[1 + (i / 10) % 10] || ' ' || i, "
+                + "lpad(i::text, 11, '0'), now() - (i || ' minutes')::interval "
+                + "FROM generate_series(1, " + rows + ") AS i");
+        if (trigramIndex) {
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_name_trgm ON " + qualified
+                    + " USING gin (lower(name) gin_trgm_ops)");
+        }
+        statement.execute("ANALYZE " + qualified);
+    }
+
+}
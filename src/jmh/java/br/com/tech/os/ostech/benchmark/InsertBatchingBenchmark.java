@@ -0,0 +1,128 @@
+package br.com.tech.os.ostech.benchmark;
+
+import br.com.tech.os.ostech.model.Client;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts clients through Hibernate on an in-memory H2 database, reporting rows per second. Compares the
+ * old create path (id assigned by hand with {@link UUID#randomUUID()}, so {@code save} turns into a
+ * {@code merge} that selects before inserting) with ids generated on {@code persist}, with and without
+ * JDBC batching.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    private static final int ROWS = 1000;
+
+    public enum Ids { ASSIGNED_MERGE, GENERATED_PERSIST }
+
+    @Param({"1", "500"})
+    public int batchSize;
+
+    @Param({"ASSIGNED_MERGE", "GENERATED_PERSIST"})
+    public Ids ids;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate transactionTemplate;
+    private long cpf;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JpaOnly.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--spring.datasource.url=jdbc:h2:mem:insert-bench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.auto_quote_keyword=true",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--logging.level.root=WARN");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery("DELETE FROM clients").executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertClients() {
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            entityManager.joinTransaction();
+            for (int i = 0; i < ROWS; i++) {
+                Client client = new Client();
+                client.setName("Cliente " + i);
+                client.setCpf(Long.toString(++cpf));
+                client.setCreatedAt(new Date());
+                client.setUpdatedAt(client.getCreatedAt());
+                if (ids == Ids.ASSIGNED_MERGE) {
+                    client.setId(UUID.randomUUID().toString());
+                    entityManager.merge(client);
+                } else {
+                    entityManager.persist(client);
+                }
+            }
+            entityManager.flush();
+            entityManager.close();
+        });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Client.class)
+    static class JpaOnly {
+    }
+
+}
@@ -0,0 +1,132 @@
+package br.com.tech.os.ostech.benchmark;
+
+import br.com.tech.os.ostech.model.Budget;
+import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.model.Contact;
+import br.com.tech.os.ostech.model.OrderService;
+import br.com.tech.os.ostech.model.Smartphone;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.model.Technical;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServicePaginationResponse;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes an order-service page the way the pagination endpoint does, in the full
+ * (entity graph) and compact (summary) views.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationSerializationBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private OrderServicePaginationResponse fullPage;
+    private OrderServicePaginationResponse compactPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Date now = new Date();
+        List<OrderService> orderServices = new ArrayList<>(pageSize);
+        List<OrderServiceSummary> summaries = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            OrderService orderService = orderService(i, now);
+            orderServices.add(orderService);
+            summaries.add(new OrderServiceSummary(orderService.getId(), orderService.getStatus(),
+                    orderService.getClientId().getName(), orderService.getSmartphoneId().getModel(),
+                    orderService.getBudgetId().getValue(), orderService.getBudgetId().getApproved(),
+                    orderService.getCreatedAt(), orderService.getUpdatedAt(), orderService.getDepartureDate()));
+        }
+
+        fullPage = new OrderServicePaginationResponse(20, 0, orderServices, pageSize);
+        compactPage = OrderServicePaginationResponse.compact(20, 0, summaries, pageSize, null);
+    }
+
+    @Benchmark
+    public byte[] fullView() throws Exception {
+        return objectMapper.writeValueAsBytes(fullPage);
+    }
+
+    @Benchmark
+    public byte[] compactView() throws Exception {
+        return objectMapper.writeValueAsBytes(compactPage);
+    }
+
+    private static OrderService orderService(int index, Date now) {
+        Contact contact = new Contact();
+        contact.setId("contact-" + index);
+        contact.setEmail("cliente" + index + "@techos.com");
+        contact.setPhone("1199999" + String.format("%04d", index));
+        contact.setCreatedAt(now);
+        contact.setUpdatedAt(now);
+
+        Client client = new Client();
+        client.setId("client-" + index);
+        client.setName("Cliente " + index);
+        client.setCpf(String.format("%011d", index));
+        client.setContact(contact);
+        client.setCreatedAt(now);
+        client.setUpdatedAt(now);
+
+        Smartphone smartphone = new Smartphone();
+        smartphone.setId("smartphone-" + index);
+        smartphone.setModel("Galaxy S" + (index % 25));
+        smartphone.setProblem("Tela quebrada");
+        smartphone.setObservation("Sem riscos na traseira");
+        smartphone.setSerial("SN" + index);
+        smartphone.setCreatedAt(now);
+        smartphone.setUpdatedAt(now);
+
+        Technical technical = new Technical();
+        technical.setId("technical-" + (index % 5));
+        technical.setName("Técnico " + (index % 5));
+        technical.setCreatedAt(now);
+        technical.setUpdatedAt(now);
+
+        Budget budget = new Budget();
+        budget.setId("budget-" + index);
+        budget.setTechnical(technical);
+        budget.setValue(150.0 + index);
+        budget.setDescription("Troca de tela");
+        budget.setObservation("Peça original");
+        budget.setApproved(index % 2 == 0);
+        budget.setCreatedAt(now);
+        budget.setUpdatedAt(now);
+
+        OrderService orderService = new OrderService();
+        orderService.setId(index);
+        orderService.setClientId(client);
+        orderService.setSmartphoneId(smartphone);
+        orderService.setBudgetId(budget);
+        orderService.setStatus(Status.values()[index % Status.values().length]);
+        orderService.setCreatedAt(now);
+        orderService.setUpdatedAt(now);
+        return orderService;
+    }
+
+}
@@ -0,0 +1,202 @@
+package br.com.tech.os.ostech.benchmark;
+
+import br.com.tech.os.ostech.config.RequestResponseLoggingFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what {@link RequestResponseLoggingFilter} adds to a request compared with calling the
+ * chain directly. Only the request thread is measured: the log writer's own logger is switched
+ * off so console output does not compete for CPU, and request/response bodies go through plain
+ * array-backed streams instead of the byte-at-a-time mock streams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RequestResponseLoggingFilterBenchmark {
+
+    private static final MockServletContext SERVLET_CONTEXT = new MockServletContext();
+
+    @Param({"256", "16384"})
+    public int bodySize;
+
+    @Param({"1.0", "0.1"})
+    public double sampleRate;
+
+    private RequestResponseLoggingFilter filter;
+    private FilterChain chain;
+    private byte[] requestBody;
+
+    @Setup
+    public void setUp() {
+        if (LoggerFactory.getLogger("request-response-logger-elastic") instanceof ch.qos.logback.classic.Logger logger) {
+            logger.setLevel(ch.qos.logback.classic.Level.OFF);
+        }
+
+        filter = new RequestResponseLoggingFilter(true, sampleRate, new String[]{"/**"}, new String[0],
+                4096, 1000, new MockEnvironment());
+
+        requestBody = new byte[bodySize];
+        Arrays.fill(requestBody, (byte) 'a');
+        byte[] responseBody = ("{\"content\":\"" + new String(requestBody, StandardCharsets.UTF_8) + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        chain = (request, response) -> {
+            request.getInputStream().readAllBytes();
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(responseBody);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        filter.destroy();
+    }
+
+    @Benchmark
+    public HttpServletResponse withoutFilter() throws Exception {
+        HttpServletResponse response = new DiscardingResponse();
+        chain.doFilter(request(), response);
+        return response;
+    }
+
+    @Benchmark
+    public HttpServletResponse withFilter() throws Exception {
+        HttpServletResponse response = new DiscardingResponse();
+        filter.doFilter(request(), response, chain);
+        return response;
+    }
+
+    private HttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest(SERVLET_CONTEXT, "POST", "/v1/client");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return new BodyRequest(request, requestBody);
+    }
+
+    private static final class BodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private BodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+
+    private static final class DiscardingResponse extends HttpServletResponseWrapper {
+
+        private final ServletOutputStream output = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) {
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        private final PrintWriter writer = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+
+        private DiscardingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return output;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            return writer;
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package br.com.tech.os.ostech.benchmark;
+
+import br.com.tech.os.ostech.enums.OrderServiceSearchType;
+import br.com.tech.os.ostech.enums.SearchType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchTypeBenchmark {
+
+    @Param({"name", "DEPARTURE_DATE", "unknown"})
+    public String value;
+
+    @Benchmark
+    public SearchType searchTypeFromValue() {
+        return SearchType.fromValue(value);
+    }
+
+    @Benchmark
+    public OrderServiceSearchType orderServiceSearchTypeFromValue() {
+        return OrderServiceSearchType.fromValue(value);
+    }
+
+}
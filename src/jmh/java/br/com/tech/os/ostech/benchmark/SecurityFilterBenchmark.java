@@ -0,0 +1,90 @@
+package br.com.tech.os.ostech.benchmark;
+
+import br.com.tech.os.ostech.enums.PrincipalSource;
+import br.com.tech.os.ostech.infra.security.SecurityFilter;
+import br.com.tech.os.ostech.infra.security.TokenService;
+import br.com.tech.os.ostech.model.User;
+import br.com.tech.os.ostech.repository.UserRepository;
+import br.com.tech.os.ostech.repository.UserTokenStateRepository;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link SecurityFilter} end to end (header parsing, token validation and principal lookup)
+ * with a stubbed {@link UserRepository}, so the numbers exclude database time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class SecurityFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"CACHE", "CLAIMS"})
+    public PrincipalSource principalSource;
+
+    private SecurityFilter securityFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        UserTokenStateRepository tokenStates = Mockito.mock(UserTokenStateRepository.class, Mockito.withSettings().stubOnly());
+        TokenService tokenService = new TokenService(tokenStates, "benchmark-secret", 10_000, Duration.ofMinutes(15),
+                Duration.ofDays(7), Duration.ofSeconds(30));
+
+        User user = new User();
+        user.setId("benchmark-user");
+        user.setName("Benchmark");
+        user.setEmail("benchmark@techos.com");
+        authorization = "Bearer " + tokenService.generateToken(user);
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class, Mockito.withSettings().stubOnly());
+        Mockito.when(userRepository.findByEmail(user.getEmail())).thenReturn(user);
+
+        securityFilter = new SecurityFilter(tokenService, userRepository, principalSource, 10_000, Duration.ofMinutes(5));
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/order-service/pagination");
+        request.addHeader("Authorization", authorization);
+        return filter(request);
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws Exception {
+        return filter(new MockHttpServletRequest("GET", "/v1/status"));
+    }
+
+    private Object filter(MockHttpServletRequest request) throws Exception {
+        try {
+            securityFilter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package br.com.tech.os.ostech.benchmark;
+
+import br.com.tech.os.ostech.infra.security.TokenService;
+import br.com.tech.os.ostech.model.User;
+import br.com.tech.os.ostech.repository.UserTokenStateRepository;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+
+    private TokenService tokenService;
+    private JWTVerifier sharedVerifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        UserTokenStateRepository tokenStates = Mockito.mock(UserTokenStateRepository.class, Mockito.withSettings().stubOnly());
+        tokenService = new TokenService(tokenStates, SECRET, 10_000, Duration.ofMinutes(15), Duration.ofDays(7),
+                Duration.ofSeconds(30));
+        sharedVerifier = JWT.require(Algorithm.HMAC256(SECRET))
+                .withIssuer(TokenService.ISSUER)
+                .build();
+
+        User user = new User();
+        user.setId("benchmark-user");
+        user.setName("Benchmark");
+        user.setEmail("benchmark@techos.com");
+        token = tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String verifierPerRequest() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(algorithm)
+                .withIssuer(TokenService.ISSUER)
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String sharedVerifier() {
+        return sharedVerifier.verify(token).getSubject();
+    }
+
+    @Benchmark
+    public String validateToken() {
+        return tokenService.validateToken(token);
+    }
+
+}
@@ -0,0 +1,60 @@
+package br.com.tech.os.ostech.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+final class EndpointStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String name;
+    private final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(long nanos, boolean success) {
+        latency.recordValue(Math.min(nanos, MAX_TRACKABLE_NANOS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        latency.reset();
+        errors.reset();
+    }
+
+    Map<String, Object> summary(double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", name);
+        summary.put("requests", latency.getTotalCount());
+        summary.put("errors", errors.sum());
+        summary.put("throughput", round(latency.getTotalCount() / seconds));
+        summary.put("p50", millis(latency.getValueAtPercentile(50)));
+        summary.put("p90", millis(latency.getValueAtPercentile(90)));
+        summary.put("p99", millis(latency.getValueAtPercentile(99)));
+        summary.put("max", millis(latency.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+}
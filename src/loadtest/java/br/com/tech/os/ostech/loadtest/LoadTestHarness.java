@@ -0,0 +1,361 @@
+package br.com.tech.os.ostech.loadtest;
+
+import br.com.tech.os.ostech.TechOsApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.logging.LoggingApplicationListener;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.CommandLinePropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the application against an in-memory H2 database, seeds it and drives a weighted mix of
+ * requests from {@code loadtest.concurrency} workers. The defaults below take precedence over
+ * application.properties but not over {@code --key=value} arguments, so the datasource can be pointed
+ * at a real Postgres and any {@code loadtest.*} setting can be overridden from the command line.
+ * With {@code --loadtest.compare-threads=true} the same load runs twice, on platform and then on virtual
+ * threads, and both results are reported side by side.
+ */
+public final class LoadTestHarness {
+
+    private static final Map<String, Object> DEFAULTS = Map.ofEntries(
+            Map.entry("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1"),
+            Map.entry("spring.datasource.driver-class-name", "org.h2.Driver"),
+            Map.entry("spring.datasource.username", "sa"),
+            Map.entry("spring.datasource.password", ""),
+            Map.entry("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect"),
+            Map.entry("spring.jpa.hibernate.ddl-auto", "create-drop"),
+            Map.entry("spring.flyway.enabled", "false"),
+            Map.entry("spring.jpa.properties.hibernate.auto_quote_keyword", "true"),
+            Map.entry("api.logging.http.enabled", "false"),
+            Map.entry("server.port", "0"),
+            Map.entry("management.server.port", "0"),
+            Map.entry("logging.level.root", "WARN"),
+            Map.entry("loadtest.clients", "2000"),
+            Map.entry("loadtest.orders", "10000"),
+            Map.entry("loadtest.concurrency", "16"),
+            Map.entry("loadtest.warmup", "10s"),
+            Map.entry("loadtest.duration", "60s"),
+            Map.entry("loadtest.report", "target/loadtest-report.json"),
+            Map.entry("loadtest.mix", "login:2,order-page:20,order-page-compact:15,client-page:15,"
+                    + "client-search:10,order-search:10,order-analytics:8,client-analytics:5,recent-orders:10,client-crud:5"));
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final AtomicLong cpfSequence = new AtomicLong(90_000_000_000L);
+    private final String baseUrl;
+    private final List<String> weightedMix = new ArrayList<>();
+
+    private LoadTestHarness(String baseUrl, String mix) {
+        this.baseUrl = baseUrl;
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            for (int i = 0; i < weight; i++) {
+                weightedMix.add(parts[0]);
+            }
+        }
+        stats.put("login", new EndpointStats("login"));
+        for (String scenario : weightedMix.stream().distinct().toList()) {
+            if ("client-crud".equals(scenario)) {
+                for (String step : List.of("client-create", "client-get", "client-update", "client-delete")) {
+                    stats.put(step, new EndpointStats(step));
+                }
+            } else {
+                stats.putIfAbsent(scenario, new EndpointStats(scenario));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLinePropertySource<?> commandLine = new SimpleCommandLinePropertySource(args);
+        Path report = Path.of(Objects.requireNonNullElse(commandLine.getProperty("loadtest.report"),
+                (String) DEFAULTS.get("loadtest.report")));
+        Map<String, Object> result;
+        if (Boolean.parseBoolean(commandLine.getProperty("loadtest.compare-threads"))) {
+            if (Runtime.version().feature() < 21) {
+                throw new IllegalStateException("Comparing platform and virtual threads needs Java 21, this is Java "
+                        + Runtime.version().feature() + ". Build and run with -Pjdk21.");
+            }
+            Map<String, Object> platform = runOnce(withThreads(args, false));
+            Map<String, Object> virtual = runOnce(withThreads(args, true));
+            printComparison(platform, virtual);
+            result = new LinkedHashMap<>();
+            result.put("platform", platform);
+            result.put("virtual", virtual);
+        } else {
+            result = runOnce(args);
+        }
+        Path parent = report.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), result);
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    private static Map<String, Object> runOnce(String[] args) throws Exception {
+        SpringApplication application = new SpringApplication(TechOsApplication.class);
+        application.addListeners(new DefaultsListener());
+
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            Environment environment = context.getEnvironment();
+            int clients = environment.getRequiredProperty("loadtest.clients", Integer.class);
+            int orders = environment.getRequiredProperty("loadtest.orders", Integer.class);
+
+            long seedStart = System.nanoTime();
+            if (new LoadTestSeeder(context).seed(clients, orders)) {
+                System.out.printf("Seeded %d clients and %d orders in %d ms%n",
+                        clients, orders, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+            } else {
+                System.out.println("Reusing the data seeded by an earlier run");
+            }
+
+            String port = environment.getRequiredProperty("local.server.port");
+            LoadTestHarness harness = new LoadTestHarness("http://localhost:" + port,
+                    environment.getRequiredProperty("loadtest.mix"));
+            return harness.run(environment.getRequiredProperty("loadtest.concurrency", Integer.class),
+                    DurationStyle.detectAndParse(environment.getRequiredProperty("loadtest.warmup")),
+                    DurationStyle.detectAndParse(environment.getRequiredProperty("loadtest.duration")),
+                    environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+        }
+    }
+
+    /**
+     * Both runs get the same arguments apart from the thread mode. On the default in-memory database each run
+     * seeds its own copy, which is identical because the seeder's random source is fixed.
+     */
+    private static String[] withThreads(String[] args, boolean virtual) {
+        List<String> threadArgs = new ArrayList<>(List.of(args));
+        threadArgs.add("--spring.threads.virtual.enabled=" + virtual);
+        return threadArgs.toArray(String[]::new);
+    }
+
+    private Map<String, Object> run(int concurrency, Duration warmup, Duration duration, boolean virtualThreads)
+            throws InterruptedException {
+        runPhase(concurrency, warmup);
+        stats.values().forEach(EndpointStats::reset);
+
+        long start = System.nanoTime();
+        runPhase(concurrency, duration);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        List<Map<String, Object>> endpoints = stats.values().stream()
+                .map(endpoint -> endpoint.summary(seconds))
+                .filter(summary -> (long) summary.get("requests") > 0)
+                .toList();
+        print(endpoints);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("concurrency", concurrency);
+        result.put("durationSeconds", Math.round(seconds));
+        result.put("virtualThreads", virtualThreads);
+        result.put("endpoints", endpoints);
+        return result;
+    }
+
+    private void runPhase(int concurrency, Duration length) throws InterruptedException {
+        if (length.isZero()) {
+            return;
+        }
+        long deadline = System.nanoTime() + length.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.submit(() -> work(deadline));
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(length.toSeconds() + 60, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private void work(long deadline) {
+        Tokens tokens = login();
+        while (System.nanoTime() < deadline) {
+            String scenario = weightedMix.get(ThreadLocalRandom.current().nextInt(weightedMix.size()));
+            String token = tokens.token();
+            try {
+                switch (scenario) {
+                    case "login" -> tokens = login();
+                    case "refresh" -> tokens = refresh(tokens);
+                    case "order-page" -> get(scenario, token, "/v1/order-service/pagination?size=20");
+                    case "order-page-compact" -> get(scenario, token, "/v1/order-service/pagination?size=20&view=compact");
+                    case "client-page" -> get(scenario, token, "/v1/client/pagination?size=20");
+                    case "client-search" -> get(scenario, token,
+                            "/v1/client/pagination?size=20&searchType=name&searchValue=" + randomSurname());
+                    case "order-search" -> get(scenario, token,
+                            "/v1/order-service/pagination?size=20&searchType=CLIENT&searchValue=" + randomSurname());
+                    case "order-analytics" -> get(scenario, token, "/v1/order-service/analytics");
+                    case "client-analytics" -> get(scenario, token, "/v1/client/analytics");
+                    case "recent-orders" -> get(scenario, token, "/v1/order-service/recent");
+                    case "client-crud" -> clientCrud(token);
+                    default -> throw new IllegalArgumentException("Unknown load test scenario: " + scenario);
+                }
+            } catch (IOException e) {
+                // Failed exchanges are already counted as errors by send().
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Tokens login() {
+        String body = "{\"email\":\"" + LoadTestSeeder.USER_EMAIL + "\",\"password\":\"" + LoadTestSeeder.USER_PASSWORD + "\"}";
+        return issueTokens("login", "/auth/login", body);
+    }
+
+    private Tokens refresh(Tokens tokens) {
+        if (tokens.refreshToken() == null) {
+            return login();
+        }
+        Tokens refreshed = issueTokens("refresh", "/auth/refresh", "{\"refreshToken\":\"" + tokens.refreshToken() + "\"}");
+        return refreshed.token() == null ? login() : refreshed;
+    }
+
+    private Tokens issueTokens(String endpoint, String path, String body) {
+        try {
+            HttpResponse<String> response = send(endpoint, null,
+                    request(path).POST(HttpRequest.BodyPublishers.ofString(body)));
+            JsonNode json = objectMapper.readTree(response.body());
+            return new Tokens(json.path("token").asText(null), json.path("refreshToken").asText(null));
+        } catch (IOException e) {
+            return new Tokens(null, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Tokens(null, null);
+        }
+    }
+
+    private void clientCrud(String token) throws IOException, InterruptedException {
+        long cpf = cpfSequence.incrementAndGet();
+        String body = "{\"name\":\"Carga " + cpf + " " + randomSurname() + "\",\"cpf\":\"" + cpf + "\"}";
+        HttpResponse<String> created = send("client-create", token,
+                request("/v1/client").POST(HttpRequest.BodyPublishers.ofString(body)));
+        JsonNode id = objectMapper.readTree(created.body()).path("id");
+        if (id.isMissingNode()) {
+            return;
+        }
+        String path = "/v1/client/" + id.asText();
+        get("client-get", token, path);
+        send("client-update", token, request(path).PUT(HttpRequest.BodyPublishers.ofString(body.replace("Carga", "Atualizado"))));
+        send("client-delete", token, request(path).DELETE());
+    }
+
+    private void get(String endpoint, String token, String path) throws IOException, InterruptedException {
+        send(endpoint, token, request(path).GET());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpResponse<String> send(String endpoint, String token, HttpRequest.Builder builder)
+            throws IOException, InterruptedException {
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        EndpointStats endpointStats = stats.get(endpoint);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            endpointStats.record(System.nanoTime() - start, response.statusCode() < 400);
+            return response;
+        } catch (IOException e) {
+            endpointStats.record(System.nanoTime() - start, false);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs after application.properties is loaded but before the logging system reads its levels.
+     */
+    private static final class DefaultsListener implements ApplicationListener<ApplicationEnvironmentPreparedEvent>, Ordered {
+
+        @Override
+        public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+            MutablePropertySources sources = event.getEnvironment().getPropertySources();
+            MapPropertySource defaults = new MapPropertySource("loadtest", DEFAULTS);
+            if (sources.contains(CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME)) {
+                sources.addAfter(CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME, defaults);
+            } else {
+                sources.addFirst(defaults);
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            return LoggingApplicationListener.DEFAULT_ORDER - 1;
+        }
+
+    }
+
+    private record Tokens(String token, String refreshToken) {
+    }
+
+    private static String randomSurname() {
+        return LoadTestSeeder.SURNAMES.get(ThreadLocalRandom.current().nextInt(LoadTestSeeder.SURNAMES.size()));
+    }
+
+    private static void print(List<Map<String, Object>> endpoints) {
+        System.out.printf("%n%-20s %10s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Map<String, Object> endpoint : endpoints) {
+            System.out.printf("%-20s %10d %8d %10.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.get("endpoint"), endpoint.get("requests"), endpoint.get("errors"), endpoint.get("throughput"),
+                    endpoint.get("p50"), endpoint.get("p90"), endpoint.get("p99"), endpoint.get("max"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printComparison(Map<String, Object> platform, Map<String, Object> virtual) {
+        Map<Object, Map<String, Object>> virtualEndpoints = new LinkedHashMap<>();
+        for (Map<String, Object> endpoint : (List<Map<String, Object>>) virtual.get("endpoints")) {
+            virtualEndpoints.put(endpoint.get("endpoint"), endpoint);
+        }
+        System.out.printf("%n%-20s %12s %12s %12s %12s %8s %8s%n",
+                "endpoint", "platform r/s", "virtual r/s", "platform p99", "virtual p99", "p errors", "v errors");
+        for (Map<String, Object> endpoint : (List<Map<String, Object>>) platform.get("endpoints")) {
+            Map<String, Object> other = virtualEndpoints.getOrDefault(endpoint.get("endpoint"), Map.of());
+            System.out.printf("%-20s %12.2f %12.2f %12.2f %12.2f %8d %8d%n",
+                    endpoint.get("endpoint"), endpoint.get("throughput"), other.getOrDefault("throughput", 0.0),
+                    endpoint.get("p99"), other.getOrDefault("p99", 0.0),
+                    endpoint.get("errors"), other.getOrDefault("errors", 0L));
+        }
+    }
+
+}
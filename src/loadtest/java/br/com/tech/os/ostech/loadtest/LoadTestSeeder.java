@@ -0,0 +1,151 @@
+package br.com.tech.os.ostech.loadtest;
+
+import br.com.tech.os.ostech.model.Budget;
+import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.model.Contact;
+import br.com.tech.os.ostech.model.OrderService;
+import br.com.tech.os.ostech.model.Smartphone;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.model.Technical;
+import br.com.tech.os.ostech.model.User;
+import br.com.tech.os.ostech.repository.BudgetRepository;
+import br.com.tech.os.ostech.repository.ClientRepository;
+import br.com.tech.os.ostech.repository.OrderServiceRepository;
+import br.com.tech.os.ostech.repository.SmartphoneRepository;
+import br.com.tech.os.ostech.repository.TechnicalRepository;
+import br.com.tech.os.ostech.repository.UserRepository;
+import br.com.tech.os.ostech.service.counters.AnalyticsCountersReconciler;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes the load-test data set straight through the repositories. Creation dates are spread over
+ * the last year so the analytics queries have something to aggregate.
+ */
+final class LoadTestSeeder {
+
+    static final String USER_EMAIL = "loadtest@techos.com";
+    static final String USER_PASSWORD = "loadtest";
+    static final List<String> SURNAMES = List.of(
+            "Silva", "Souza", "Oliveira", "Santos", "Pereira", "Costa", "Rodrigues", "Almeida", "Nascimento", "Lima");
+    static final List<String> MODELS = List.of(
+            "Galaxy S23", "Galaxy A54", "iPhone 13", "iPhone 15", "Moto G84", "Redmi Note 12", "Pixel 8", "Xperia 10");
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ApplicationContext context;
+    private final Random random = new Random(42);
+
+    LoadTestSeeder(ApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Returns false, after only reconciling the counters, when the load test user already exists: the database
+     * was then seeded by an earlier run against the same datasource.
+     */
+    boolean seed(int clients, int orders) {
+        if (context.getBean(UserRepository.class).findByEmail(USER_EMAIL) != null) {
+            context.getBean(AnalyticsCountersReconciler.class).reconcile();
+            return false;
+        }
+        User user = new User();
+        user.setName("Load Test");
+        user.setEmail(USER_EMAIL);
+        user.setPassword(context.getBean(PasswordEncoder.class).encode(USER_PASSWORD));
+        context.getBean(UserRepository.class).save(user);
+
+        List<Technical> technicals = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Technical technical = new Technical();
+            technical.setName("Técnico " + i);
+            technical.setCreatedAt(new Date());
+            technical.setUpdatedAt(technical.getCreatedAt());
+            technicals.add(technical);
+        }
+        technicals = context.getBean(TechnicalRepository.class).saveAll(technicals);
+
+        List<Client> savedClients = new ArrayList<>(clients);
+        ClientRepository clientRepository = context.getBean(ClientRepository.class);
+        List<Client> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < clients; i++) {
+            batch.add(client(i));
+            if (batch.size() == BATCH_SIZE || i == clients - 1) {
+                savedClients.addAll(clientRepository.saveAll(batch));
+                batch.clear();
+            }
+        }
+
+        SmartphoneRepository smartphoneRepository = context.getBean(SmartphoneRepository.class);
+        BudgetRepository budgetRepository = context.getBean(BudgetRepository.class);
+        OrderServiceRepository orderServiceRepository = context.getBean(OrderServiceRepository.class);
+        List<OrderService> orderBatch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < orders; i++) {
+            Smartphone smartphone = new Smartphone();
+            smartphone.setModel(MODELS.get(random.nextInt(MODELS.size())));
+            smartphone.setProblem("Tela quebrada");
+            smartphone.setSerial("SN" + i);
+            smartphone.setCreatedAt(new Date());
+            smartphone.setUpdatedAt(smartphone.getCreatedAt());
+
+            Budget budget = null;
+            if (random.nextInt(3) > 0) {
+                budget = new Budget();
+                budget.setTechnical(technicals.get(random.nextInt(technicals.size())));
+                budget.setValue(100.0 + random.nextInt(900));
+                budget.setDescription("Troca de tela");
+                budget.setApproved(random.nextBoolean());
+                budget.setCreatedAt(new Date());
+                budget.setUpdatedAt(budget.getCreatedAt());
+            }
+
+            Date createdAt = pastDate();
+            OrderService orderService = new OrderService();
+            orderService.setClientId(savedClients.get(random.nextInt(savedClients.size())));
+            orderService.setSmartphoneId(smartphoneRepository.save(smartphone));
+            orderService.setBudgetId(budget == null ? null : budgetRepository.save(budget));
+            orderService.setStatus(Status.values()[random.nextInt(Status.values().length)]);
+            orderService.setCreatedAt(createdAt);
+            orderService.setUpdatedAt(createdAt);
+            if (orderService.getStatus() == Status.FINISHED) {
+                orderService.setDepartureDate(createdAt);
+            }
+            orderBatch.add(orderService);
+            if (orderBatch.size() == BATCH_SIZE || i == orders - 1) {
+                orderServiceRepository.saveAll(orderBatch);
+                orderBatch.clear();
+            }
+        }
+
+        context.getBean(AnalyticsCountersReconciler.class).reconcile();
+        return true;
+    }
+
+    private Client client(int index) {
+        Contact contact = new Contact();
+        contact.setEmail("cliente" + index + "@techos.com");
+        contact.setPhone(String.format("119%08d", index));
+        contact.setCreatedAt(new Date());
+        contact.setUpdatedAt(contact.getCreatedAt());
+
+        Client client = new Client();
+        client.setName("Cliente " + index + " " + SURNAMES.get(random.nextInt(SURNAMES.size())));
+        client.setCpf(String.format("%011d", index));
+        client.setContact(contact);
+        client.setCreatedAt(pastDate());
+        client.setUpdatedAt(client.getCreatedAt());
+        return client;
+    }
+
+    private Date pastDate() {
+        return Date.from(Instant.now().minus(Duration.ofMinutes(random.nextInt(365 * 24 * 60))));
+    }
+
+}
@@ -0,0 +1,65 @@
+package br.com.tech.os.ostech.config;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+class AsyncHttpLogWriter {
+
+    private final Logger logger;
+    private final BlockingQueue<HttpLogEvent> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread worker;
+
+    AsyncHttpLogWriter(Logger logger, int capacity, ThreadFactory threadFactory) {
+        this.logger = logger;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = threadFactory.newThread(this::drain);
+        this.worker.start();
+    }
+
+    void submit(HttpLogEvent event) {
+        if (!queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    int queueSize() {
+        return queue.size();
+    }
+
+    void shutdown() {
+        worker.interrupt();
+    }
+
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                write(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        HttpLogEvent remaining;
+        while ((remaining = queue.poll()) != null) {
+            write(remaining);
+        }
+    }
+
+    private void write(HttpLogEvent event) {
+        try {
+            logger.info("REQUEST: method={}, uri={}, body={}", event.method(), event.uri(), event.requestBodyAsString());
+            logger.info("RESPONSE: status={}, body={}", event.status(), event.responseBodyAsString());
+        } catch (RuntimeException e) {
+            dropped.increment();
+        }
+    }
+
+}
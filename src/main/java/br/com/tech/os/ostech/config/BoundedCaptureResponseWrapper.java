@@ -0,0 +1,192 @@
+package br.com.tech.os.ostech.config;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+class BoundedCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int limit;
+    private final ByteArrayOutputStream capturedBytes = new ByteArrayOutputStream();
+    private Boolean capturing;
+    private boolean truncated;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    BoundedCaptureResponseWrapper(HttpServletResponse response, int limit) {
+        super(response);
+        this.limit = limit;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CapturingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new CapturingWriter(super.getWriter()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        clearCapture();
+        capturing = null;
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        clearCapture();
+    }
+
+    byte[] capturedBody() {
+        if (capturing == null) {
+            return new byte[0];
+        }
+        if (!capturing) {
+            return null;
+        }
+        return capturedBytes.toByteArray();
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    Charset charset() {
+        String encoding = getCharacterEncoding();
+        return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+    }
+
+    private boolean shouldCapture() {
+        if (capturing == null) {
+            capturing = RequestResponseLoggingFilter.isTextual(getContentType());
+        }
+        return capturing;
+    }
+
+    private void captureBytes(byte[] bytes, int offset, int length) {
+        if (!shouldCapture()) {
+            return;
+        }
+        int remaining = limit - capturedBytes.size();
+        if (length > remaining) {
+            truncated = true;
+        }
+        if (remaining > 0) {
+            capturedBytes.write(bytes, offset, Math.min(length, remaining));
+        }
+    }
+
+    private void captureChars(CharSequence chars, int offset, int length) {
+        if (!shouldCapture()) {
+            return;
+        }
+        // Every char encodes to at least one byte, so encoding as many chars as there are bytes left fills the limit.
+        int count = Math.min(length, Math.max(limit - capturedBytes.size(), 0));
+        if (count > 0) {
+            byte[] bytes = chars.subSequence(offset, offset + count).toString().getBytes(charset());
+            captureBytes(bytes, 0, bytes.length);
+        }
+        if (length > count) {
+            truncated = true;
+        }
+    }
+
+    private void clearCapture() {
+        capturedBytes.reset();
+        truncated = false;
+    }
+
+    private final class CapturingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private CapturingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            captureBytes(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            captureBytes(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+
+    }
+
+    private final class CapturingWriter extends Writer {
+
+        private final Writer delegate;
+
+        private CapturingWriter(Writer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            delegate.write(cbuf, off, len);
+            captureChars(CharBuffer.wrap(cbuf), off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            delegate.write(str, off, len);
+            captureChars(str, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package br.com.tech.os.ostech.config;
+
+import java.nio.charset.Charset;
+
+record HttpLogEvent(String method,
+                    String uri,
+                    int status,
+                    byte[] requestBody,
+                    boolean requestTruncated,
+                    Charset requestCharset,
+                    byte[] responseBody,
+                    boolean responseTruncated,
+                    Charset responseCharset) {
+
+    String requestBodyAsString() {
+        return decode(requestBody, requestTruncated, requestCharset);
+    }
+
+    String responseBodyAsString() {
+        return decode(responseBody, responseTruncated, responseCharset);
+    }
+
+    private static String decode(byte[] body, boolean truncated, Charset charset) {
+        if (body == null) {
+            return "[not captured]";
+        }
+        String decoded = new String(body, charset);
+        return truncated ? decoded + "...[truncated]" : decoded;
+    }
+
+}
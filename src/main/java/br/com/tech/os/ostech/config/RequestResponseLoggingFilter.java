@@ -1,35 +1,158 @@
 package br.com.tech.os.ostech.config;
 
+import br.com.tech.os.ostech.configuration.BackgroundThreads;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.stereotype.Component;
-import java.io.IOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class RequestResponseLoggingFilter extends OncePerRequestFilter {
+public class RequestResponseLoggingFilter extends OncePerRequestFilter implements MeterBinder, DisposableBean {
     private static final Logger logger = LoggerFactory.getLogger("request-response-logger-elastic");
 
+    private final boolean enabled;
+    private final double sampleRate;
+    private final List<String> includePatterns;
+    private final List<String> excludePatterns;
+    private final int maxBodySize;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AsyncHttpLogWriter writer;
+    private volatile Timer filterTimer;
+
+    public RequestResponseLoggingFilter(@Value("${api.logging.http.enabled:true}") boolean enabled,
+                                        @Value("${api.logging.http.sample-rate:1.0}") double sampleRate,
+                                        @Value("${api.logging.http.include-patterns:/**}") String[] includePatterns,
+                                        @Value("${api.logging.http.exclude-patterns:/actuator/**,/auth/**}") String[] excludePatterns,
+                                        @Value("${api.logging.http.max-body-size:4096}") int maxBodySize,
+                                        @Value("${api.logging.http.queue-capacity:1000}") int queueCapacity,
+                                        Environment environment) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.includePatterns = Arrays.asList(includePatterns);
+        this.excludePatterns = Arrays.asList(excludePatterns);
+        this.maxBodySize = maxBodySize;
+        this.writer = new AsyncHttpLogWriter(logger, queueCapacity,
+                BackgroundThreads.factory(environment, "http-log-writer-"));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || sampleRate <= 0) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (excludePatterns.stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
+            return true;
+        }
+        if (includePatterns.stream().noneMatch(pattern -> pathMatcher.match(pattern, path))) {
+            return true;
+        }
+        return sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        long start = System.nanoTime();
+        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request, maxBodySize);
+        BoundedCaptureResponseWrapper wrappedResponse = new BoundedCaptureResponseWrapper(response, maxBodySize);
+        long chainStart = System.nanoTime();
 
-        filterChain.doFilter(wrappedRequest, wrappedResponse);
+        try {
+            filterChain.doFilter(wrappedRequest, wrappedResponse);
+        } finally {
+            long chainEnd = System.nanoTime();
+            writer.submit(toEvent(wrappedRequest, wrappedResponse));
+            Timer timer = filterTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - chainEnd + chainStart - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
 
-        String requestBody = new String(wrappedRequest.getContentAsByteArray(), request.getCharacterEncoding());
-        String responseBody = new String(wrappedResponse.getContentAsByteArray(), response.getCharacterEncoding());
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("http.log.dropped", writer, AsyncHttpLogWriter::droppedCount)
+                .description("Request/response log events dropped because the queue was full")
+                .register(registry);
+        Gauge.builder("http.log.queue.size", writer, AsyncHttpLogWriter::queueSize)
+                .description("Request/response log events waiting to be written")
+                .register(registry);
+        filterTimer = Timer.builder("http.filter.time")
+                .description("Time spent inside the filter, excluding the rest of the chain")
+                .tag("filter", "request-response-logging")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        writer.shutdown();
+    }
 
-        logger.info("REQUEST: method={}, uri={}, body={}", request.getMethod(), request.getRequestURI(), requestBody);
-        logger.info("RESPONSE: status={}, body={}", response.getStatus(), responseBody);
+    long droppedCount() {
+        return writer.droppedCount();
+    }
 
-        wrappedResponse.copyBodyToResponse();
+    static boolean isTextual(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            String subtype = mediaType.getSubtype();
+            return "text".equals(mediaType.getType())
+                    || subtype.contains("json")
+                    || subtype.contains("xml")
+                    || MediaType.APPLICATION_FORM_URLENCODED.includes(mediaType);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
     }
-}
\ No newline at end of file
+
+    private HttpLogEvent toEvent(ContentCachingRequestWrapper request, BoundedCaptureResponseWrapper response) {
+        byte[] requestBody = null;
+        boolean requestTruncated = false;
+        if (request.getContentType() == null || isTextual(request.getContentType())) {
+            requestBody = request.getContentAsByteArray();
+            requestTruncated = request.getContentLengthLong() > requestBody.length;
+        }
+        return new HttpLogEvent(
+                request.getMethod(),
+                request.getRequestURI(),
+                response.getStatus(),
+                requestBody,
+                requestTruncated,
+                charsetOf(request.getCharacterEncoding()),
+                request.isAsyncStarted() ? null : response.capturedBody(),
+                response.isTruncated(),
+                response.charset());
+    }
+
+    private static Charset charsetOf(String encoding) {
+        return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+    }
+
+}
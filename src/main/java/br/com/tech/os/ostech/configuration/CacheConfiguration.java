@@ -0,0 +1,48 @@
+package br.com.tech.os.ostech.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    public static final String BUDGETS = "budgets";
+    public static final String SMARTPHONES = "smartphones";
+
+    /**
+     * Technicals are not here: they live in the Hibernate second-level cache alone. The manager is transaction-aware,
+     * so an eviction after a mutator runs once the surrounding transaction, if any, has committed.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${api.cache.budgets.maximum-size:10000}") long budgetsMaximumSize,
+                                     @Value("${api.cache.budgets.ttl:10m}") Duration budgetsTtl,
+                                     @Value("${api.cache.smartphones.maximum-size:10000}") long smartphonesMaximumSize,
+                                     @Value("${api.cache.smartphones.ttl:10m}") Duration smartphonesTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(BUDGETS, cache(budgetsMaximumSize, budgetsTtl));
+        cacheManager.registerCustomCache(SMARTPHONES, cache(smartphonesMaximumSize, smartphonesTtl));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private static Cache<Object, Object> cache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+}
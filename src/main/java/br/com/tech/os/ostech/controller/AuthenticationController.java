@@ -8,10 +8,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import br.com.tech.os.ostech.exception.InvalidRefreshTokenException;
 import br.com.tech.os.ostech.infra.security.TokenService;
+import br.com.tech.os.ostech.infra.security.TokenService.RefreshGrant;
 import br.com.tech.os.ostech.model.User;
 import br.com.tech.os.ostech.model.dto.authenticationDTO.AuthenticationDTO;
 import br.com.tech.os.ostech.model.dto.authenticationDTO.AuthenticationResponseDTO;
+import br.com.tech.os.ostech.model.dto.authenticationDTO.RefreshTokenDTO;
 import jakarta.validation.Valid;
 
 @RestController
@@ -26,9 +29,23 @@ public class AuthenticationController {
     public ResponseEntity<AuthenticationResponseDTO> login(@RequestBody @Valid AuthenticationDTO data) {
         var usernamePassword = new UsernamePasswordAuthenticationToken(data.email(), data.password());
         var authentication = this.authenticationManager.authenticate(usernamePassword);
-        var token = tokenService.generateToken((User) authentication.getPrincipal());
 
-        return ResponseEntity.ok(new AuthenticationResponseDTO(token));
+        return ResponseEntity.ok(issueTokens((User) authentication.getPrincipal()));
         
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponseDTO> refresh(@RequestBody @Valid RefreshTokenDTO data) {
+        RefreshGrant grant = tokenService.redeemRefreshToken(data.refreshToken());
+        if (grant == null) {
+            throw new InvalidRefreshTokenException("Invalid or expired refresh token");
+        }
+
+        return ResponseEntity.ok(new AuthenticationResponseDTO(tokenService.generateToken(grant.user()),
+                tokenService.generateRefreshToken(grant)));
+    }
+
+    private AuthenticationResponseDTO issueTokens(User user) {
+        return new AuthenticationResponseDTO(tokenService.generateToken(user), tokenService.generateRefreshToken(user));
+    }
 }
@@ -1,6 +1,8 @@
 package br.com.tech.os.ostech.controller;
 
 import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,8 +10,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import br.com.tech.os.ostech.model.Budget;
 import br.com.tech.os.ostech.model.dto.budgetDTO.BudgetCreateDTO;
 import br.com.tech.os.ostech.model.dto.budgetDTO.BudgetUpdateDTO;
@@ -26,13 +30,14 @@ public class BudgetController {
     @PostMapping()
     public ResponseEntity<Budget> createBudget(@RequestBody BudgetCreateDTO budgetCreateDTO) {
         Budget budget = budgetService.createBudget(budgetCreateDTO);
-        return ResponseEntity.ok(budget);
+        return ResponseEntity.ok().eTag(ETags.of(budget.getVersion())).body(budget);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Budget> updateBudget(@PathVariable String id, @RequestBody BudgetUpdateDTO budgetCreateDTO) {
-        Budget budget = budgetService.updateBudget(id, budgetCreateDTO);
-        return ResponseEntity.ok(budget);
+    public ResponseEntity<Budget> updateBudget(@PathVariable String id, @RequestBody BudgetUpdateDTO budgetCreateDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Budget budget = budgetService.updateBudget(id, budgetCreateDTO, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(budget.getVersion())).body(budget);
     }
 
     @DeleteMapping("/{id}")
@@ -44,7 +49,7 @@ public class BudgetController {
     @GetMapping("/{id}")
     public ResponseEntity<Budget> getClientById(@PathVariable String id) {
         Budget budget = budgetService.getBudgetById(id);
-        return ResponseEntity.ok(budget);
+        return ResponseEntity.ok().eTag(ETags.of(budget.getVersion())).body(budget);
     }
 
     @GetMapping()
@@ -53,4 +58,11 @@ public class BudgetController {
         return ResponseEntity.ok(budget);
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBudgets() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(budgetService::streamAllBudgets);
+    }
+
 }
@@ -1,16 +1,23 @@
 package br.com.tech.os.ostech.controller;
 
+import br.com.tech.os.ostech.enums.ResponseView;
 import br.com.tech.os.ostech.enums.SearchType;
 import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.model.dto.bulkImportDTO.BulkImportResponse;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientAnalyticsResponse;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientCreateDTO;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientPaginationRequest;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientPaginationResponse;
 import br.com.tech.os.ostech.service.ClientService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -26,6 +33,13 @@ public class ClientController {
         return ResponseEntity.ok(client);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<BulkImportResponse> importClients(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) throws IOException {
+        BulkImportResponse response = clientService.importClients(body, contentType);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Client> updateClient(@PathVariable String id, @RequestBody ClientCreateDTO clientCreateDTO) {
         Client client = clientService.updateClient(id, clientCreateDTO);
@@ -55,8 +69,11 @@ public class ClientController {
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "size", defaultValue = "10") Integer size,
             @RequestParam(value = "searchType", defaultValue = "BLANK") SearchType searchType,
-            @RequestParam(value = "searchValue", defaultValue = "") String searchValue) {
-        ClientPaginationRequest clientPaginationRequest = new ClientPaginationRequest(page, size, searchType, searchValue);
+            @RequestParam(value = "searchValue", defaultValue = "") String searchValue,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "includeTotal", defaultValue = "true") boolean includeTotal,
+            @RequestParam(value = "view", defaultValue = "full") ResponseView view) {
+        ClientPaginationRequest clientPaginationRequest = new ClientPaginationRequest(page, size, searchType, searchValue, cursor, includeTotal, view);
         ClientPaginationResponse paginationResponse = clientService.getClientsPage(clientPaginationRequest);
         return ResponseEntity.ok(paginationResponse);
     }
@@ -67,4 +84,11 @@ public class ClientController {
         return ResponseEntity.ok(clients);
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllClients() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(clientService::streamAllClients);
+    }
+
 }
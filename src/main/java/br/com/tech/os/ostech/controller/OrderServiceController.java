@@ -1,19 +1,33 @@
 package br.com.tech.os.ostech.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import br.com.tech.os.ostech.model.dto.bulkImportDTO.BulkImportResponse;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientAnalyticsResponse;
 import br.com.tech.os.ostech.model.dto.orderServiceDTO.*;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import br.com.tech.os.ostech.model.OrderService;
 import org.springframework.web.bind.annotation.RequestParam;
 import br.com.tech.os.ostech.enums.OrderServiceSearchType;
+import br.com.tech.os.ostech.enums.ResponseView;
 import br.com.tech.os.ostech.service.OrderServiceService;
 import lombok.RequiredArgsConstructor;
 
@@ -27,19 +41,39 @@ public class OrderServiceController {
     @PostMapping()
     public ResponseEntity<OrderService> createOrderService(@RequestBody OrderServiceCreateDTO orderServiceCreateDTO) {
         OrderService orderService = orderServiceService.createOrderService(orderServiceCreateDTO);
-        return ResponseEntity.status(201).body(orderService);
+        return ResponseEntity.status(201).eTag(ETags.of(orderService.getVersion())).body(orderService);
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<BulkImportResponse> importOrderServices(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) throws IOException {
+        BulkImportResponse response = orderServiceService.importOrderServices(body, contentType);
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{orderServiceId}")
     public ResponseEntity<OrderService> getOrderServiceById(@PathVariable String orderServiceId) {
         OrderService orderService = orderServiceService.getOrderServiceById(orderServiceId);
-        return ResponseEntity.ok(orderService);
+        return ResponseEntity.ok().eTag(ETags.of(orderService.getVersion())).body(orderService);
     }
 
     @PutMapping("/{orderServiceId}")
-    public ResponseEntity<OrderService> updateOrderService(@PathVariable String orderServiceId, @RequestBody OrderServiceUpdateDTO orderServiceUpdateDTO) {
-        OrderService orderService = orderServiceService.updateOrderService(orderServiceId, orderServiceUpdateDTO);
-        return ResponseEntity.ok(orderService);
+    public ResponseEntity<OrderService> updateOrderService(@PathVariable String orderServiceId, @RequestBody OrderServiceUpdateDTO orderServiceUpdateDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        OrderService orderService = orderServiceService.updateOrderService(orderServiceId, orderServiceUpdateDTO,
+                ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(orderService.getVersion())).body(orderService);
+    }
+
+    @PatchMapping("/{orderServiceId}/status")
+    public ResponseEntity<Void> changeStatus(@PathVariable String orderServiceId, @RequestBody OrderServiceStatusUpdateDTO orderServiceStatusUpdateDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.expectedVersion(ifMatch);
+        orderServiceService.changeStatus(orderServiceId, orderServiceStatusUpdateDTO, expectedVersion);
+        if (expectedVersion == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.noContent().eTag(ETags.of(expectedVersion + 1)).build();
     }
 
     @DeleteMapping("/{orderServiceId}")
@@ -54,9 +88,26 @@ public class OrderServiceController {
         return ResponseEntity.ok(analytics);
     }
 
+    @GetMapping("/status-history/hourly")
+    public ResponseEntity<List<OrderServiceStatusRollupResponse>> getHourlyStatusRollups(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(orderServiceService.getHourlyStatusRollups(from, to));
+    }
+
+    @GetMapping("/status-history/daily")
+    public ResponseEntity<List<OrderServiceStatusRollupResponse>> getDailyStatusRollups(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(orderServiceService.getDailyStatusRollups(from, to));
+    }
+
     @GetMapping("/recent")
-    public ResponseEntity<OrderServiceLastUpdateResponse> getRecentOrders() {
-        OrderServiceLastUpdateResponse recentOrders = orderServiceService.getRecentOrders();
+    public ResponseEntity<OrderServiceLastUpdateResponse> getRecentOrders(
+            @RequestParam(value = "view", defaultValue = "full") ResponseView view) {
+        OrderServiceLastUpdateResponse recentOrders = view == ResponseView.COMPACT
+                ? orderServiceService.getRecentOrderSummaries()
+                : orderServiceService.getRecentOrders();
         return ResponseEntity.ok(recentOrders);
     }
 
@@ -66,14 +117,24 @@ public class OrderServiceController {
         return ResponseEntity.ok(orderServices);
     }
 
+    @GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllOrderServices() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(orderServiceService::streamAllOrderServices);
+    }
+
     
     @GetMapping("/pagination")
     public ResponseEntity<OrderServicePaginationResponse> getOrderServicesPage(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "size", defaultValue = "10") Integer size,
             @RequestParam(value = "searchType", defaultValue = "BLANK") OrderServiceSearchType searchType,
-            @RequestParam(value = "searchValue", defaultValue = "") String searchValue) {
-        OrderServicePaginationRequest orderServicePaginationRequest = new OrderServicePaginationRequest(page, size, searchType, searchValue);
+            @RequestParam(value = "searchValue", defaultValue = "") String searchValue,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "includeTotal", defaultValue = "true") boolean includeTotal,
+            @RequestParam(value = "view", defaultValue = "full") ResponseView view) {
+        OrderServicePaginationRequest orderServicePaginationRequest = new OrderServicePaginationRequest(page, size, searchType, searchValue, cursor, includeTotal, view);
         OrderServicePaginationResponse paginationResponse = orderServiceService.getOrderServicesPage(orderServicePaginationRequest);
         return ResponseEntity.ok(paginationResponse);
     }  
@@ -1,5 +1,9 @@
 package br.com.tech.os.ostech.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -7,9 +11,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import br.com.tech.os.ostech.model.Smartphone;
+import br.com.tech.os.ostech.model.dto.bulkImportDTO.BulkImportResponse;
 import br.com.tech.os.ostech.model.dto.smartphoneDTO.SmartphoneCreateDTO;
 import br.com.tech.os.ostech.model.dto.smartphoneDTO.SmartphoneUpdateDTO;
 import br.com.tech.os.ostech.service.SmartphoneService;
@@ -28,6 +34,13 @@ public class SmartphoneController {
         return ResponseEntity.status(201).body(smartphone);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<BulkImportResponse> importSmartphones(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) throws IOException {
+        BulkImportResponse response = smartphoneService.importSmartphones(body, contentType);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{smartphoneId}")
     public ResponseEntity<Smartphone> updateSmartphone(@PathVariable String smartphoneId,
                                                  @RequestBody SmartphoneUpdateDTO smartphoneUpdateDTO) {
@@ -1,6 +1,9 @@
 package br.com.tech.os.ostech.controller.advice;
 
 import br.com.tech.os.ostech.exception.InvalidClientIdException;
+import br.com.tech.os.ostech.exception.InvalidRefreshTokenException;
+import br.com.tech.os.ostech.exception.PasswordHashingBusyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -22,4 +25,23 @@ public class AuthenticationAdvice {
                 .body(errorResponse);
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, String>> passwordHashingBusyException(PasswordHashingBusyException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("message", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<Map<String, String>> invalidRefreshTokenException(InvalidRefreshTokenException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("message", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(errorResponse);
+    }
+
 }
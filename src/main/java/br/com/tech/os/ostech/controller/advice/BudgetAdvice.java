@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import br.com.tech.os.ostech.exception.InvalidBudgetFieldException;
 import br.com.tech.os.ostech.exception.InvalidBudgetIdException;
+import br.com.tech.os.ostech.exception.InvalidBudgetVersionException;
 
 @ControllerAdvice
 public class BudgetAdvice {
@@ -30,4 +31,13 @@ public class BudgetAdvice {
                 .body(errorResponse);
     }
 
+    @ExceptionHandler(InvalidBudgetVersionException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidBudgetVersionException(InvalidBudgetVersionException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("message", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(errorResponse);
+    }
+
 }
@@ -6,8 +6,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import br.com.tech.os.ostech.exception.InvalidExceptionOrderServicePagination;
 import br.com.tech.os.ostech.exception.InvalidOrderServiceIdException;
 import br.com.tech.os.ostech.exception.InvalidOrderServiceInformationException;
+import br.com.tech.os.ostech.exception.InvalidOrderServiceVersionException;
 
 @ControllerAdvice
 public class OrderServiceAdvice {
@@ -30,6 +32,15 @@ public class OrderServiceAdvice {
                 .body(errorResponse);
     }
 
+    @ExceptionHandler(InvalidExceptionOrderServicePagination.class)
+    public ResponseEntity<Map<String, String>> handleInvalidExceptionOrderServicePagination(InvalidExceptionOrderServicePagination ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("message", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException ex) {
         Map<String, String> errorResponse = new HashMap<>();
@@ -37,4 +48,13 @@ public class OrderServiceAdvice {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(InvalidOrderServiceVersionException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidOrderServiceVersionException(InvalidOrderServiceVersionException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("message", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(errorResponse);
+    }
+
 }
@@ -0,0 +1,8 @@
+package br.com.tech.os.ostech.enums;
+
+public enum PrincipalSource {
+
+    CACHE,
+    CLAIMS
+
+}
@@ -0,0 +1,27 @@
+package br.com.tech.os.ostech.enums;
+
+public enum ResponseView {
+
+    FULL("full"),
+    COMPACT("compact");
+
+    private final String value;
+
+    ResponseView(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static ResponseView fromValue(String value) {
+        for (ResponseView view : ResponseView.values()) {
+            if (view.value.equalsIgnoreCase(value)) {
+                return view;
+            }
+        }
+        return FULL;
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.com.tech.os.ostech.exception;
+
+public class InvalidBudgetVersionException extends RuntimeException {
+
+    public InvalidBudgetVersionException(String message) {
+        super(message);
+    }
+
+}
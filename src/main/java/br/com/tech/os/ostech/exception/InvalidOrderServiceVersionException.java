@@ -0,0 +1,9 @@
+package br.com.tech.os.ostech.exception;
+
+public class InvalidOrderServiceVersionException extends RuntimeException {
+
+    public InvalidOrderServiceVersionException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.com.tech.os.ostech.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+
+}
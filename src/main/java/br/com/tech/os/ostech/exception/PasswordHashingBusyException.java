@@ -0,0 +1,9 @@
+package br.com.tech.os.ostech.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,129 @@
+package br.com.tech.os.ostech.infra.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import br.com.tech.os.ostech.configuration.BackgroundThreads;
+import br.com.tech.os.ostech.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * The application's {@link PasswordEncoder}: BCrypt with a configurable cost, run on a small bounded pool so a
+ * burst of logins cannot put more hashes on the CPU than the pool has threads. The calling thread still blocks
+ * until its hash is done; when the pool and its queue are full the call fails fast with
+ * {@link PasswordHashingBusyException} instead of waiting.
+ */
+@Slf4j
+@Component
+public class PasswordHasher implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private volatile Timer encodeTimer;
+
+    private volatile Timer matchesTimer;
+
+    private volatile Counter rejectedCounter;
+
+    @Autowired
+    public PasswordHasher(@Value("${api.security.password.bcrypt-cost:10}") int cost,
+                          @Value("${api.security.password.hashing.threads:0}") int threads,
+                          @Value("${api.security.password.hashing.queue-capacity:100}") int queueCapacity,
+                          Environment environment) {
+        this(new BCryptPasswordEncoder(cost), threads, queueCapacity,
+                BackgroundThreads.factory(environment, "password-hash-"));
+        log.info("Password hashing with BCrypt cost {} on {} threads", cost, executor.getMaximumPoolSize());
+    }
+
+    PasswordHasher(PasswordEncoder delegate, int threads, int queueCapacity, ThreadFactory threadFactory) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        ExecutorServiceMetrics.monitor(registry, executor, "password-hash");
+        encodeTimer = hashTimer(registry, "encode");
+        matchesTimer = hashTimer(registry, "matches");
+        rejectedCounter = Counter.builder("security.password.hash.rejected")
+                .description("Hashing requests refused because the hashing pool was saturated")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> hashing, Timer timer) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer == null ? hashing.call() : timer.recordCallable(hashing));
+        } catch (RejectedExecutionException e) {
+            Counter counter = rejectedCounter;
+            if (counter != null) {
+                counter.increment();
+            }
+            log.warn("Password hashing pool saturated, rejecting request");
+            throw new PasswordHashingBusyException("Too many concurrent logins, try again shortly");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("security.password.hash")
+                .description("Time spent hashing or verifying a password, excluding the wait for a hashing thread")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+}
@@ -1,12 +1,26 @@
 package br.com.tech.os.ostech.infra.security;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
+import br.com.tech.os.ostech.enums.PrincipalSource;
+import br.com.tech.os.ostech.model.User;
+import br.com.tech.os.ostech.model.event.UserChangedEvent;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import br.com.tech.os.ostech.repository.UserRepository;
@@ -15,30 +29,111 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-@RequiredArgsConstructor
 @Component
-public class SecurityFilter extends OncePerRequestFilter{
+public class SecurityFilter extends OncePerRequestFilter implements MeterBinder {
 
     private final TokenService tokenService;
 
     private final UserRepository userRepository;
 
+    private final PrincipalSource principalSource;
+
+    private final Cache<String, User> principalCache;
+
+    /**
+     * Bumped by every user change. A principal loaded from the database is only cached if no change happened
+     * since the load started, so a load that read the old row cannot put it back after the eviction.
+     */
+    private final AtomicLong userChanges = new AtomicLong();
+
+    private volatile Timer filterTimer;
+
+    public SecurityFilter(TokenService tokenService,
+                          UserRepository userRepository,
+                          @Value("${api.security.principal.source:cache}") PrincipalSource principalSource,
+                          @Value("${api.security.principal.cache.maximum-size:10000}") long maximumSize,
+                          @Value("${api.security.principal.cache.ttl:5m}") Duration ttl) {
+        this.tokenService = tokenService;
+        this.userRepository = userRepository;
+        this.principalSource = principalSource;
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
         String token = this.recovery(request);
         if (token != null) {
-            String email = tokenService.validateToken(token);
-            if (email != null && !email.isEmpty()) {
-                UserDetails user = userRepository.findByEmail(email);
-                if (user != null) {
-                    var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+            User user = principalSource == PrincipalSource.CLAIMS
+                    ? this.fromClaims(token)
+                    : this.fromCache(tokenService.validateToken(token));
+            if (user != null) {
+                var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
+        Timer timer = filterTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
         filterChain.doFilter(request, response);
     }
 
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        userChanges.incrementAndGet();
+        if (event.email() != null) {
+            principalCache.invalidate(event.email());
+        }
+        principalCache.asMap().values().removeIf(user -> Objects.equals(user.getId(), event.userId()));
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, principalCache, "security.principal");
+        filterTimer = Timer.builder("http.filter.time")
+                .description("Time spent inside the filter, excluding the rest of the chain")
+                .tag("filter", "security")
+                .register(registry);
+    }
+
+    private User fromCache(String email) {
+        if (email == null || email.isEmpty()) {
+            return null;
+        }
+        User cached = principalCache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+        long changesBeforeLoad = userChanges.get();
+        User user = userRepository.findByEmail(email);
+        if (user != null) {
+            principalCache.asMap().compute(email,
+                    (key, current) -> userChanges.get() == changesBeforeLoad ? user : current);
+        }
+        return user;
+    }
+
+    private User fromClaims(String token) {
+        DecodedJWT decodedJWT = tokenService.decodeToken(token);
+        if (decodedJWT == null) {
+            return null;
+        }
+        String userId = decodedJWT.getClaim(TokenService.USER_ID_CLAIM).asString();
+        if (userId == null) {
+            return this.fromCache(decodedJWT.getSubject());
+        }
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(decodedJWT.getSubject());
+        user.setName(decodedJWT.getClaim(TokenService.NAME_CLAIM).asString());
+        return user;
+    }
+
     private String recovery(HttpServletRequest request) {
         var authHeader = request.getHeader("Authorization");
         if (authHeader == null) {
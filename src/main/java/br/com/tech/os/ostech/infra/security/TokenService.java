@@ -1,30 +1,106 @@
 package br.com.tech.os.ostech.infra.security;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import br.com.tech.os.ostech.model.User;
+import br.com.tech.os.ostech.model.UserTokenState;
+import br.com.tech.os.ostech.model.event.UserChangedEvent;
+import br.com.tech.os.ostech.repository.UserTokenStateRepository;
 
 @Service
 public class TokenService {
 
-    @Value("${api.security.token.secret}")
-    public String secret;
+    public static final String ISSUER = "tech-os";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String NAME_CLAIM = "name";
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+    public static final String REFRESH_GENERATION_CLAIM = "gen";
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
 
-    public String generateToken(User user) {
+    private static final Instant NEVER_REVOKED = Instant.MIN;
+
+    private final UserTokenStateRepository tokenStates;
+
+    private final Algorithm algorithm;
+
+    private final JWTVerifier verifier;
+
+    private final JWTVerifier refreshVerifier;
+
+    private final Duration accessTokenTtl;
+
+    private final Duration refreshTokenTtl;
 
+    private final Cache<String, DecodedJWT> verifiedTokens;
+
+    private final Cache<String, Instant> usersRevokedAt;
+
+    /**
+     * Bumped by every revocation. A verified token is only cached if no revocation happened since its check
+     * started, so a check that read the old revocation cannot put the token back after the eviction.
+     */
+    private final AtomicLong revocations = new AtomicLong();
+
+    public TokenService(UserTokenStateRepository tokenStates,
+                        @Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.cache.maximum-size:10000}") long cacheMaximumSize,
+                        @Value("${api.security.token.access-ttl:15m}") Duration accessTokenTtl,
+                        @Value("${api.security.token.refresh-ttl:7d}") Duration refreshTokenTtl,
+                        @Value("${api.security.token.revocation-check-interval:30s}") Duration revocationCheckInterval) {
+        this.tokenStates = tokenStates;
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.refreshVerifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .withClaim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .build();
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new UntilTokenExpires())
+                .build();
+        // A local copy of tokens_revoked_at per user, read again after the interval so a revocation made on another
+        // instance is seen within it. Evicting an entry early only costs another lookup.
+        this.usersRevokedAt = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(revocationCheckInterval)
+                .build();
+    }
+
+    public String generateToken(User user) {
+        Instant now = Instant.now();
         try {
-            var algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("tech-os")
+                    .withIssuer(ISSUER)
                     .withSubject(user.getEmail())
-                    .withExpiresAt(genExpirationDate())
+                    .withClaim(USER_ID_CLAIM, user.getId())
+                    .withClaim(NAME_CLAIM, user.getName())
+                    .withIssuedAt(now)
+                    .withClaim(ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli())
+                    .withExpiresAt(now.plus(accessTokenTtl))
                     .sign(algorithm);
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Error while generating token", exception);
@@ -32,22 +108,174 @@ public class TokenService {
 
     }
 
+    /**
+     * Issues a refresh token at the current refresh generation of the user, read from the database. Used on login,
+     * where the user may have been loaded from a cache that does not know the generation moved on another instance.
+     */
+    @Transactional
+    public String generateRefreshToken(User user) {
+        long generation = tokenStates.findById(user.getId())
+                .orElseGet(() -> tokenStates.save(new UserTokenState(user.getId())))
+                .getRefreshGeneration();
+        return generateRefreshToken(new RefreshGrant(user, generation));
+    }
+
+    public String generateRefreshToken(RefreshGrant grant) {
+        User user = grant.user();
+        Instant now = Instant.now();
+        try {
+            return JWT.create()
+                    .withIssuer(ISSUER)
+                    .withSubject(user.getEmail())
+                    .withClaim(USER_ID_CLAIM, user.getId())
+                    .withClaim(NAME_CLAIM, user.getName())
+                    .withClaim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                    .withClaim(REFRESH_GENERATION_CLAIM, grant.generation())
+                    .withIssuedAt(now)
+                    .withClaim(ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli())
+                    .withExpiresAt(now.plus(refreshTokenTtl))
+                    .sign(algorithm);
+        } catch (JWTCreationException exception) {
+            throw new RuntimeException("Error while generating refresh token", exception);
+        }
+    }
+
+    /**
+     * Redeems a refresh token and returns the user it was issued to with the generation of its successor, or
+     * {@code null} if it is invalid, expired or its generation is no longer current, because it was already redeemed
+     * or the tokens of the user were revoked. No password hash is computed: the only database work is one update of
+     * the user's token state by primary key, shared by every instance.
+     */
+    @Transactional
+    public RefreshGrant redeemRefreshToken(String refreshToken) {
+        DecodedJWT decodedJWT;
+        try {
+            decodedJWT = refreshVerifier.verify(refreshToken);
+        } catch (JWTVerificationException exception) {
+            return null;
+        }
+        String userId = decodedJWT.getClaim(USER_ID_CLAIM).asString();
+        Long generation = decodedJWT.getClaim(REFRESH_GENERATION_CLAIM).asLong();
+        if (userId == null || generation == null || tokenStates.advanceRefreshGeneration(userId, generation) == 0) {
+            return null;
+        }
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(decodedJWT.getSubject());
+        user.setName(decodedJWT.getClaim(NAME_CLAIM).asString());
+        return new RefreshGrant(user, generation + 1);
+    }
+
+    @Transactional
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() == null || !event.revokesTokens()) {
+            return;
+        }
+        Instant revokedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        if (tokenStates.revokeTokens(event.userId(), Date.from(revokedAt)) == 0) {
+            UserTokenState state = new UserTokenState(event.userId());
+            state.setTokensRevokedAt(Date.from(revokedAt));
+            tokenStates.save(state);
+        }
+        usersRevokedAt.put(event.userId(), revokedAt);
+        revocations.incrementAndGet();
+        verifiedTokens.asMap().values()
+                .removeIf(decodedJWT -> Objects.equals(decodedJWT.getClaim(USER_ID_CLAIM).asString(), event.userId()));
+    }
+
     public String validateToken(String token) {
+        DecodedJWT decodedJWT = decodeToken(token);
+        return decodedJWT == null ? "" : decodedJWT.getSubject();
+    }
+
+    /**
+     * Returns the verified access token, or {@code null}. A cached token skips the signature check but not the
+     * revocation check, which another instance may have made since it was cached.
+     */
+    public DecodedJWT decodeToken(String token) {
+        DecodedJWT cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return isRevoked(cached) ? null : cached;
+        }
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("tech-os")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            long revocationsBeforeCheck = revocations.get();
+            DecodedJWT decodedJWT = verifier.verify(token);
+            if (REFRESH_TOKEN_TYPE.equals(decodedJWT.getClaim(TOKEN_TYPE_CLAIM).asString()) || isRevoked(decodedJWT)) {
+                return null;
+            }
+            if (decodedJWT.getExpiresAtAsInstant() != null) {
+                verifiedTokens.asMap().compute(token,
+                        (key, current) -> revocations.get() == revocationsBeforeCheck ? decodedJWT : current);
+            }
+            if (revocations.get() != revocationsBeforeCheck && isRevoked(decodedJWT)) {
+                verifiedTokens.invalidate(token);
+                return null;
+            }
+            return decodedJWT;
         } catch (JWTVerificationException exception) {
-            return "";
+            return null;
         }
     }
 
     public Instant genExpirationDate() {
-        return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+        return Instant.now().plus(accessTokenTtl);
+    }
+
+    private boolean isRevoked(DecodedJWT decodedJWT) {
+        String userId = decodedJWT.getClaim(USER_ID_CLAIM).asString();
+        if (userId == null) {
+            return false;
+        }
+        Instant revokedAt = usersRevokedAt.get(userId, this::loadRevokedAt);
+        if (NEVER_REVOKED.equals(revokedAt)) {
+            return false;
+        }
+        Instant issuedAt = issuedAt(decodedJWT);
+        return issuedAt == null || !issuedAt.isAfter(revokedAt);
+    }
+
+    private Instant loadRevokedAt(String userId) {
+        return tokenStates.findById(userId)
+                .map(UserTokenState::getTokensRevokedAt)
+                .map(Date::toInstant)
+                .orElse(NEVER_REVOKED);
     }
-        
-    
+
+    /**
+     * The standard {@code iat} claim only keeps seconds, which would reject a token issued in the same second as
+     * the revocation but after it, so tokens also carry their issue time in milliseconds.
+     */
+    private static Instant issuedAt(DecodedJWT decodedJWT) {
+        Long issuedAtMillis = decodedJWT.getClaim(ISSUED_AT_MILLIS_CLAIM).asLong();
+        return issuedAtMillis != null ? Instant.ofEpochMilli(issuedAtMillis) : decodedJWT.getIssuedAtAsInstant();
+    }
+
+    /**
+     * The user a redeemed refresh token was issued to and the refresh generation its successor must carry.
+     */
+    public record RefreshGrant(User user, long generation) {
+    }
+
+    private static final class UntilTokenExpires implements Expiry<String, DecodedJWT> {
+
+        @Override
+        public long expireAfterCreate(String token, DecodedJWT decodedJWT, long currentTime) {
+            Date expiresAt = decodedJWT.getExpiresAt();
+            long remainingMillis = expiresAt.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
 }
@@ -1,9 +1,14 @@
 package br.com.tech.os.ostech.model;
 
+import br.com.tech.os.ostech.model.id.GeneratedUuidV7;
+import br.com.tech.os.ostech.model.id.UuidStringJavaType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.util.Date;
 
 import jakarta.persistence.*;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -11,14 +16,16 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "budgets")
 @Data
 @NoArgsConstructor
 public class Budget {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedUuidV7
+    @JavaType(UuidStringJavaType.class)
+    @JdbcTypeCode(SqlTypes.UUID)
     @Column(name = "id", updatable = false, nullable = false)
     private String id;
 
@@ -40,4 +47,8 @@ public class Budget {
     @LastModifiedDate
     private Date updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
 }
@@ -1,23 +1,34 @@
 package br.com.tech.os.ostech.model;
 
+import br.com.tech.os.ostech.model.id.GeneratedUuidV7;
+import br.com.tech.os.ostech.model.id.UuidStringJavaType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.GenericGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
 import java.util.Date;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "clients")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clients")
 @Data
 @NoArgsConstructor
 public class Client {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedUuidV7
+    @JavaType(UuidStringJavaType.class)
+    @JdbcTypeCode(SqlTypes.UUID)
     @Column(updatable = false, nullable = false)
     private String id;
 
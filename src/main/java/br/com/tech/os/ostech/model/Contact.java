@@ -1,6 +1,13 @@
 package br.com.tech.os.ostech.model;
 
+import br.com.tech.os.ostech.model.id.GeneratedUuidV7;
+import br.com.tech.os.ostech.model.id.UuidStringJavaType;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
@@ -11,12 +18,16 @@ import java.util.Date;
 
 @Entity
 @Table(name = "contacts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contacts")
 @Data
 @NoArgsConstructor
 public class Contact {
 
     @Id
-    @GeneratedValue(generator = "UUID")
+    @GeneratedUuidV7
+    @JavaType(UuidStringJavaType.class)
+    @JdbcTypeCode(SqlTypes.UUID)
     private String id;
 
     private String email;
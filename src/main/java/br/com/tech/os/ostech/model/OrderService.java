@@ -10,25 +10,43 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@NamedEntityGraph(
+        name = OrderService.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("smartphoneId"),
+                @NamedAttributeNode(value = "clientId", subgraph = "client"),
+                @NamedAttributeNode(value = "budgetId", subgraph = "budget")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "client", attributeNodes = @NamedAttributeNode("contact")),
+                @NamedSubgraph(name = "budget", attributeNodes = @NamedAttributeNode("technical"))
+        })
 @Table(name = "order_services")
 @Data
 @NoArgsConstructor
 public class OrderService {
 
+    public static final String DETAILS_GRAPH = "OrderService.details";
+    public static final String ID_SEQUENCE = "order_services_seq";
+    public static final String SMARTPHONE_FOREIGN_KEY = "fk_order_services_smartphone";
+    public static final String CLIENT_FOREIGN_KEY = "fk_order_services_client";
+    public static final String BUDGET_FOREIGN_KEY = "fk_order_services_budget";
+
     @Id
-    @GeneratedValue (strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
     private Integer id;
 
-    @OneToOne
-    @JoinColumn(name = "smartphoneId", referencedColumnName = "id")
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "smartphoneId", referencedColumnName = "id", foreignKey = @ForeignKey(name = SMARTPHONE_FOREIGN_KEY))
     private Smartphone smartphoneId;
 
-    @ManyToOne
-    @JoinColumn(name = "clientId", referencedColumnName = "id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "clientId", referencedColumnName = "id", foreignKey = @ForeignKey(name = CLIENT_FOREIGN_KEY))
     private Client clientId;
 
-    @OneToOne
-    @JoinColumn(name = "budgetId", referencedColumnName = "id")
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "budgetId", referencedColumnName = "id", foreignKey = @ForeignKey(name = BUDGET_FOREIGN_KEY))
     private Budget budgetId;
 
     private Date departureDate;
@@ -42,4 +60,8 @@ public class OrderService {
     @LastModifiedDate
     private Date updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
 }
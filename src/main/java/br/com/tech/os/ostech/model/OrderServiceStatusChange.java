@@ -0,0 +1,50 @@
+package br.com.tech.os.ostech.model;
+
+import java.util.Date;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of the append-only status log: an order service moved from {@code fromStatus} to {@code toStatus}
+ * at {@code changedAt}. Creations are logged with a {@code null} {@code fromStatus}. Rows are never updated and
+ * are kept when the order service is deleted.
+ */
+@Entity
+@Immutable
+@Table(name = "order_service_status_changes")
+@Getter
+@NoArgsConstructor
+public class OrderServiceStatusChange {
+
+    public static final String ID_SEQUENCE = "order_service_status_changes_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Integer orderServiceId;
+
+    @Enumerated(EnumType.STRING)
+    private Status fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status toStatus;
+
+    @Column(nullable = false)
+    private Date changedAt;
+
+    public OrderServiceStatusChange(Integer orderServiceId, Status fromStatus, Status toStatus, Date changedAt) {
+        this.orderServiceId = orderServiceId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedAt = changedAt;
+    }
+
+}
@@ -0,0 +1,40 @@
+package br.com.tech.os.ostech.model;
+
+import jakarta.persistence.*;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status changes of one hour or one day, aggregated per status: how many order services entered and left it,
+ * and how long the ones that left had stayed in it. Maintained by the status history rollup.
+ */
+@Entity
+@Table(name = "order_service_status_rollups")
+@Data
+@NoArgsConstructor
+public class OrderServiceStatusRollup {
+
+    @EmbeddedId
+    private OrderServiceStatusRollupId id;
+
+    private long entered;
+
+    private long exited;
+
+    private long dwellCount;
+
+    private long dwellTotalSeconds;
+
+    private long dwellMaxSeconds;
+
+    public OrderServiceStatusRollup(OrderServiceStatusRollupId id) {
+        this.id = id;
+    }
+
+    public enum Granularity {
+        HOUR,
+        DAY
+    }
+
+}
@@ -0,0 +1,28 @@
+package br.com.tech.os.ostech.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderServiceStatusRollupId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    private OrderServiceStatusRollup.Granularity granularity;
+
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+}
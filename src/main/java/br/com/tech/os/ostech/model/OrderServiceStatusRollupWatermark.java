@@ -0,0 +1,29 @@
+package br.com.tech.os.ostech.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How far a rollup has got, shared by every instance. Rollup transactions lock this row before touching the
+ * buckets, so instances running the same schedule take turns instead of rewriting the same buckets at once.
+ */
+@Entity
+@Table(name = "order_service_status_rollup_watermarks")
+@Data
+@NoArgsConstructor
+public class OrderServiceStatusRollupWatermark {
+
+    @Id
+    private String name;
+
+    private LocalDateTime rolledUpTo;
+
+    public OrderServiceStatusRollupWatermark(String name) {
+        this.name = name;
+    }
+
+}
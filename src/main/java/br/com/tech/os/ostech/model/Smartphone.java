@@ -1,25 +1,33 @@
 package br.com.tech.os.ostech.model;
 
+import br.com.tech.os.ostech.model.id.GeneratedUuidV7;
+import br.com.tech.os.ostech.model.id.UuidStringJavaType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.util.Date;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "smartphones")
 @Data
 @NoArgsConstructor
 public class Smartphone {
 
     @Id
-    @GeneratedValue(generator = "UUID")
+    @GeneratedUuidV7
+    @JavaType(UuidStringJavaType.class)
+    @JdbcTypeCode(SqlTypes.UUID)
     private String id;
 
     private String model;
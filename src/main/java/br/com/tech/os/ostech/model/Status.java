@@ -1,10 +1,33 @@
 package br.com.tech.os.ostech.model;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum Status {
     OPEN,
     IN_PROGRESS,
     FINISHED,
     CANCELED,
     BUDGET,
-    EQUIPMENT_LEFT
-}
\ No newline at end of file
+    EQUIPMENT_LEFT;
+
+    private static final Map<Status, Set<Status>> TRANSITIONS = new EnumMap<>(Status.class);
+
+    static {
+        TRANSITIONS.put(OPEN, EnumSet.of(BUDGET, IN_PROGRESS, CANCELED));
+        TRANSITIONS.put(BUDGET, EnumSet.of(IN_PROGRESS, CANCELED));
+        TRANSITIONS.put(IN_PROGRESS, EnumSet.of(BUDGET, FINISHED, CANCELED));
+        TRANSITIONS.put(FINISHED, EnumSet.of(EQUIPMENT_LEFT));
+        TRANSITIONS.put(CANCELED, EnumSet.of(EQUIPMENT_LEFT));
+        TRANSITIONS.put(EQUIPMENT_LEFT, EnumSet.noneOf(Status.class));
+    }
+
+    /**
+     * Whether the status-transition endpoint may move an order service from this status to {@code next}.
+     */
+    public boolean canTransitionTo(Status next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+}
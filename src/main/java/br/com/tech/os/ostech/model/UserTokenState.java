@@ -0,0 +1,40 @@
+package br.com.tech.os.ostech.model;
+
+import java.util.Date;
+
+import br.com.tech.os.ostech.model.id.UuidStringJavaType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The token state of one user, shared by every instance. A refresh token carries the generation it was issued at and
+ * redeeming it advances the generation, so it is accepted once whichever instance sees it; tokens issued up to
+ * {@code tokensRevokedAt} are rejected. The row outlives a deleted user, keeping the revocation of their tokens.
+ */
+@Entity
+@Table(name = "user_token_states")
+@Data
+@NoArgsConstructor
+public class UserTokenState {
+
+    @Id
+    @JavaType(UuidStringJavaType.class)
+    @JdbcTypeCode(SqlTypes.UUID)
+    private String userId;
+
+    private long refreshGeneration;
+
+    private Date tokensRevokedAt;
+
+    public UserTokenState(String userId) {
+        this.userId = userId;
+    }
+
+}
@@ -0,0 +1,14 @@
+package br.com.tech.os.ostech.model.dto.analyticsDTO;
+
+import br.com.tech.os.ostech.model.Status;
+
+import java.util.Date;
+
+public interface StatusChangeDwell {
+
+    Status getFromStatus();
+    Status getToStatus();
+    Date getChangedAt();
+    Date getEnteredAt();
+
+}
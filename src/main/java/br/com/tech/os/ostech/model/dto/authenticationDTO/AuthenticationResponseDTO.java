@@ -1,4 +1,4 @@
 package br.com.tech.os.ostech.model.dto.authenticationDTO;
 
-public record AuthenticationResponseDTO(String token) {
+public record AuthenticationResponseDTO(String token, String refreshToken) {
 }
@@ -0,0 +1,4 @@
+package br.com.tech.os.ostech.model.dto.authenticationDTO;
+
+public record RefreshTokenDTO(String refreshToken) {
+}
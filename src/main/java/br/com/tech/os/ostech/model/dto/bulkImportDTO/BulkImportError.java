@@ -0,0 +1,4 @@
+package br.com.tech.os.ostech.model.dto.bulkImportDTO;
+
+public record BulkImportError(long row, String message) {
+}
@@ -0,0 +1,6 @@
+package br.com.tech.os.ostech.model.dto.bulkImportDTO;
+
+import java.util.List;
+
+public record BulkImportResponse(long received, long imported, long failed, List<BulkImportError> errors) {
+}
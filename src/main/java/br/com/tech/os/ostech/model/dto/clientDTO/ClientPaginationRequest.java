@@ -1,5 +1,6 @@
 package br.com.tech.os.ostech.model.dto.clientDTO;
 
+import br.com.tech.os.ostech.enums.ResponseView;
 import br.com.tech.os.ostech.enums.SearchType;
 import br.com.tech.os.ostech.exception.InvalidExceptionClientPagination;
 
@@ -7,7 +8,10 @@ public record ClientPaginationRequest (
     Integer page,
     Integer size,
     SearchType searchType,
-    String searchValue
+    String searchValue,
+    String cursor,
+    boolean includeTotal,
+    ResponseView view
 ) {
     public ClientPaginationRequest {
         if (page == null || page < 0) {
@@ -18,4 +22,20 @@ public record ClientPaginationRequest (
         }
 
     }
+
+    public ClientPaginationRequest(Integer page, Integer size, SearchType searchType, String searchValue) {
+        this(page, size, searchType, searchValue, null, true);
+    }
+
+    public ClientPaginationRequest(Integer page, Integer size, SearchType searchType, String searchValue, String cursor, boolean includeTotal) {
+        this(page, size, searchType, searchValue, cursor, includeTotal, ResponseView.FULL);
+    }
+
+    public boolean isKeyset() {
+        return cursor != null;
+    }
+
+    public boolean isCompact() {
+        return view == ResponseView.COMPACT;
+    }
 }
@@ -1,7 +1,7 @@
 package br.com.tech.os.ostech.model.dto.clientDTO;
 
-import br.com.tech.os.ostech.enums.SearchType;
 import br.com.tech.os.ostech.model.Client;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +15,23 @@ public class ClientPaginationResponse {
 
     private Integer totalPages;
     private Integer currentPage;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<Client> clientsPage;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ClientSummary> summaries;
     private Integer pageSize;
+    private String nextCursor;
+
+    public ClientPaginationResponse(Integer totalPages, Integer currentPage, List<Client> clientsPage, Integer pageSize) {
+        this(totalPages, currentPage, clientsPage, pageSize, null);
+    }
+
+    public ClientPaginationResponse(Integer totalPages, Integer currentPage, List<Client> clientsPage, Integer pageSize, String nextCursor) {
+        this(totalPages, currentPage, clientsPage, null, pageSize, nextCursor);
+    }
+
+    public static ClientPaginationResponse compact(Integer totalPages, Integer currentPage, List<ClientSummary> summaries, Integer pageSize, String nextCursor) {
+        return new ClientPaginationResponse(totalPages, currentPage, null, summaries, pageSize, nextCursor);
+    }
 
 }
@@ -0,0 +1,13 @@
+package br.com.tech.os.ostech.model.dto.clientDTO;
+
+import java.util.Date;
+
+public record ClientSummary(
+    String id,
+    String name,
+    String cpf,
+    String email,
+    String phone,
+    Date createdAt
+) {
+}
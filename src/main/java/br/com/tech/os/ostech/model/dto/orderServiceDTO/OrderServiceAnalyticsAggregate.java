@@ -0,0 +1,30 @@
+package br.com.tech.os.ostech.model.dto.orderServiceDTO;
+
+public interface OrderServiceAnalyticsAggregate {
+
+    Long getTotalOrders();
+    Long getLastMonthOrders();
+    Long getLastWeekOrders();
+    Long getLast24HoursOrders();
+    Long getExitOrders();
+    Long getExitOrdersLastMonth();
+    Long getExitOrdersLastWeek();
+    Long getExitOrdersLast24Hours();
+
+    Long getEntrySunday();
+    Long getEntryMonday();
+    Long getEntryTuesday();
+    Long getEntryWednesday();
+    Long getEntryThursday();
+    Long getEntryFriday();
+    Long getEntrySaturday();
+
+    Long getExitSunday();
+    Long getExitMonday();
+    Long getExitTuesday();
+    Long getExitWednesday();
+    Long getExitThursday();
+    Long getExitFriday();
+    Long getExitSaturday();
+
+}
@@ -1,8 +1,11 @@
 package br.com.tech.os.ostech.model.dto.orderServiceDTO;
 
+import br.com.tech.os.ostech.model.Status;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @RequiredArgsConstructor
 public class OrderServiceAnalyticsResponse {
@@ -20,6 +23,8 @@ public class OrderServiceAnalyticsResponse {
     private Integer currentOrdersLastWeek;
     private Integer currentOrdersLast24Hours;
 
+    private Map<Status, Integer> ordersByStatus;
+
     private OrderServiceAnalyticsWeekResponse orderServiceAnalyticsWeekResponse;
 
 
@@ -1,6 +1,7 @@
 package br.com.tech.os.ostech.model.dto.orderServiceDTO;
 
 import br.com.tech.os.ostech.model.OrderService;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -10,6 +11,17 @@ import java.util.List;
 @Data
 public class OrderServiceLastUpdateResponse {
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<OrderService> lastUpdateOrders;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<OrderServiceSummary> lastUpdateSummaries;
+
+    public OrderServiceLastUpdateResponse(List<OrderService> lastUpdateOrders) {
+        this(lastUpdateOrders, null);
+    }
+
+    public static OrderServiceLastUpdateResponse compact(List<OrderServiceSummary> lastUpdateSummaries) {
+        return new OrderServiceLastUpdateResponse(null, lastUpdateSummaries);
+    }
 
 }
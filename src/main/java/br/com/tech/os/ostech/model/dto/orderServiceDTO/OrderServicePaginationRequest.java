@@ -1,13 +1,17 @@
 package br.com.tech.os.ostech.model.dto.orderServiceDTO;
 
 import br.com.tech.os.ostech.enums.OrderServiceSearchType;
+import br.com.tech.os.ostech.enums.ResponseView;
 import br.com.tech.os.ostech.exception.InvalidExceptionClientPagination;
 
 public record OrderServicePaginationRequest (
     Integer page,
     Integer size,
     OrderServiceSearchType searchType,
-    String searchValue
+    String searchValue,
+    String cursor,
+    boolean includeTotal,
+    ResponseView view
 ) {
     public OrderServicePaginationRequest {
         if (page == null || page < 0) {
@@ -18,4 +22,20 @@ public record OrderServicePaginationRequest (
         }
 
     }
+
+    public OrderServicePaginationRequest(Integer page, Integer size, OrderServiceSearchType searchType, String searchValue) {
+        this(page, size, searchType, searchValue, null, true);
+    }
+
+    public OrderServicePaginationRequest(Integer page, Integer size, OrderServiceSearchType searchType, String searchValue, String cursor, boolean includeTotal) {
+        this(page, size, searchType, searchValue, cursor, includeTotal, ResponseView.FULL);
+    }
+
+    public boolean isKeyset() {
+        return cursor != null;
+    }
+
+    public boolean isCompact() {
+        return view == ResponseView.COMPACT;
+    }
 }
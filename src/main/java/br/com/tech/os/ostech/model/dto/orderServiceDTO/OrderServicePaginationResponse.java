@@ -1,8 +1,7 @@
 package br.com.tech.os.ostech.model.dto.orderServiceDTO;
 
-import br.com.tech.os.ostech.enums.SearchType;
-import br.com.tech.os.ostech.model.Client;
 import br.com.tech.os.ostech.model.OrderService;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +15,23 @@ public class OrderServicePaginationResponse {
 
     private Integer totalPages;
     private Integer currentPage;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<OrderService> orderServices;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<OrderServiceSummary> summaries;
     private Integer pageSize;
+    private String nextCursor;
+
+    public OrderServicePaginationResponse(Integer totalPages, Integer currentPage, List<OrderService> orderServices, Integer pageSize) {
+        this(totalPages, currentPage, orderServices, pageSize, null);
+    }
+
+    public OrderServicePaginationResponse(Integer totalPages, Integer currentPage, List<OrderService> orderServices, Integer pageSize, String nextCursor) {
+        this(totalPages, currentPage, orderServices, null, pageSize, nextCursor);
+    }
+
+    public static OrderServicePaginationResponse compact(Integer totalPages, Integer currentPage, List<OrderServiceSummary> summaries, Integer pageSize, String nextCursor) {
+        return new OrderServicePaginationResponse(totalPages, currentPage, null, summaries, pageSize, nextCursor);
+    }
 
 }
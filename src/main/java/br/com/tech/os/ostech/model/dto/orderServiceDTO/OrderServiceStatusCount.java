@@ -0,0 +1,10 @@
+package br.com.tech.os.ostech.model.dto.orderServiceDTO;
+
+import br.com.tech.os.ostech.model.Status;
+
+public interface OrderServiceStatusCount {
+
+    Status getStatus();
+    Long getTotal();
+
+}
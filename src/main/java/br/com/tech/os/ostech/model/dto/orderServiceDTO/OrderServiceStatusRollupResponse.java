@@ -0,0 +1,15 @@
+package br.com.tech.os.ostech.model.dto.orderServiceDTO;
+
+import br.com.tech.os.ostech.model.Status;
+
+import java.time.LocalDateTime;
+
+public record OrderServiceStatusRollupResponse(
+    LocalDateTime bucketStart,
+    Status status,
+    long entered,
+    long exited,
+    Long averageDwellSeconds,
+    Long maxDwellSeconds
+) {
+}
@@ -0,0 +1,17 @@
+package br.com.tech.os.ostech.model.dto.orderServiceDTO;
+
+public record OrderServiceStatusUpdateDTO(
+    String expectedStatus,
+    String status
+    ) {
+
+    public OrderServiceStatusUpdateDTO {
+        if (expectedStatus == null || expectedStatus.isBlank()) {
+            throw new IllegalArgumentException("Expected status cannot be null or blank");
+        }
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("Status cannot be null or blank");
+        }
+    }
+
+}
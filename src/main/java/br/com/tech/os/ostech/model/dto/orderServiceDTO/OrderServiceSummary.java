@@ -0,0 +1,18 @@
+package br.com.tech.os.ostech.model.dto.orderServiceDTO;
+
+import br.com.tech.os.ostech.model.Status;
+
+import java.util.Date;
+
+public record OrderServiceSummary(
+    Integer id,
+    Status status,
+    String clientName,
+    String smartphoneModel,
+    Double budgetValue,
+    Boolean budgetApproved,
+    Date createdAt,
+    Date updatedAt,
+    Date departureDate
+) {
+}
@@ -0,0 +1,17 @@
+package br.com.tech.os.ostech.model.event;
+
+/**
+ * Published after a user is changed or deleted. {@code revokesTokens} is {@code false} when only the stored hash
+ * was re-encoded at the current BCrypt cost: the cached principal is stale, but the tokens already issued are not.
+ */
+public record UserChangedEvent(String userId, String email, boolean revokesTokens) {
+
+    public UserChangedEvent(String userId, String email) {
+        this(userId, email, true);
+    }
+
+    public static UserChangedEvent passwordRehashed(String userId, String email) {
+        return new UserChangedEvent(userId, email, false);
+    }
+
+}
@@ -0,0 +1,93 @@
+package br.com.tech.os.ostech.model.id;
+
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractClassJavaType;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Keeps UUID identifiers as {@code String} in the entities and the API while storing them in a native
+ * {@code uuid} column (or {@code binary(16)} where the dialect has none): 16 bytes per key instead of a
+ * 36 character varchar, in the primary keys and in every foreign key that points to them.
+ * <p>
+ * Values that are not UUIDs are bound as the nil UUID, which {@link UuidV7} never produces, so a lookup by
+ * a malformed id misses instead of failing the statement.
+ */
+public class UuidStringJavaType extends AbstractClassJavaType<String> {
+
+    static final UUID NIL = new UUID(0L, 0L);
+
+    public UuidStringJavaType() {
+        super(String.class);
+    }
+
+    @Override
+    public JdbcType getRecommendedJdbcType(JdbcTypeIndicators indicators) {
+        return indicators.getTypeConfiguration().getJdbcTypeRegistry().getDescriptor(SqlTypes.UUID);
+    }
+
+    @Override
+    public String toString(String value) {
+        return value;
+    }
+
+    @Override
+    public String fromString(CharSequence string) {
+        return string == null ? null : string.toString();
+    }
+
+    @Override
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (String.class.isAssignableFrom(type)) {
+            return type.cast(value);
+        }
+        if (UUID.class.isAssignableFrom(type)) {
+            return type.cast(toUuid(value));
+        }
+        if (byte[].class.isAssignableFrom(type)) {
+            UUID uuid = toUuid(value);
+            return type.cast(ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .array());
+        }
+        throw unknownUnwrap(type);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String string) {
+            return string;
+        }
+        if (value instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        if (value instanceof byte[] bytes && bytes.length == 16) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong()).toString();
+        }
+        throw unknownWrap(value.getClass());
+    }
+
+    static UUID toUuid(String value) {
+        if (value.length() != 36) {
+            return NIL;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return NIL;
+        }
+    }
+
+}
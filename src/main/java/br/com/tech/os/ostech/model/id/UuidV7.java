@@ -0,0 +1,33 @@
+package br.com.tech.os.ostech.model.id;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUIDs (RFC 9562, version 7): 48 bits of Unix milliseconds, 12 bits of sub-millisecond
+ * fraction and 62 random bits. The random part comes from {@link ThreadLocalRandom}, so concurrent
+ * inserts do not queue on the shared {@code SecureRandom} behind {@link UUID#randomUUID()}, and new keys
+ * land at the right edge of the primary key index instead of on random pages.
+ */
+public final class UuidV7 {
+
+    private static final Clock CLOCK = Clock.systemUTC();
+
+    private UuidV7() {
+    }
+
+    public static UUID randomUuid() {
+        return randomUuid(CLOCK.instant());
+    }
+
+    static UUID randomUuid(Instant instant) {
+        long millis = instant.toEpochMilli();
+        long subMillis = (instant.getNano() % 1_000_000L) * 4096 / 1_000_000L;
+        long mostSignificantBits = (millis << 16) | 0x7000L | subMillis;
+        long leastSignificantBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+}
@@ -1,7 +1,31 @@
 package br.com.tech.os.ostech.repository;
 
-import org.springframework.data.jpa.repository.JpaRepository;
 import br.com.tech.os.ostech.model.Budget;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
 public interface BudgetRepository extends JpaRepository<Budget, String> {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Budget b LEFT JOIN FETCH b.technical")
+    Stream<Budget> streamAll();
+
+    @Query("SELECT b.id FROM Budget b WHERE b.id IN :ids")
+    Set<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT b.version FROM Budget b WHERE b.id = :id")
+    Optional<Long> findVersionById(@Param("id") String id);
 }
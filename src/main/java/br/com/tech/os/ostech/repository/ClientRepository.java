@@ -1,25 +1,86 @@
 package br.com.tech.os.ostech.repository;
 
 import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.model.dto.clientDTO.ClientSummary;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface ClientRepository extends JpaRepository<Client, String>, JpaSpecificationExecutor<Client> {
 
-public interface ClientRepository extends JpaRepository<Client, String> {
+    String SUMMARY_SELECT = "SELECT new br.com.tech.os.ostech.model.dto.clientDTO.ClientSummary("
+            + "c.id, c.name, c.cpf, ct.email, ct.phone, c.createdAt) "
+            + "FROM Client c LEFT JOIN c.contact ct ";
 
     int countByCreatedAtAfter(Date createdAt);
 
-    Page<Client> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    @Query("SELECT c.createdAt FROM Client c WHERE c.createdAt >= :since")
+    List<Date> findCreatedAtSince(@Param("since") Date since);
+
+    @Query("SELECT c FROM Client c WHERE LOWER(c.name) LIKE :pattern ESCAPE '\\'")
+    Page<Client> findByName(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT c FROM Client c JOIN c.contact ct WHERE LOWER(ct.email) LIKE :pattern ESCAPE '\\'")
+    Page<Client> findByContactEmail(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT c FROM Client c JOIN c.contact ct WHERE LOWER(ct.phone) LIKE :pattern ESCAPE '\\'")
+    Page<Client> findByContactPhone(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT c.* FROM clients c WHERE lower(c.name) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT count(*) FROM clients c WHERE lower(c.name) LIKE :pattern ESCAPE '\\'",
+            nativeQuery = true)
+    Page<Client> searchByNameTrigram(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT c.* FROM clients c JOIN contacts ct ON ct.id = c.contact_id WHERE lower(ct.email) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT count(*) FROM clients c JOIN contacts ct ON ct.id = c.contact_id WHERE lower(ct.email) LIKE :pattern ESCAPE '\\'",
+            nativeQuery = true)
+    Page<Client> searchByContactEmailTrigram(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT c.* FROM clients c JOIN contacts ct ON ct.id = c.contact_id WHERE lower(ct.phone) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT count(*) FROM clients c JOIN contacts ct ON ct.id = c.contact_id WHERE lower(ct.phone) LIKE :pattern ESCAPE '\\'",
+            nativeQuery = true)
+    Page<Client> searchByContactPhoneTrigram(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT count(c) FROM Client c")
+    Page<ClientSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(c.name) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT count(c) FROM Client c WHERE LOWER(c.name) LIKE :pattern ESCAPE '\\'")
+    Page<ClientSummary> findSummariesByName(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(ct.email) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT count(c) FROM Client c JOIN c.contact ct WHERE LOWER(ct.email) LIKE :pattern ESCAPE '\\'")
+    Page<ClientSummary> findSummariesByContactEmail(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(ct.phone) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT count(c) FROM Client c JOIN c.contact ct WHERE LOWER(ct.phone) LIKE :pattern ESCAPE '\\'")
+    Page<ClientSummary> findSummariesByContactPhone(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids")
+    List<ClientSummary> findSummariesByIdIn(@Param("ids") Collection<String> ids);
 
-    @Query("SELECT c FROM Client c JOIN c.contact ct WHERE LOWER(ct.email) LIKE LOWER(CONCAT('%', :email, '%'))")
-    Page<Client> findByContactEmailContainingIgnoreCase(@Param("email") String email, Pageable pageable);
+    @Query("SELECT c.id FROM Client c WHERE c.id IN :ids")
+    Set<String> findExistingIds(@Param("ids") Collection<String> ids);
 
-    @Query("SELECT c FROM Client c JOIN c.contact ct WHERE LOWER(ct.phone) LIKE LOWER(CONCAT('%', :phone, '%'))")
-    Page<Client> findByContactPhoneContainingIgnoreCase(@Param("phone") String phone, Pageable pageable);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Client c LEFT JOIN FETCH c.contact")
+    Stream<Client> streamAll();
 }
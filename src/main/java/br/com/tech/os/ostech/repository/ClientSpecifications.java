@@ -0,0 +1,24 @@
+package br.com.tech.os.ostech.repository;
+
+import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.repository.search.LikePattern;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class ClientSpecifications {
+
+    private ClientSpecifications() {
+    }
+
+    public static Specification<Client> nameContains(String name) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), LikePattern.contains(name), LikePattern.ESCAPE);
+    }
+
+    public static Specification<Client> contactEmailContains(String email) {
+        return (root, query, cb) -> cb.like(cb.lower(root.join("contact").get("email")), LikePattern.contains(email), LikePattern.ESCAPE);
+    }
+
+    public static Specification<Client> contactPhoneContains(String phone) {
+        return (root, query, cb) -> cb.like(cb.lower(root.join("contact").get("phone")), LikePattern.contains(phone), LikePattern.ESCAPE);
+    }
+
+}
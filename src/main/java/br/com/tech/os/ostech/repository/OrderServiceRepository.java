@@ -1,37 +1,169 @@
 package br.com.tech.os.ostech.repository;
 
+import br.com.tech.os.ostech.model.OrderService;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceAnalyticsAggregate;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceStatusCount;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceSummary;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import br.com.tech.os.ostech.model.Status;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import br.com.tech.os.ostech.model.OrderService;
-
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface OrderServiceRepository extends JpaRepository<OrderService, String> {
-    @Query("SELECT o FROM OrderService o WHERE LOWER(o.clientId.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    Page<OrderService> findByClientName(@Param("name") String name, Pageable pageable);
+public interface OrderServiceRepository extends JpaRepository<OrderService, String>, JpaSpecificationExecutor<OrderService> {
 
-    @Query("SELECT o FROM OrderService o WHERE LOWER(o.smartphoneId.model) LIKE LOWER(CONCAT('%', :model, '%'))")
-    Page<OrderService> findBySmartphoneModel(@Param("model") String model, Pageable pageable);
+    String SUMMARY_SELECT = "SELECT new br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceSummary("
+            + "o.id, o.status, c.name, s.model, b.value, b.approved, o.createdAt, o.updatedAt, o.departureDate) "
+            + "FROM OrderService o LEFT JOIN o.clientId c LEFT JOIN o.smartphoneId s LEFT JOIN o.budgetId b ";
 
-    Integer countByCreatedAtAfter(Date createdAtAfter);
+    @Override
+    @EntityGraph(OrderService.DETAILS_GRAPH)
+    Optional<OrderService> findById(String id);
 
-    Integer countByDepartureDateIsNotNull();
+    @Override
+    @EntityGraph(OrderService.DETAILS_GRAPH)
+    List<OrderService> findAll();
 
-    Integer countByDepartureDateAfter(Date departureDate);
+    @Override
+    @EntityGraph(OrderService.DETAILS_GRAPH)
+    Page<OrderService> findAll(Pageable pageable);
 
+    @EntityGraph(OrderService.DETAILS_GRAPH)
+    List<OrderService> findByIdIn(Collection<Integer> ids);
+
+    @EntityGraph(OrderService.DETAILS_GRAPH)
+    @Query("SELECT o FROM OrderService o WHERE LOWER(o.clientId.name) LIKE :pattern ESCAPE '\\'")
+    Page<OrderService> findByClientName(@Param("pattern") String pattern, Pageable pageable);
+
+    @EntityGraph(OrderService.DETAILS_GRAPH)
+    @Query("SELECT o FROM OrderService o WHERE LOWER(o.smartphoneId.model) LIKE :pattern ESCAPE '\\'")
+    Page<OrderService> findBySmartphoneModel(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT o.id FROM order_services o JOIN clients c ON c.id = o.client_id WHERE lower(c.name) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT count(*) FROM order_services o JOIN clients c ON c.id = o.client_id WHERE lower(c.name) LIKE :pattern ESCAPE '\\'",
+            nativeQuery = true)
+    Page<Integer> searchIdsByClientNameTrigram(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT o.id FROM order_services o JOIN smartphones s ON s.id = o.smartphone_id WHERE lower(s.model) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT count(*) FROM order_services o JOIN smartphones s ON s.id = o.smartphone_id WHERE lower(s.model) LIKE :pattern ESCAPE '\\'",
+            nativeQuery = true)
+    Page<Integer> searchIdsBySmartphoneModelTrigram(@Param("pattern") String pattern, Pageable pageable);
+
+    @EntityGraph(OrderService.DETAILS_GRAPH)
     List<OrderService> findTop5ByOrderByUpdatedAtDesc();
 
-    @Query("SELECT o FROM OrderService o WHERE FUNCTION('DATE', o.createdAt) = :date")
-    List<OrderService> findByCreatedAtDate(@Param("date") Date date);
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT count(o) FROM OrderService o")
+    Page<OrderServiceSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(c.name) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT count(o) FROM OrderService o JOIN o.clientId c WHERE LOWER(c.name) LIKE :pattern ESCAPE '\\'")
+    Page<OrderServiceSummary> findSummariesByClientName(@Param("pattern") String pattern, Pageable pageable);
 
-    @Query("SELECT o FROM OrderService o WHERE FUNCTION('DATE', o.departureDate) = :date")
-    List<OrderService> findByDepartureDateDate(@Param("date") Date date);
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(s.model) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT count(o) FROM OrderService o JOIN o.smartphoneId s WHERE LOWER(s.model) LIKE :pattern ESCAPE '\\'")
+    Page<OrderServiceSummary> findSummariesBySmartphoneModel(@Param("pattern") String pattern, Pageable pageable);
 
+    @Query(value = SUMMARY_SELECT + "WHERE o.status = :status",
+            countQuery = "SELECT count(o) FROM OrderService o WHERE o.status = :status")
+    Page<OrderServiceSummary> findSummariesByStatus(@Param("status") Status status, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE o.id IN :ids")
+    List<OrderServiceSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(SUMMARY_SELECT + "ORDER BY o.updatedAt DESC")
+    List<OrderServiceSummary> findRecentSummaries(Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM OrderService o "
+            + "LEFT JOIN FETCH o.smartphoneId "
+            + "LEFT JOIN FETCH o.clientId c LEFT JOIN FETCH c.contact "
+            + "LEFT JOIN FETCH o.budgetId b LEFT JOIN FETCH b.technical")
+    Stream<OrderService> streamAll();
+
+    @Query("SELECT COUNT(o) AS totalOrders, "
+            + "COALESCE(SUM(CASE WHEN o.createdAt > :lastMonth THEN 1 ELSE 0 END), 0) AS lastMonthOrders, "
+            + "COALESCE(SUM(CASE WHEN o.createdAt > :lastWeek THEN 1 ELSE 0 END), 0) AS lastWeekOrders, "
+            + "COALESCE(SUM(CASE WHEN o.createdAt > :last24Hours THEN 1 ELSE 0 END), 0) AS last24HoursOrders, "
+            + "COALESCE(SUM(CASE WHEN o.departureDate IS NOT NULL THEN 1 ELSE 0 END), 0) AS exitOrders, "
+            + "COALESCE(SUM(CASE WHEN o.departureDate > :lastMonth THEN 1 ELSE 0 END), 0) AS exitOrdersLastMonth, "
+            + "COALESCE(SUM(CASE WHEN o.departureDate > :lastWeek THEN 1 ELSE 0 END), 0) AS exitOrdersLastWeek, "
+            + "COALESCE(SUM(CASE WHEN o.departureDate > :last24Hours THEN 1 ELSE 0 END), 0) AS exitOrdersLast24Hours, "
+            + "COALESCE(SUM(CASE WHEN o.createdAt >= :sunday AND o.createdAt < :monday THEN 1 ELSE 0 END), 0) AS entrySunday, "
+            + "COALESCE(SUM(CASE WHEN o.createdAt >= :monday AND o.createdAt < :tuesday THEN 1 ELSE 0 END), 0) AS entryMonday, "
+            + "COALESCE(SUM(CASE WHEN o.createdAt >= :tuesday AND o.createdAt < :wednesday THEN 1 ELSE 0 END), 0) AS entryTuesday, "
+            + "COALESCE(SUM(CASE WHEN o.createdAt >= :wednesday AND o.createdAt < :thursday THEN 1 ELSE 0 END), 0) AS entryWednesday, "
+            + "COALESCE(SUM(CASE WHEN o.createdAt >= :thursday AND o.createdAt < :friday THEN 1 ELSE 0 END), 0) AS entryThursday, "
+            + "COALESCE(SUM(CASE WHEN o.createdAt >= :friday AND o.createdAt < :saturday THEN 1 ELSE 0 END), 0) AS entryFriday, "
+            + "COALESCE(SUM(CASE WHEN o.createdAt >= :saturday AND o.createdAt < :nextSunday THEN 1 ELSE 0 END), 0) AS entrySaturday, "
+            + "COALESCE(SUM(CASE WHEN o.departureDate >= :sunday AND o.departureDate < :monday THEN 1 ELSE 0 END), 0) AS exitSunday, "
+            + "COALESCE(SUM(CASE WHEN o.departureDate >= :monday AND o.departureDate < :tuesday THEN 1 ELSE 0 END), 0) AS exitMonday, "
+            + "COALESCE(SUM(CASE WHEN o.departureDate >= :tuesday AND o.departureDate < :wednesday THEN 1 ELSE 0 END), 0) AS exitTuesday, "
+            + "COALESCE(SUM(CASE WHEN o.departureDate >= :wednesday AND o.departureDate < :thursday THEN 1 ELSE 0 END), 0) AS exitWednesday, "
+            + "COALESCE(SUM(CASE WHEN o.departureDate >= :thursday AND o.departureDate < :friday THEN 1 ELSE 0 END), 0) AS exitThursday, "
+            + "COALESCE(SUM(CASE WHEN o.departureDate >= :friday AND o.departureDate < :saturday THEN 1 ELSE 0 END), 0) AS exitFriday, "
+            + "COALESCE(SUM(CASE WHEN o.departureDate >= :saturday AND o.departureDate < :nextSunday THEN 1 ELSE 0 END), 0) AS exitSaturday "
+            + "FROM OrderService o")
+    OrderServiceAnalyticsAggregate aggregateAnalytics(@Param("lastMonth") Date lastMonth,
+                                                      @Param("lastWeek") Date lastWeek,
+                                                      @Param("last24Hours") Date last24Hours,
+                                                      @Param("sunday") Date sunday,
+                                                      @Param("monday") Date monday,
+                                                      @Param("tuesday") Date tuesday,
+                                                      @Param("wednesday") Date wednesday,
+                                                      @Param("thursday") Date thursday,
+                                                      @Param("friday") Date friday,
+                                                      @Param("saturday") Date saturday,
+                                                      @Param("nextSunday") Date nextSunday);
+
+    @EntityGraph(OrderService.DETAILS_GRAPH)
     Page<OrderService> findByStatus(Status status, Pageable pageable);
+
+    long countByDepartureDateIsNotNull();
+
+    @Query("SELECT o.status AS status, COUNT(o) AS total FROM OrderService o GROUP BY o.status")
+    List<OrderServiceStatusCount> countGroupedByStatus();
+
+    @Query("SELECT o.createdAt FROM OrderService o WHERE o.createdAt >= :since")
+    List<Date> findCreatedAtSince(@Param("since") Date since);
+
+    @Query("SELECT o.departureDate FROM OrderService o WHERE o.departureDate >= :since")
+    List<Date> findDepartureDatesSince(@Param("since") Date since);
+
+    @Query("SELECT o.status FROM OrderService o WHERE o.id = :id")
+    Optional<Status> findStatusById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("UPDATE OrderService o SET o.status = :status, o.updatedAt = :updatedAt, o.version = o.version + 1 "
+            + "WHERE o.id = :id AND o.status = :expectedStatus")
+    int updateStatus(@Param("id") Integer id,
+                     @Param("expectedStatus") Status expectedStatus,
+                     @Param("status") Status status,
+                     @Param("updatedAt") Date updatedAt);
+
+    @Modifying
+    @Query("UPDATE OrderService o SET o.status = :status, o.updatedAt = :updatedAt, o.version = o.version + 1 "
+            + "WHERE o.id = :id AND o.status = :expectedStatus AND o.version = :version")
+    int updateStatusAtVersion(@Param("id") Integer id,
+                              @Param("expectedStatus") Status expectedStatus,
+                              @Param("status") Status status,
+                              @Param("updatedAt") Date updatedAt,
+                              @Param("version") Long version);
 }
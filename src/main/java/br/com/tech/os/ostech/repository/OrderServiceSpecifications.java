@@ -0,0 +1,25 @@
+package br.com.tech.os.ostech.repository;
+
+import br.com.tech.os.ostech.model.OrderService;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.repository.search.LikePattern;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class OrderServiceSpecifications {
+
+    private OrderServiceSpecifications() {
+    }
+
+    public static Specification<OrderService> clientNameContains(String name) {
+        return (root, query, cb) -> cb.like(cb.lower(root.join("clientId").get("name")), LikePattern.contains(name), LikePattern.ESCAPE);
+    }
+
+    public static Specification<OrderService> smartphoneModelContains(String model) {
+        return (root, query, cb) -> cb.like(cb.lower(root.join("smartphoneId").get("model")), LikePattern.contains(model), LikePattern.ESCAPE);
+    }
+
+    public static Specification<OrderService> hasStatus(Status status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+}
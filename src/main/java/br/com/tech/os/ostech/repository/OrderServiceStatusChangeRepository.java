@@ -0,0 +1,29 @@
+package br.com.tech.os.ostech.repository;
+
+import br.com.tech.os.ostech.model.OrderServiceStatusChange;
+import br.com.tech.os.ostech.model.dto.analyticsDTO.StatusChangeDwell;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderServiceStatusChangeRepository extends JpaRepository<OrderServiceStatusChange, Long> {
+
+    /**
+     * Status changes in {@code [from, to)}, each with the time its order service entered {@code fromStatus}: the
+     * previous change of the same order service, or {@code null} when the log does not go back that far.
+     */
+    @Query("SELECT c.fromStatus AS fromStatus, c.toStatus AS toStatus, c.changedAt AS changedAt, "
+            + "(SELECT MAX(p.changedAt) FROM OrderServiceStatusChange p "
+            + "WHERE p.orderServiceId = c.orderServiceId AND p.changedAt < c.changedAt) AS enteredAt "
+            + "FROM OrderServiceStatusChange c WHERE c.changedAt >= :from AND c.changedAt < :to")
+    List<StatusChangeDwell> findChangesWithEntryBetween(@Param("from") Date from, @Param("to") Date to);
+
+    @Query("SELECT MIN(c.changedAt) FROM OrderServiceStatusChange c")
+    Optional<Date> findEarliestChangedAt();
+
+}
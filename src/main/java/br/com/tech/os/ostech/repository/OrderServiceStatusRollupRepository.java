@@ -0,0 +1,33 @@
+package br.com.tech.os.ostech.repository;
+
+import br.com.tech.os.ostech.model.OrderServiceStatusRollup;
+import br.com.tech.os.ostech.model.OrderServiceStatusRollupId;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderServiceStatusRollupRepository extends JpaRepository<OrderServiceStatusRollup, OrderServiceStatusRollupId> {
+
+    @Query("SELECT r FROM OrderServiceStatusRollup r WHERE r.id.granularity = :granularity "
+            + "AND r.id.bucketStart >= :from AND r.id.bucketStart < :to ORDER BY r.id.bucketStart, r.id.status")
+    List<OrderServiceStatusRollup> findBuckets(@Param("granularity") OrderServiceStatusRollup.Granularity granularity,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM OrderServiceStatusRollup r WHERE r.id.granularity = :granularity "
+            + "AND r.id.bucketStart >= :from AND r.id.bucketStart < :to")
+    int deleteBuckets(@Param("granularity") OrderServiceStatusRollup.Granularity granularity,
+                      @Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to);
+
+    @Query("SELECT MAX(r.id.bucketStart) FROM OrderServiceStatusRollup r WHERE r.id.granularity = :granularity")
+    Optional<LocalDateTime> findLatestBucketStart(@Param("granularity") OrderServiceStatusRollup.Granularity granularity);
+
+}
@@ -0,0 +1,30 @@
+package br.com.tech.os.ostech.repository;
+
+import br.com.tech.os.ostech.model.OrderServiceStatusRollupWatermark;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface OrderServiceStatusRollupWatermarkRepository extends JpaRepository<OrderServiceStatusRollupWatermark, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM OrderServiceStatusRollupWatermark w WHERE w.name = :name")
+    Optional<OrderServiceStatusRollupWatermark> findForUpdate(@Param("name") String name);
+
+    /**
+     * Moves the watermark forward to {@code rolledUpTo}, never back, so a slower instance finishing an older range
+     * does not undo the progress of another.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderServiceStatusRollupWatermark w SET w.rolledUpTo = :rolledUpTo "
+            + "WHERE w.name = :name AND (w.rolledUpTo IS NULL OR w.rolledUpTo < :rolledUpTo)")
+    int advance(@Param("name") String name, @Param("rolledUpTo") LocalDateTime rolledUpTo);
+
+}
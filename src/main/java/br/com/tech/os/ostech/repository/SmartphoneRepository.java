@@ -1,9 +1,17 @@
 package br.com.tech.os.ostech.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import br.com.tech.os.ostech.model.Smartphone;
 
+import java.util.Collection;
+import java.util.Set;
+
 @Repository
 public interface SmartphoneRepository extends JpaRepository<Smartphone, String> {
+
+    @Query("SELECT s.id FROM Smartphone s WHERE s.id IN :ids")
+    Set<String> findExistingIds(@Param("ids") Collection<String> ids);
 }
@@ -1,7 +1,10 @@
 package br.com.tech.os.ostech.repository;
 
 import br.com.tech.os.ostech.model.Technical;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,8 +12,10 @@ import java.util.Optional;
 @Repository
 public interface TechnicalRepository extends JpaRepository<Technical, String> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Technical> findByName(String name);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByName(String name);
 
 }
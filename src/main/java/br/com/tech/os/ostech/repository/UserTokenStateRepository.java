@@ -0,0 +1,31 @@
+package br.com.tech.os.ostech.repository;
+
+import br.com.tech.os.ostech.model.UserTokenState;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+
+public interface UserTokenStateRepository extends JpaRepository<UserTokenState, String> {
+
+    /**
+     * Moves the refresh generation of the user one step forward if it is still {@code generation}. Two instances
+     * redeeming the same refresh token race on this row, and only the one that updates it wins.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserTokenState s SET s.refreshGeneration = s.refreshGeneration + 1 "
+            + "WHERE s.userId = :userId AND s.refreshGeneration = :generation")
+    int advanceRefreshGeneration(@Param("userId") String userId, @Param("generation") long generation);
+
+    /**
+     * Rejects every token of the user issued up to {@code revokedAt} and retires the outstanding refresh tokens.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserTokenState s SET s.refreshGeneration = s.refreshGeneration + 1, s.tokensRevokedAt = :revokedAt "
+            + "WHERE s.userId = :userId")
+    int revokeTokens(@Param("userId") String userId, @Param("revokedAt") Date revokedAt);
+
+}
@@ -0,0 +1,25 @@
+package br.com.tech.os.ostech.repository.search;
+
+/**
+ * Builds the LIKE patterns of every search path. Queries that take one must declare {@code ESCAPE '\'}, so the
+ * wildcards a user types match literally.
+ */
+public final class LikePattern {
+
+    public static final char ESCAPE = '\\';
+
+    private LikePattern() {
+    }
+
+    public static String contains(String value) {
+        if (value == null) {
+            return "%";
+        }
+        String escaped = value.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+}
@@ -0,0 +1,67 @@
+package br.com.tech.os.ostech.repository.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Slf4j
+@Component
+public class TrigramSearch {
+
+    // Only valid indexes count: a concurrent build that failed leaves an INVALID one behind that is never used.
+    private static final String INDEXES_PRESENT = "SELECT count(*) FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid "
+            + "WHERE c.relnamespace = current_schema()::regnamespace AND i.indisvalid "
+            + "AND c.relname IN ('idx_clients_name_trgm', 'idx_contacts_email_trgm', 'idx_contacts_phone_trgm', 'idx_smartphones_model_trgm')";
+    private static final int INDEX_COUNT = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private volatile boolean available;
+
+    public TrigramSearch(DataSource dataSource, @Value("${api.search.trigram.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectIndexes() {
+        if (!enabled || !isPostgres()) {
+            log.info("Trigram search disabled, using portable LIKE queries");
+            return;
+        }
+        try {
+            Integer present = jdbcTemplate.queryForObject(INDEXES_PRESENT, Integer.class);
+            available = present != null && present == INDEX_COUNT;
+        } catch (DataAccessException e) {
+            log.warn("Could not look up trigram search indexes", e);
+        }
+        if (available) {
+            log.info("Trigram search indexes ready");
+        } else {
+            log.warn("Trigram search indexes missing, using portable LIKE queries");
+        }
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (DataAccessException e) {
+            log.warn("Could not detect database product", e);
+            return false;
+        }
+    }
+
+}
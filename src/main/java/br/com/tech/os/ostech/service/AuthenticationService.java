@@ -1,18 +1,24 @@
 package br.com.tech.os.ostech.service;
 
 import br.com.tech.os.ostech.model.User;
+import br.com.tech.os.ostech.model.event.UserChangedEvent;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import br.com.tech.os.ostech.repository.UserRepository;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class AuthenticationService implements UserDetailsService {
+public class AuthenticationService implements UserDetailsService, UserDetailsPasswordService {
 
     public final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -22,5 +28,19 @@ public class AuthenticationService implements UserDetailsService {
         }
         return user;
     }
-    
+
+    /**
+     * Called by Spring Security after a successful login whose stored hash uses a lower BCrypt cost than
+     * {@code api.security.password.bcrypt-cost}, with the password already re-encoded at the current cost.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        user.setPassword(newPassword);
+        log.info("Rehashing password of user {} with the current cost", user.getId());
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.passwordRehashed(savedUser.getId(), savedUser.getEmail()));
+        return savedUser;
+    }
+
 }
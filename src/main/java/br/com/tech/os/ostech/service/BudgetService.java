@@ -1,17 +1,29 @@
 package br.com.tech.os.ostech.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import br.com.tech.os.ostech.configuration.CacheConfiguration;
 import br.com.tech.os.ostech.model.Technical;
-import br.com.tech.os.ostech.repository.TechnicalRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import br.com.tech.os.ostech.exception.InvalidBudgetIdException;
+import br.com.tech.os.ostech.exception.InvalidBudgetVersionException;
 import br.com.tech.os.ostech.model.Budget;
 import br.com.tech.os.ostech.model.dto.budgetDTO.BudgetCreateDTO;
 import br.com.tech.os.ostech.model.dto.budgetDTO.BudgetUpdateDTO;
 import br.com.tech.os.ostech.repository.BudgetRepository;
+import br.com.tech.os.ostech.service.components.NdjsonWriter;
+import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,12 +33,14 @@ import lombok.extern.slf4j.Slf4j;
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final TechnicalRepository technicalRepository;
+    private final TechnicalService technicalService;
+    private final NdjsonWriter ndjsonWriter;
+    private final CacheManager cacheManager;
 
     public Budget createBudget(BudgetCreateDTO budgetCreateDTO) {
         Budget budget = new Budget();
 
-        Optional<Technical> technicalOptional = technicalRepository.findById(budgetCreateDTO.technicalId());
+        Optional<Technical> technicalOptional = technicalService.findTechnicalById(budgetCreateDTO.technicalId());
         if (technicalOptional.isEmpty()) {
             log.error("Technical with id {} not found", budgetCreateDTO.technicalId());
             throw new InvalidBudgetIdException("Technical not found");
@@ -38,19 +52,22 @@ public class BudgetService {
         budget.setDescription(budgetCreateDTO.description());
         budget.setObservation(budgetCreateDTO.observation());
         budget.setApproved(budgetCreateDTO.approved());
-        budget.setId(UUID.randomUUID().toString());
 
         log.info("Creating budget with value: {} and description: {}", budget.getValue(), budget.getDescription());
         return budgetRepository.save(budget);
     }
 
-    public Budget updateBudget(String id, BudgetUpdateDTO budgetUpdateDTO) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.BUDGETS, key = "#id", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfiguration.BUDGETS, key = "#id")
+    })
+    public Budget updateBudget(String id, BudgetUpdateDTO budgetUpdateDTO, Long expectedVersion) {
         if (!budgetRepository.existsById(id)) {
             log.error("Budget with id {} not found", id);
             throw new InvalidBudgetIdException("Budget not found");
         }
 
-        Optional<Technical> technicalOptional = technicalRepository.findById(budgetUpdateDTO.technicalId());
+        Optional<Technical> technicalOptional = technicalService.findTechnicalById(budgetUpdateDTO.technicalId());
         if (technicalOptional.isEmpty()) {
             log.error("Technical with id {} not found", budgetUpdateDTO.technicalId());
             throw new InvalidBudgetIdException("Technical not found");
@@ -58,6 +75,9 @@ public class BudgetService {
         Technical technical = technicalOptional.get();
 
         Budget budget = budgetRepository.findById(id).orElseThrow(() -> new InvalidBudgetIdException("Budget not found"));
+        if (expectedVersion != null && !expectedVersion.equals(budget.getVersion())) {
+            throw new InvalidBudgetVersionException("Budget is at version " + budget.getVersion() + ", not " + expectedVersion);
+        }
         budget.setTechnical(technical);
         budget.setValue(budgetUpdateDTO.value());
         budget.setDescription(budgetUpdateDTO.description());
@@ -65,9 +85,17 @@ public class BudgetService {
         budget.setApproved(budgetUpdateDTO.approved());
         log.info("Updating budget {}", budget);
 
-        return budgetRepository.save(budget);
+        try {
+            return budgetRepository.save(budget);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new InvalidBudgetVersionException("Budget was modified concurrently");
+        }
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.BUDGETS, beforeInvocation = true),
+            @CacheEvict(CacheConfiguration.BUDGETS)
+    })
     public void deleteBudget(String id) {
         if (!budgetRepository.existsById(id)) {
             log.error("Budget with id {} not found", id);
@@ -77,9 +105,33 @@ public class BudgetService {
         budgetRepository.deleteById(id);
     }
 
+    public Set<String> findExistingIds(Collection<String> ids) {
+        return ids.isEmpty() ? Set.of() : budgetRepository.findExistingIds(ids);
+    }
+
+    /**
+     * Serves the budget from the cache only while its version still matches the database, so the ETag built from
+     * it never comes from a stale entry. The version lookup reads one column by primary key; a mismatch reloads the
+     * budget with its technical and replaces the entry.
+     */
     public Budget getBudgetById(String id) {
         log.info("Getting budget with id {}", id);
-        return budgetRepository.findById(id).orElseThrow(() -> new InvalidBudgetIdException("Budget not found"));
+        Long version = budgetRepository.findVersionById(id).orElseThrow(() -> new InvalidBudgetIdException("Budget not found"));
+        Cache budgets = cacheManager.getCache(CacheConfiguration.BUDGETS);
+        Budget cached = budgets.get(id, Budget.class);
+        if (cached != null && version.equals(cached.getVersion())) {
+            return cached;
+        }
+        Budget budget = budgetRepository.findById(id).orElseThrow(() -> new InvalidBudgetIdException("Budget not found"));
+        budgets.put(id, budget);
+        return budget;
+    }
+
+    public Budget getBudgetReference(String id) {
+        if (id == null) {
+            throw new InvalidBudgetIdException("Budget not found");
+        }
+        return budgetRepository.getReferenceById(id);
     }
 
     public List<Budget> getAllBudgets() {
@@ -87,4 +139,13 @@ public class BudgetService {
         return budgetRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public void streamAllBudgets(OutputStream outputStream) throws IOException {
+        log.info("Streaming all budgets");
+        try (Stream<Budget> budgets = budgetRepository.streamAll()) {
+            long written = ndjsonWriter.write(budgets, outputStream);
+            log.info("Streamed {} budgets", written);
+        }
+    }
+
 }
@@ -1,23 +1,48 @@
 package br.com.tech.os.ostech.service;
 
+import br.com.tech.os.ostech.enums.SearchType;
+import br.com.tech.os.ostech.exception.InvalidExceptionClientPagination;
 import br.com.tech.os.ostech.exception.InvalidClientIdException;
 import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.model.dto.bulkImportDTO.BulkImportResponse;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientAnalyticsResponse;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientCreateDTO;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientPaginationRequest;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientPaginationResponse;
+import br.com.tech.os.ostech.model.dto.clientDTO.ClientSummary;
 import br.com.tech.os.ostech.repository.ClientRepository;
+import br.com.tech.os.ostech.repository.ClientSpecifications;
+import br.com.tech.os.ostech.repository.search.LikePattern;
+import br.com.tech.os.ostech.repository.search.TrigramSearch;
+import br.com.tech.os.ostech.service.components.BulkImporter;
+import br.com.tech.os.ostech.service.components.KeysetCursor;
+import br.com.tech.os.ostech.service.components.NdjsonWriter;
+import br.com.tech.os.ostech.service.counters.ClientCounters;
+import br.com.tech.os.ostech.service.counters.CounterUpdates;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
-import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -25,37 +50,48 @@ import java.util.UUID;
 public class ClientService {
 
     private final ClientRepository clientRepository;
+    private final ClientCounters clientCounters;
+    private final NdjsonWriter ndjsonWriter;
+    private final TrigramSearch trigramSearch;
+    private final BulkImporter bulkImporter;
 
     public Client createClient(ClientCreateDTO clientCreateDTO) {
-        Client client = new Client();
-
-        client.setName(clientCreateDTO.name());
-        client.setCpf(clientCreateDTO.cpf());
-        client.setId(UUID.randomUUID().toString());
-        client.setCreatedAt(new Date());
-        client.setUpdatedAt(new Date());
+        Client client = toClient(clientCreateDTO);
 
         log.info("Creating client with name: {} and CPF: {}", client.getName(), client.getCpf());
-        return clientRepository.save(client);
+        Client savedClient = clientRepository.save(client);
+        clientCounters.recordCreated(savedClient);
+        return savedClient;
+    }
+
+    public BulkImportResponse importClients(InputStream body, MediaType contentType) throws IOException {
+        log.info("Importing clients from {}", contentType);
+        return bulkImporter.importRows(body, contentType, ClientCreateDTO.class,
+                rows -> this::toClient, clientCounters::recordCreated);
+    }
+
+    public Set<String> findExistingIds(Collection<String> ids) {
+        return ids.isEmpty() ? Set.of() : clientRepository.findExistingIds(ids);
     }
 
     public ClientAnalyticsResponse getClientAnalytics() {
         log.info("Buscando analytics de clientes");
-        List<Client> clients = clientRepository.findAll();
-        Integer totalClients = clients.size();
-        log.info("Total clients: {}", totalClients);
 
-        LocalDate today = LocalDate.now();
+        LocalDate today = LocalDate.now(CounterUpdates.ZONE);
         LocalDate lastMonth = today.minusMonths(1);
         LocalDate lastWeek = today.minusWeeks(1);
         LocalDate last24Hours = today.minusDays(1);
-        Date lastMonthDate = Date.from(lastMonth.atStartOfDay(ZoneOffset.UTC).toInstant());
-        Date lastWeekDate = Date.from(lastWeek.atStartOfDay(ZoneOffset.UTC).toInstant());
-        Date last24HoursDate = Date.from(last24Hours.atStartOfDay(ZoneOffset.UTC).toInstant());
 
-        Integer lastMonthClients = clientRepository.countByCreatedAtAfter(lastMonthDate);
-        Integer lastWeekClients = clientRepository.countByCreatedAtAfter(lastWeekDate);
-        Integer last24HoursClients = clientRepository.countByCreatedAtAfter(last24HoursDate);
+        if (clientCounters.isReady()) {
+            return clientCounters.analytics(lastMonth, lastWeek, last24Hours);
+        }
+
+        Integer totalClients = Math.toIntExact(clientRepository.count());
+        log.info("Total clients: {}", totalClients);
+
+        Integer lastMonthClients = clientRepository.countByCreatedAtAfter(CounterUpdates.startOf(lastMonth));
+        Integer lastWeekClients = clientRepository.countByCreatedAtAfter(CounterUpdates.startOf(lastWeek));
+        Integer last24HoursClients = clientRepository.countByCreatedAtAfter(CounterUpdates.startOf(last24Hours));
 
         ClientAnalyticsResponse clientAnalytics = new ClientAnalyticsResponse();
         clientAnalytics.setTotalClients(totalClients);
@@ -69,17 +105,28 @@ public class ClientService {
     public ClientPaginationResponse getClientsPage(ClientPaginationRequest clientPaginationRequest) {
         log.info("Fetching clients page with request: {}", clientPaginationRequest);
 
+        if (clientPaginationRequest.isKeyset()) {
+            return getClientsWindow(clientPaginationRequest);
+        }
+
         PageRequest pageRequest = PageRequest.of(clientPaginationRequest.page(), clientPaginationRequest.size());
+
+        if (clientPaginationRequest.isCompact()) {
+            return getClientSummariesPage(clientPaginationRequest, pageRequest);
+        }
+
         Page<Client> page;
 
-        switch (clientPaginationRequest.searchType()) {
-            case NAME -> page = clientRepository.findByNameContainingIgnoreCase(
-                    clientPaginationRequest.searchValue() != null ? clientPaginationRequest.searchValue() : "", pageRequest);
-            case PHONE -> page = clientRepository.findByContactPhoneContainingIgnoreCase(
-                    clientPaginationRequest.searchValue() != null ? clientPaginationRequest.searchValue() : "", pageRequest);
-            case EMAIL -> page = clientRepository.findByContactEmailContainingIgnoreCase(
-                    clientPaginationRequest.searchValue() != null ? clientPaginationRequest.searchValue() : "", pageRequest);
-            default -> page = clientRepository.findAll(pageRequest);
+        if (trigramSearch.isAvailable()) {
+            page = searchClientsTrigram(clientPaginationRequest, pageRequest);
+        } else {
+            String pattern = LikePattern.contains(clientPaginationRequest.searchValue());
+            switch (clientPaginationRequest.searchType()) {
+                case NAME -> page = clientRepository.findByName(pattern, pageRequest);
+                case PHONE -> page = clientRepository.findByContactPhone(pattern, pageRequest);
+                case EMAIL -> page = clientRepository.findByContactEmail(pattern, pageRequest);
+                default -> page = clientRepository.findAll(pageRequest);
+            }
         }
 
         return new ClientPaginationResponse(
@@ -90,6 +137,93 @@ public class ClientService {
         );
     }
 
+    private ClientPaginationResponse getClientSummariesPage(ClientPaginationRequest clientPaginationRequest, PageRequest pageRequest) {
+        String pattern = LikePattern.contains(clientPaginationRequest.searchValue());
+        Page<ClientSummary> page = switch (clientPaginationRequest.searchType()) {
+            case NAME -> clientRepository.findSummariesByName(pattern, pageRequest);
+            case PHONE -> clientRepository.findSummariesByContactPhone(pattern, pageRequest);
+            case EMAIL -> clientRepository.findSummariesByContactEmail(pattern, pageRequest);
+            default -> clientRepository.findSummaries(pageRequest);
+        };
+
+        return ClientPaginationResponse.compact(
+                page.getTotalPages(),
+                page.getNumber(),
+                page.getContent(),
+                page.getSize(),
+                null
+        );
+    }
+
+    private Page<Client> searchClientsTrigram(ClientPaginationRequest clientPaginationRequest, PageRequest pageRequest) {
+        String pattern = LikePattern.contains(clientPaginationRequest.searchValue());
+        return switch (clientPaginationRequest.searchType()) {
+            case NAME -> clientRepository.searchByNameTrigram(pattern, pageRequest);
+            case PHONE -> clientRepository.searchByContactPhoneTrigram(pattern, pageRequest);
+            case EMAIL -> clientRepository.searchByContactEmailTrigram(pattern, pageRequest);
+            default -> clientRepository.findAll(pageRequest);
+        };
+    }
+
+    private ClientPaginationResponse getClientsWindow(ClientPaginationRequest clientPaginationRequest) {
+        Specification<Client> specification = searchSpecification(
+                clientPaginationRequest.searchType(), clientPaginationRequest.searchValue());
+        KeysetScrollPosition position = KeysetCursor.decode(clientPaginationRequest.cursor(), Function.identity(),
+                InvalidExceptionClientPagination::new);
+
+        Window<Client> window = clientRepository.findBy(specification, query -> query
+                .sortBy(KeysetCursor.SORT)
+                .limit(clientPaginationRequest.size())
+                .scroll(position));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            Client last = window.getContent().get(window.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        Integer totalPages = clientPaginationRequest.includeTotal()
+                ? (int) Math.ceil((double) clientRepository.count(specification) / clientPaginationRequest.size())
+                : null;
+
+        if (clientPaginationRequest.isCompact()) {
+            return ClientPaginationResponse.compact(
+                    totalPages,
+                    null,
+                    findSummaries(window.getContent().stream().map(Client::getId).toList()),
+                    clientPaginationRequest.size(),
+                    nextCursor
+            );
+        }
+
+        return new ClientPaginationResponse(
+                totalPages,
+                null,
+                window.getContent(),
+                clientPaginationRequest.size(),
+                nextCursor
+        );
+    }
+
+    private List<ClientSummary> findSummaries(List<String> ids) {
+        Map<String, ClientSummary> byId = new HashMap<>();
+        clientRepository.findSummariesByIdIn(ids)
+                .forEach(summary -> byId.put(summary.id(), summary));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Specification<Client> searchSpecification(SearchType searchType, String searchValue) {
+        return switch (searchType) {
+            case NAME -> ClientSpecifications.nameContains(searchValue);
+            case PHONE -> ClientSpecifications.contactPhoneContains(searchValue);
+            case EMAIL -> ClientSpecifications.contactEmailContains(searchValue);
+            default -> Specification.where(null);
+        };
+    }
+
     public Client updateClient(String id, ClientCreateDTO clientCreateDTO) {
         Client client = clientRepository.findById(id)
                 .orElseThrow(() -> new InvalidClientIdException("Client not found"));
@@ -107,6 +241,7 @@ public class ClientService {
                 .orElseThrow(() -> new InvalidClientIdException("Client not found"));
         log.info("Deleting client with ID: {}", id);
         clientRepository.delete(client);
+        clientCounters.recordDeleted(client);
     }
 
     public Client getClientById(String id) {
@@ -115,9 +250,34 @@ public class ClientService {
                 .orElseThrow(() -> new InvalidClientIdException("Client not found"));
     }
 
+    public Client getClientReference(String id) {
+        if (id == null) {
+            throw new InvalidClientIdException("Client not found");
+        }
+        return clientRepository.getReferenceById(id);
+    }
+
     public List<Client> getAllClients() {
         log.info("Fetching all clients");
         return clientRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public void streamAllClients(OutputStream outputStream) throws IOException {
+        log.info("Streaming all clients");
+        try (Stream<Client> clients = clientRepository.streamAll()) {
+            long written = ndjsonWriter.write(clients, outputStream);
+            log.info("Streamed {} clients", written);
+        }
+    }
+
+    private Client toClient(ClientCreateDTO clientCreateDTO) {
+        Client client = new Client();
+        client.setName(clientCreateDTO.name());
+        client.setCpf(clientCreateDTO.cpf());
+        client.setCreatedAt(new Date());
+        client.setUpdatedAt(client.getCreatedAt());
+        return client;
+    }
+
 }
@@ -12,7 +12,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
-import java.util.UUID;
 
 @RequiredArgsConstructor
 @Service
@@ -30,13 +29,13 @@ public class ContactService {
         Contact contact = new Contact();
         contact.setEmail(contactCreateDTO.email());
         contact.setPhone(contactCreateDTO.phone());
-        contact.setId(UUID.randomUUID().toString());
+        Contact savedContact = contactRepository.save(contact);
         client.setUpdatedAt(new Date());
-        client.setContact(contact);
+        client.setContact(savedContact);
 
         clientRepository.save(client);
 
-        return contactRepository.save(contact);
+        return savedContact;
     }
 
     public Contact updateContact(String contactId, ContactUpdateDTO contactUpdateDTO) {
@@ -1,23 +1,66 @@
 package br.com.tech.os.ostech.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.ZoneOffset;
-import java.util.Calendar;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import br.com.tech.os.ostech.model.dto.bulkImportDTO.BulkImportResponse;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientAnalyticsResponse;
 import br.com.tech.os.ostech.model.dto.orderServiceDTO.*;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import br.com.tech.os.ostech.enums.OrderServiceSearchType;
+import br.com.tech.os.ostech.exception.InvalidBudgetIdException;
+import br.com.tech.os.ostech.exception.InvalidClientIdException;
+import br.com.tech.os.ostech.exception.InvalidExceptionOrderServicePagination;
 import br.com.tech.os.ostech.exception.InvalidOrderServiceIdException;
+import br.com.tech.os.ostech.exception.InvalidOrderServiceInformationException;
+import br.com.tech.os.ostech.exception.InvalidOrderServiceVersionException;
+import br.com.tech.os.ostech.exception.InvalidSmartphoneIdException;
 import br.com.tech.os.ostech.model.Budget;
 import br.com.tech.os.ostech.model.Client;
 import br.com.tech.os.ostech.model.OrderService;
+import br.com.tech.os.ostech.model.OrderServiceStatusChange;
+import br.com.tech.os.ostech.model.OrderServiceStatusRollup;
 import br.com.tech.os.ostech.model.Smartphone;
 import br.com.tech.os.ostech.model.Status;
 import br.com.tech.os.ostech.repository.OrderServiceRepository;
+import br.com.tech.os.ostech.repository.OrderServiceSpecifications;
+import br.com.tech.os.ostech.repository.OrderServiceStatusChangeRepository;
+import br.com.tech.os.ostech.repository.OrderServiceStatusRollupRepository;
+import br.com.tech.os.ostech.repository.search.LikePattern;
+import br.com.tech.os.ostech.repository.search.TrigramSearch;
+import br.com.tech.os.ostech.service.components.BulkImporter;
+import br.com.tech.os.ostech.service.components.KeysetCursor;
+import br.com.tech.os.ostech.service.components.NdjsonWriter;
+import br.com.tech.os.ostech.service.counters.CounterUpdates;
+import br.com.tech.os.ostech.service.counters.OrderServiceCounters;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,29 +70,34 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class OrderServiceService {
 
+    private static final Duration MAX_HOURLY_ROLLUP_RANGE = Duration.ofDays(31);
+    private static final long MAX_DAILY_ROLLUP_DAYS = 366;
+
     private final OrderServiceRepository orderServiceRepository;
     private final SmartphoneService smartphoneService;
     private final ClientService clientService;
     private final BudgetService budgetService;
+    private final OrderServiceCounters orderServiceCounters;
+    private final NdjsonWriter ndjsonWriter;
+    private final TrigramSearch trigramSearch;
+    private final BulkImporter bulkImporter;
+    private final OrderServiceStatusChangeRepository statusChangeRepository;
+    private final OrderServiceStatusRollupRepository statusRollupRepository;
+    private final EntityManager entityManager;
 
     @Transactional
     public OrderService createOrderService(OrderServiceCreateDTO orderServiceCreateDTO) {
 
-        log.info("Creating Order Service");
-
-        Client client = clientService.getClientById(orderServiceCreateDTO.clientId());
-        Smartphone smartphone = smartphoneService.getSmartphoneById(orderServiceCreateDTO.smartphoneId());
-        Budget budget = orderServiceCreateDTO.budgetId() == null
-                ? null
-                : budgetService.getBudgetById(orderServiceCreateDTO.budgetId());
-
-        log.info("Smartphone: {}, Budget: {}, Client: {}", smartphone, budget, client);
+        log.info("Creating Order Service for client: {}, smartphone: {}, budget: {}", orderServiceCreateDTO.clientId(),
+                orderServiceCreateDTO.smartphoneId(), orderServiceCreateDTO.budgetId());
 
         OrderService orderService = new OrderService();
 
-        orderService.setSmartphoneId(smartphone);
-        orderService.setBudgetId(budget);
-        orderService.setClientId(client);
+        orderService.setSmartphoneId(smartphoneService.getSmartphoneReference(orderServiceCreateDTO.smartphoneId()));
+        orderService.setBudgetId(orderServiceCreateDTO.budgetId() == null
+                ? null
+                : budgetService.getBudgetReference(orderServiceCreateDTO.budgetId()));
+        orderService.setClientId(clientService.getClientReference(orderServiceCreateDTO.clientId()));
         orderService.setDepartureDate(null);
         orderService.setStatus(orderServiceCreateDTO.status() == null
                 ? Status.OPEN
@@ -57,26 +105,36 @@ public class OrderServiceService {
         orderService.setCreatedAt(new Date());
         orderService.setUpdatedAt(new Date());
 
-        log.info("Order Service created with ID: {}", orderService.getId());
+        OrderService savedOrderService = saveWithReferences(orderService);
+        recordStatusChange(savedOrderService.getId(), null, savedOrderService.getStatus(), savedOrderService.getCreatedAt());
+        orderServiceCounters.recordCreated(savedOrderService);
+
+        log.info("Order Service created with ID: {}", savedOrderService.getId());
 
-        return orderServiceRepository.save(orderService);
+        return reloadDetails(savedOrderService);
     }
 
     @Transactional
-    public OrderService updateOrderService(String orderServiceId, OrderServiceUpdateDTO orderServiceUpdateDTO) {
+    public OrderService updateOrderService(String orderServiceId, OrderServiceUpdateDTO orderServiceUpdateDTO,
+                                           Long expectedVersion) {
 
         log.info("Updating order service with ID: {}", orderServiceId);
 
         OrderService orderService = orderServiceRepository.findById(orderServiceId)
                 .orElseThrow(() -> new InvalidOrderServiceIdException("Order Service not found"));
+        if (expectedVersion != null && !expectedVersion.equals(orderService.getVersion())) {
+            throw new InvalidOrderServiceVersionException("Order service is at version " + orderService.getVersion()
+                    + ", not " + expectedVersion);
+        }
 
-        Client client = clientService.getClientById(orderServiceUpdateDTO.clientId());
-        Smartphone smartphone = smartphoneService.getSmartphoneById(orderServiceUpdateDTO.smartphoneId());
+        Client client = clientService.getClientReference(orderServiceUpdateDTO.clientId());
+        Smartphone smartphone = smartphoneService.getSmartphoneReference(orderServiceUpdateDTO.smartphoneId());
         Budget budget = orderServiceUpdateDTO.budgetId() == null || orderServiceUpdateDTO.budgetId().isEmpty()
                 ? null
-                : budgetService.getBudgetById(orderServiceUpdateDTO.budgetId());
+                : budgetService.getBudgetReference(orderServiceUpdateDTO.budgetId());
 
-        log.info("Smartphone: {}, Budget: {}, Client: {}", smartphone, budget, client);
+        Status previousStatus = orderService.getStatus();
+        Date previousDepartureDate = orderService.getDepartureDate();
 
         orderService.setSmartphoneId(smartphone);
         if(budget != null) {
@@ -92,10 +150,52 @@ public class OrderServiceService {
             orderService.setDepartureDate(orderServiceUpdateDTO.departureDate());
         }
 
+        OrderService savedOrderService = saveWithReferences(orderService);
+        if (previousStatus != savedOrderService.getStatus()) {
+            recordStatusChange(savedOrderService.getId(), previousStatus, savedOrderService.getStatus(),
+                    savedOrderService.getUpdatedAt());
+        }
+
         log.info("Updated order service with ID: {} to smartphone: {}, budget: {}, client: {}", orderServiceId,
-                smartphone, budget, client);
+                orderServiceUpdateDTO.smartphoneId(), orderServiceUpdateDTO.budgetId(), orderServiceUpdateDTO.clientId());
+
+        orderServiceCounters.recordUpdated(previousStatus, previousDepartureDate, savedOrderService);
 
-        return orderServiceRepository.save(orderService);
+        return reloadDetails(savedOrderService);
+    }
+
+    /**
+     * Moves an order service from {@code expectedStatus} to {@code status} with a single conditional UPDATE, so
+     * concurrent changes never hold a row lock across the request: the loser updates no row and gets a conflict.
+     */
+    @Transactional
+    public void changeStatus(String orderServiceId, OrderServiceStatusUpdateDTO orderServiceStatusUpdateDTO,
+                             Long expectedVersion) {
+        Integer id = parseOrderServiceId(orderServiceId);
+        Status expectedStatus = getStatusOrThrow(orderServiceStatusUpdateDTO.expectedStatus());
+        Status status = getStatusOrThrow(orderServiceStatusUpdateDTO.status());
+        if (!expectedStatus.canTransitionTo(status)) {
+            throw new InvalidOrderServiceInformationException(
+                    "Cannot change order service status from " + expectedStatus + " to " + status);
+        }
+
+        log.info("Changing status of order service with ID: {} from {} to {}", orderServiceId, expectedStatus, status);
+
+        Date now = new Date();
+        int updated = expectedVersion == null
+                ? orderServiceRepository.updateStatus(id, expectedStatus, status, now)
+                : orderServiceRepository.updateStatusAtVersion(id, expectedStatus, status, now, expectedVersion);
+        if (updated == 0) {
+            Status currentStatus = orderServiceRepository.findStatusById(id)
+                    .orElseThrow(() -> new InvalidOrderServiceIdException("Order service not found"));
+            if (currentStatus != expectedStatus) {
+                throw new InvalidOrderServiceInformationException(
+                        "Order service status is " + currentStatus + ", not " + expectedStatus);
+            }
+            throw new InvalidOrderServiceVersionException("Order service is no longer at version " + expectedVersion);
+        }
+        recordStatusChange(id, expectedStatus, status, now);
+        orderServiceCounters.recordStatusChanged(expectedStatus, status);
     }
 
     @Transactional
@@ -104,6 +204,7 @@ public class OrderServiceService {
         OrderService orderService = orderServiceRepository.findById(orderServiceId)
                 .orElseThrow(() -> new InvalidOrderServiceIdException("Order service not found"));
         orderServiceRepository.delete(orderService);
+        orderServiceCounters.recordDeleted(orderService);
         log.info("Deleted order service with ID: {}", orderServiceId);
     }
 
@@ -114,88 +215,113 @@ public class OrderServiceService {
         return new OrderServiceLastUpdateResponse(recentOrders);
     }
 
+    public OrderServiceLastUpdateResponse getRecentOrderSummaries() {
+        log.info("Fetching recent order summaries");
+        List<OrderServiceSummary> recentOrders = orderServiceRepository.findRecentSummaries(PageRequest.ofSize(5));
+        log.info("Found {} recent order summaries", recentOrders.size());
+        return OrderServiceLastUpdateResponse.compact(recentOrders);
+    }
+
+    public BulkImportResponse importOrderServices(InputStream body, MediaType contentType) throws IOException {
+        log.info("Importing order services from {}", contentType);
+        return bulkImporter.importRows(body, contentType, OrderServiceCreateDTO.class,
+                this::orderServiceMapper, orderService -> {
+                    recordStatusChange(orderService.getId(), null, orderService.getStatus(), orderService.getCreatedAt());
+                    orderServiceCounters.recordCreated(orderService);
+                });
+    }
+
     public OrderServiceAnalyticsResponse getOrderAnalytics() {
         log.info("Buscando analytics de clientes");
-        int orderServices = Math.toIntExact(orderServiceRepository.count());
-        log.info("Total de orders: {}", orderServices);
-        int orderExitServices = orderServiceRepository.countByDepartureDateIsNotNull();
 
-        LocalDate today = LocalDate.now();
+        LocalDate today = LocalDate.now(CounterUpdates.ZONE);
         LocalDate lastMonth = today.minusMonths(1);
         LocalDate lastWeek = today.minusWeeks(1);
         LocalDate last24Hours = today.minusDays(1);
-        Date lastMonthDate = Date.from(lastMonth.atStartOfDay(ZoneOffset.UTC).toInstant());
-        Date lastWeekDate = Date.from(lastWeek.atStartOfDay(ZoneOffset.UTC).toInstant());
-        Date last24HoursDate = Date.from(last24Hours.atStartOfDay(ZoneOffset.UTC).toInstant());
-
-        Integer lastMonthOrders = orderServiceRepository.countByCreatedAtAfter(lastMonthDate);
-        Integer lastWeekOrders = orderServiceRepository.countByCreatedAtAfter(lastWeekDate);
-        Integer last24HoursOrders = orderServiceRepository.countByCreatedAtAfter(last24HoursDate);
-        log.info("Orders in the last month: {}", lastMonthOrders);
-        log.info("Orders in the last week: {}", lastWeekOrders);
-        log.info("Orders in the last 24 hours: {}", last24HoursOrders);
-        Integer exitMonthOrders = orderServiceRepository.countByDepartureDateAfter(lastMonthDate);
-        Integer exitWeekOrders = orderServiceRepository.countByDepartureDateAfter(lastWeekDate);
-        Integer exit24HoursOrders = orderServiceRepository.countByDepartureDateAfter(last24HoursDate);
-
-        OrderServiceAnalyticsResponse orderAnalytics = new OrderServiceAnalyticsResponse();
-        orderAnalytics.setTotalOrders(orderServices);
-        orderAnalytics.setLastMonthOrders(lastMonthOrders);
-        orderAnalytics.setLastWeekOrders(lastWeekOrders);
-        orderAnalytics.setLast24HoursOrders(last24HoursOrders);
+        LocalDate weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
 
-        orderAnalytics.setExitOrders(orderExitServices);
-        orderAnalytics.setExitOrdersLastMonth(exitMonthOrders);
-        orderAnalytics.setExitOrdersLastWeek(exitWeekOrders);
-        orderAnalytics.setExitOrdersLast24Hours(exit24HoursOrders);
-
-        OrderServiceAnalyticsWeekResponse weekResponse = new OrderServiceAnalyticsWeekResponse();
-
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
+        Date[] weekDays = new Date[8];
+        for (int day = 0; day < weekDays.length; day++) {
+            weekDays[day] = CounterUpdates.startOf(weekStart.plusDays(day));
+        }
 
-        calendar.set(Calendar.DAY_OF_WEEK, Calendar.SUNDAY);
-        Date sunday = calendar.getTime();
+        OrderServiceAnalyticsAggregate aggregate = orderServiceCounters.isReady()
+                ? orderServiceCounters.aggregate(lastMonth, lastWeek, last24Hours, weekStart)
+                : orderServiceRepository.aggregateAnalytics(CounterUpdates.startOf(lastMonth),
+                        CounterUpdates.startOf(lastWeek), CounterUpdates.startOf(last24Hours),
+                        weekDays[0], weekDays[1], weekDays[2], weekDays[3], weekDays[4], weekDays[5], weekDays[6], weekDays[7]);
 
-        weekResponse.setEntrySunday(orderServiceRepository.findByCreatedAtDate(sunday).size());
-        weekResponse.setExitSunday(orderServiceRepository.findByDepartureDateDate(sunday).size());
+        log.info("Total de orders: {}", aggregate.getTotalOrders());
+        log.info("Orders in the last month: {}", aggregate.getLastMonthOrders());
+        log.info("Orders in the last week: {}", aggregate.getLastWeekOrders());
+        log.info("Orders in the last 24 hours: {}", aggregate.getLast24HoursOrders());
 
-        calendar.add(Calendar.DAY_OF_WEEK, 1);
-        Date monday = calendar.getTime();
-        weekResponse.setEntryMonday(orderServiceRepository.findByCreatedAtDate(monday).size());
-        weekResponse.setExitMonday(orderServiceRepository.findByDepartureDateDate(monday).size());
+        OrderServiceAnalyticsResponse orderAnalytics = new OrderServiceAnalyticsResponse();
+        orderAnalytics.setTotalOrders(toInt(aggregate.getTotalOrders()));
+        orderAnalytics.setLastMonthOrders(toInt(aggregate.getLastMonthOrders()));
+        orderAnalytics.setLastWeekOrders(toInt(aggregate.getLastWeekOrders()));
+        orderAnalytics.setLast24HoursOrders(toInt(aggregate.getLast24HoursOrders()));
 
-        calendar.add(Calendar.DAY_OF_WEEK, 1);
-        Date tuesday = calendar.getTime();
-        weekResponse.setEntryTuesday(orderServiceRepository.findByCreatedAtDate(tuesday).size());
-        weekResponse.setExitTuesday(orderServiceRepository.findByDepartureDateDate(tuesday).size());
+        orderAnalytics.setExitOrders(toInt(aggregate.getExitOrders()));
+        orderAnalytics.setExitOrdersLastMonth(toInt(aggregate.getExitOrdersLastMonth()));
+        orderAnalytics.setExitOrdersLastWeek(toInt(aggregate.getExitOrdersLastWeek()));
+        orderAnalytics.setExitOrdersLast24Hours(toInt(aggregate.getExitOrdersLast24Hours()));
 
-        calendar.add(Calendar.DAY_OF_WEEK, 1);
-        Date wednesday = calendar.getTime();
-        weekResponse.setEntryWednesday(orderServiceRepository.findByCreatedAtDate(wednesday).size());
-        weekResponse.setExitWednesday(orderServiceRepository.findByDepartureDateDate(wednesday).size());
+        OrderServiceAnalyticsWeekResponse weekResponse = new OrderServiceAnalyticsWeekResponse();
+        weekResponse.setEntrySunday(toInt(aggregate.getEntrySunday()));
+        weekResponse.setEntryMonday(toInt(aggregate.getEntryMonday()));
+        weekResponse.setEntryTuesday(toInt(aggregate.getEntryTuesday()));
+        weekResponse.setEntryWednesday(toInt(aggregate.getEntryWednesday()));
+        weekResponse.setEntryThursday(toInt(aggregate.getEntryThursday()));
+        weekResponse.setEntryFriday(toInt(aggregate.getEntryFriday()));
+        weekResponse.setEntrySaturday(toInt(aggregate.getEntrySaturday()));
+
+        weekResponse.setExitSunday(toInt(aggregate.getExitSunday()));
+        weekResponse.setExitMonday(toInt(aggregate.getExitMonday()));
+        weekResponse.setExitTuesday(toInt(aggregate.getExitTuesday()));
+        weekResponse.setExitWednesday(toInt(aggregate.getExitWednesday()));
+        weekResponse.setExitThursday(toInt(aggregate.getExitThursday()));
+        weekResponse.setExitFriday(toInt(aggregate.getExitFriday()));
+        weekResponse.setExitSaturday(toInt(aggregate.getExitSaturday()));
 
-        calendar.add(Calendar.DAY_OF_WEEK, 1);
-        Date thursday = calendar.getTime();
-        weekResponse.setEntryThursday(orderServiceRepository.findByCreatedAtDate(thursday).size());
-        weekResponse.setExitThursday(orderServiceRepository.findByDepartureDateDate(thursday).size());
+        orderAnalytics.setOrderServiceAnalyticsWeekResponse(weekResponse);
 
-        calendar.add(Calendar.DAY_OF_WEEK, 1);
-        Date friday = calendar.getTime();
-        weekResponse.setEntryFriday(orderServiceRepository.findByCreatedAtDate(friday).size());
-        weekResponse.setExitFriday(orderServiceRepository.findByDepartureDateDate(friday).size());
+        if (orderServiceCounters.isReady()) {
+            Map<Status, Integer> ordersByStatus = new EnumMap<>(Status.class);
+            orderServiceCounters.countsByStatus().forEach((status, count) -> ordersByStatus.put(status, toInt(count)));
+            orderAnalytics.setOrdersByStatus(ordersByStatus);
+        }
 
-        calendar.add(Calendar.DAY_OF_WEEK, 1);
-        Date saturday = calendar.getTime();
-        weekResponse.setEntrySaturday(orderServiceRepository.findByCreatedAtDate(saturday).size());
-        weekResponse.setExitSaturday(orderServiceRepository.findByDepartureDateDate(saturday).size());
+        return orderAnalytics;
+    }
 
-        orderAnalytics.setOrderServiceAnalyticsWeekResponse(weekResponse);
+    /**
+     * Hourly rollups with {@code bucketStart} in {@code [from, to)}; defaults to the last 24 hours.
+     */
+    public List<OrderServiceStatusRollupResponse> getHourlyStatusRollups(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to == null ? LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1) : to;
+        LocalDateTime start = from == null ? end.minusHours(24) : from;
+        if (!start.isBefore(end) || Duration.between(start, end).compareTo(MAX_HOURLY_ROLLUP_RANGE) > 0) {
+            throw new IllegalArgumentException("Hourly rollup range must be positive and at most "
+                    + MAX_HOURLY_ROLLUP_RANGE.toDays() + " days");
+        }
+        log.info("Fetching hourly status rollups from {} to {}", start, end);
+        return getStatusRollups(OrderServiceStatusRollup.Granularity.HOUR, start, end);
+    }
 
-        return orderAnalytics;
+    /**
+     * Daily rollups from {@code from} to {@code to}, both inclusive; defaults to the last 30 days.
+     */
+    public List<OrderServiceStatusRollupResponse> getDailyStatusRollups(LocalDate from, LocalDate to) {
+        LocalDate last = to == null ? LocalDate.now() : to;
+        LocalDate first = from == null ? last.minusDays(29) : from;
+        if (first.isAfter(last) || ChronoUnit.DAYS.between(first, last) >= MAX_DAILY_ROLLUP_DAYS) {
+            throw new IllegalArgumentException("Daily rollup range must be positive and at most "
+                    + MAX_DAILY_ROLLUP_DAYS + " days");
+        }
+        log.info("Fetching daily status rollups from {} to {}", first, last);
+        return getStatusRollups(OrderServiceStatusRollup.Granularity.DAY, first.atStartOfDay(),
+                last.plusDays(1).atStartOfDay());
     }
 
     public OrderService getOrderServiceById(String orderServiceId) {
@@ -209,17 +335,38 @@ public class OrderServiceService {
         return orderServiceRepository.findAll();
     }
 
+    @Transactional
+    public void streamAllOrderServices(OutputStream outputStream) throws IOException {
+        log.info("Streaming all order services");
+        try (Stream<OrderService> orderServices = orderServiceRepository.streamAll()) {
+            long written = ndjsonWriter.write(orderServices, outputStream);
+            log.info("Streamed {} order services", written);
+        }
+    }
+
     public OrderServicePaginationResponse getOrderServicesPage(OrderServicePaginationRequest orderServicePaginationRequest) {
         log.info("Fetching order services page with request: {}", orderServicePaginationRequest);
 
+        if (orderServicePaginationRequest.isKeyset()) {
+            return getOrderServicesWindow(orderServicePaginationRequest);
+        }
+
         PageRequest pageRequest = PageRequest.of(orderServicePaginationRequest.page(), orderServicePaginationRequest.size());
+
+        if (orderServicePaginationRequest.isCompact()) {
+            return getOrderServiceSummariesPage(orderServicePaginationRequest, pageRequest);
+        }
+
         Page<OrderService> page;
+        String pattern = LikePattern.contains(orderServicePaginationRequest.searchValue());
 
         switch (orderServicePaginationRequest.searchType()) {
-            case CLIENT -> page = orderServiceRepository.findByClientName(
-                    orderServicePaginationRequest.searchValue() != null ? orderServicePaginationRequest.searchValue() : "", pageRequest);
-            case SMARTPHONE -> page = orderServiceRepository.findBySmartphoneModel(
-                    orderServicePaginationRequest.searchValue() != null ? orderServicePaginationRequest.searchValue() : "", pageRequest);
+            case CLIENT -> page = trigramSearch.isAvailable()
+                    ? loadOrderServices(orderServiceRepository.searchIdsByClientNameTrigram(pattern, pageRequest))
+                    : orderServiceRepository.findByClientName(pattern, pageRequest);
+            case SMARTPHONE -> page = trigramSearch.isAvailable()
+                    ? loadOrderServices(orderServiceRepository.searchIdsBySmartphoneModelTrigram(pattern, pageRequest))
+                    : orderServiceRepository.findBySmartphoneModel(pattern, pageRequest);
             case STATUS -> {
                 Status status = orderServicePaginationRequest.searchValue() != null
                         ? getStatusOrThrow(orderServicePaginationRequest.searchValue())
@@ -241,6 +388,202 @@ public class OrderServiceService {
         );
     }
 
+    private OrderServicePaginationResponse getOrderServiceSummariesPage(OrderServicePaginationRequest orderServicePaginationRequest,
+                                                                        PageRequest pageRequest) {
+        String pattern = LikePattern.contains(orderServicePaginationRequest.searchValue());
+        Page<OrderServiceSummary> page = switch (orderServicePaginationRequest.searchType()) {
+            case CLIENT -> orderServiceRepository.findSummariesByClientName(pattern, pageRequest);
+            case SMARTPHONE -> orderServiceRepository.findSummariesBySmartphoneModel(pattern, pageRequest);
+            case STATUS -> orderServicePaginationRequest.searchValue() != null
+                    ? orderServiceRepository.findSummariesByStatus(getStatusOrThrow(orderServicePaginationRequest.searchValue()), pageRequest)
+                    : orderServiceRepository.findSummaries(pageRequest);
+            default -> orderServiceRepository.findSummaries(pageRequest);
+        };
+
+        return OrderServicePaginationResponse.compact(
+                page.getTotalPages(),
+                page.getNumber(),
+                page.getContent(),
+                page.getSize(),
+                null
+        );
+    }
+
+    private Page<OrderService> loadOrderServices(Page<Integer> ids) {
+        return new PageImpl<>(findWithDetails(ids.getContent()), ids.getPageable(), ids.getTotalElements());
+    }
+
+    private List<OrderService> findWithDetails(List<Integer> ids) {
+        Map<Integer, OrderService> byId = new HashMap<>();
+        orderServiceRepository.findByIdIn(ids)
+                .forEach(orderService -> byId.put(orderService.getId(), orderService));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<OrderServiceSummary> findSummaries(List<Integer> ids) {
+        Map<Integer, OrderServiceSummary> byId = new HashMap<>();
+        orderServiceRepository.findSummariesByIdIn(ids)
+                .forEach(summary -> byId.put(summary.id(), summary));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private OrderServicePaginationResponse getOrderServicesWindow(OrderServicePaginationRequest orderServicePaginationRequest) {
+        Specification<OrderService> specification = searchSpecification(
+                orderServicePaginationRequest.searchType(), orderServicePaginationRequest.searchValue());
+        KeysetScrollPosition position = KeysetCursor.decode(orderServicePaginationRequest.cursor(), Integer::valueOf,
+                InvalidExceptionOrderServicePagination::new);
+
+        Window<OrderService> window = orderServiceRepository.findBy(specification, query -> query
+                .sortBy(KeysetCursor.SORT)
+                .limit(orderServicePaginationRequest.size())
+                .scroll(position));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            OrderService last = window.getContent().get(window.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        Integer totalPages = orderServicePaginationRequest.includeTotal()
+                ? (int) Math.ceil((double) orderServiceRepository.count(specification) / orderServicePaginationRequest.size())
+                : null;
+
+        List<Integer> ids = window.getContent().stream().map(OrderService::getId).toList();
+
+        if (orderServicePaginationRequest.isCompact()) {
+            return OrderServicePaginationResponse.compact(
+                    totalPages,
+                    null,
+                    findSummaries(ids),
+                    orderServicePaginationRequest.size(),
+                    nextCursor
+            );
+        }
+
+        return new OrderServicePaginationResponse(
+                totalPages,
+                null,
+                findWithDetails(ids),
+                orderServicePaginationRequest.size(),
+                nextCursor
+        );
+    }
+
+    private Specification<OrderService> searchSpecification(OrderServiceSearchType searchType, String searchValue) {
+        return switch (searchType) {
+            case CLIENT -> OrderServiceSpecifications.clientNameContains(searchValue);
+            case SMARTPHONE -> OrderServiceSpecifications.smartphoneModelContains(searchValue);
+            case STATUS -> searchValue != null
+                    ? OrderServiceSpecifications.hasStatus(getStatusOrThrow(searchValue))
+                    : Specification.where(null);
+            default -> Specification.where(null);
+        };
+    }
+
+    private void recordStatusChange(Integer orderServiceId, Status fromStatus, Status toStatus, Date changedAt) {
+        statusChangeRepository.save(new OrderServiceStatusChange(orderServiceId, fromStatus, toStatus, changedAt));
+    }
+
+    private List<OrderServiceStatusRollupResponse> getStatusRollups(OrderServiceStatusRollup.Granularity granularity,
+                                                                   LocalDateTime from, LocalDateTime to) {
+        return statusRollupRepository.findBuckets(granularity, from, to).stream()
+                .map(rollup -> new OrderServiceStatusRollupResponse(
+                        rollup.getId().getBucketStart(),
+                        rollup.getId().getStatus(),
+                        rollup.getEntered(),
+                        rollup.getExited(),
+                        rollup.getDwellCount() == 0 ? null : rollup.getDwellTotalSeconds() / rollup.getDwellCount(),
+                        rollup.getDwellCount() == 0 ? null : rollup.getDwellMaxSeconds()))
+                .toList();
+    }
+
+    private static Integer toInt(Long value) {
+        return value == null ? 0 : Math.toIntExact(value);
+    }
+
+    private Function<OrderServiceCreateDTO, OrderService> orderServiceMapper(List<OrderServiceCreateDTO> rows) {
+        Set<String> clients = clientService.findExistingIds(
+                rows.stream().map(OrderServiceCreateDTO::clientId).collect(Collectors.toSet()));
+        Set<String> smartphones = smartphoneService.findExistingIds(
+                rows.stream().map(OrderServiceCreateDTO::smartphoneId).collect(Collectors.toSet()));
+        Set<String> budgets = budgetService.findExistingIds(
+                rows.stream().map(OrderServiceCreateDTO::budgetId).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        return row -> {
+            if (!clients.contains(row.clientId())) {
+                throw new InvalidClientIdException("Client not found");
+            }
+            if (!smartphones.contains(row.smartphoneId())) {
+                throw new InvalidSmartphoneIdException("Smartphone not found");
+            }
+            if (row.budgetId() != null && !budgets.contains(row.budgetId())) {
+                throw new InvalidBudgetIdException("Budget not found");
+            }
+
+            OrderService orderService = new OrderService();
+            orderService.setClientId(bulkImporter.reference(Client.class, row.clientId()));
+            orderService.setSmartphoneId(bulkImporter.reference(Smartphone.class, row.smartphoneId()));
+            orderService.setBudgetId(row.budgetId() == null ? null : bulkImporter.reference(Budget.class, row.budgetId()));
+            orderService.setStatus(row.status() == null ? Status.OPEN : getStatusOrThrow(row.status()));
+            orderService.setCreatedAt(new Date());
+            orderService.setUpdatedAt(orderService.getCreatedAt());
+            return orderService;
+        };
+    }
+
+    /**
+     * Saves an order service whose client, smartphone and budget are unloaded references and flushes, so a
+     * reference to a row that does not exist surfaces here as the matching not-found exception.
+     */
+    private OrderService saveWithReferences(OrderService orderService) {
+        try {
+            return orderServiceRepository.saveAndFlush(orderService);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new InvalidOrderServiceVersionException("Order service was modified concurrently");
+        } catch (DataIntegrityViolationException e) {
+            String constraintName = e.getCause() instanceof ConstraintViolationException violation
+                    ? violation.getConstraintName()
+                    : null;
+            if (constraintName == null) {
+                throw e;
+            }
+            if (constraintName.equalsIgnoreCase(OrderService.CLIENT_FOREIGN_KEY)) {
+                throw new InvalidClientIdException("Client not found");
+            }
+            if (constraintName.equalsIgnoreCase(OrderService.SMARTPHONE_FOREIGN_KEY)) {
+                throw new InvalidSmartphoneIdException("Smartphone not found");
+            }
+            if (constraintName.equalsIgnoreCase(OrderService.BUDGET_FOREIGN_KEY)) {
+                throw new InvalidBudgetIdException("Budget not found");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a saved order service back through {@link OrderService#DETAILS_GRAPH} in one select, so the response
+     * carries the client, smartphone and budget instead of the bare references the write path set.
+     */
+    private OrderService reloadDetails(OrderService orderService) {
+        entityManager.detach(orderService);
+        return orderServiceRepository.findById(String.valueOf(orderService.getId()))
+                .orElseThrow(() -> new InvalidOrderServiceIdException("Order Service not found"));
+    }
+
+    private static Integer parseOrderServiceId(String orderServiceId) {
+        try {
+            return Integer.valueOf(orderServiceId);
+        } catch (NumberFormatException e) {
+            throw new InvalidOrderServiceIdException("Order service not found");
+        }
+    }
+
     private Status getStatusOrThrow(String status) {
         try {
             return Status.valueOf(status);
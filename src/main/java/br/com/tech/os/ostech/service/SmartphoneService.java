@@ -1,14 +1,24 @@
 package br.com.tech.os.ostech.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.Date;
-import java.util.UUID;
+import java.util.Set;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import br.com.tech.os.ostech.configuration.CacheConfiguration;
 import br.com.tech.os.ostech.exception.InvalidSmartphoneIdException;
 import br.com.tech.os.ostech.model.Client;
 import br.com.tech.os.ostech.model.Smartphone;
+import br.com.tech.os.ostech.model.dto.bulkImportDTO.BulkImportResponse;
 import br.com.tech.os.ostech.model.dto.smartphoneDTO.SmartphoneCreateDTO;
 import br.com.tech.os.ostech.model.dto.smartphoneDTO.SmartphoneUpdateDTO;
 import br.com.tech.os.ostech.repository.SmartphoneRepository;
+import br.com.tech.os.ostech.service.components.BulkImporter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,21 +28,29 @@ import lombok.extern.slf4j.Slf4j;
 public class SmartphoneService {
 
     private final SmartphoneRepository smartphoneRepository;
+    private final BulkImporter bulkImporter;
 
     public Smartphone createSmartphone(SmartphoneCreateDTO smartphoneCreateDTO) {
         log.info("Creating smartphone with model: {}", smartphoneCreateDTO.model());
-        Smartphone smartphone = new Smartphone();
-        smartphone.setModel(smartphoneCreateDTO.model());
-        smartphone.setProblem(smartphoneCreateDTO.problem());
-        smartphone.setObservation(smartphoneCreateDTO.observation());
-        smartphone.setSerial(smartphoneCreateDTO.serial());
-        smartphone.setId(UUID.randomUUID().toString());
-        smartphone.setCreatedAt(new Date());
-        smartphone.setUpdatedAt(new Date());
+        Smartphone smartphone = toSmartphone(smartphoneCreateDTO);
 
         return smartphoneRepository.save(smartphone);
     }
 
+    public BulkImportResponse importSmartphones(InputStream body, MediaType contentType) throws IOException {
+        log.info("Importing smartphones from {}", contentType);
+        return bulkImporter.importRows(body, contentType, SmartphoneCreateDTO.class,
+                rows -> this::toSmartphone, smartphone -> { });
+    }
+
+    public Set<String> findExistingIds(Collection<String> ids) {
+        return ids.isEmpty() ? Set.of() : smartphoneRepository.findExistingIds(ids);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.SMARTPHONES, key = "#smartphoneId", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfiguration.SMARTPHONES, key = "#smartphoneId")
+    })
     public Smartphone updateSmartphone(String smartphoneId, SmartphoneUpdateDTO smartphoneUpdateDTO) {
         log.info("Updating smartphone with ID: {}", smartphoneId);
         Smartphone smartphone = smartphoneRepository.findById(smartphoneId)
@@ -49,6 +67,10 @@ public class SmartphoneService {
         return smartphoneRepository.save(smartphone);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.SMARTPHONES, beforeInvocation = true),
+            @CacheEvict(CacheConfiguration.SMARTPHONES)
+    })
     public void deleteSmartphone(String smartphoneId) {
         log.info("Deleting smartphone with ID: {}", smartphoneId);
         Smartphone smartphone = smartphoneRepository.findById(smartphoneId)
@@ -57,10 +79,29 @@ public class SmartphoneService {
         log.info("Deleted smartphone with ID: {}", smartphoneId);
     }
 
+    @Cacheable(CacheConfiguration.SMARTPHONES)
     public Smartphone getSmartphoneById(String smartphoneId) {
         log.info("Fetching smartphone with ID: {}", smartphoneId);
         return smartphoneRepository.findById(smartphoneId)
                 .orElseThrow(() -> new InvalidSmartphoneIdException("Smartphone not found"));
     }
 
+    public Smartphone getSmartphoneReference(String smartphoneId) {
+        if (smartphoneId == null) {
+            throw new InvalidSmartphoneIdException("Smartphone not found");
+        }
+        return smartphoneRepository.getReferenceById(smartphoneId);
+    }
+
+    private Smartphone toSmartphone(SmartphoneCreateDTO smartphoneCreateDTO) {
+        Smartphone smartphone = new Smartphone();
+        smartphone.setModel(smartphoneCreateDTO.model());
+        smartphone.setProblem(smartphoneCreateDTO.problem());
+        smartphone.setObservation(smartphoneCreateDTO.observation());
+        smartphone.setSerial(smartphoneCreateDTO.serial());
+        smartphone.setCreatedAt(new Date());
+        smartphone.setUpdatedAt(smartphone.getCreatedAt());
+        return smartphone;
+    }
+
 }
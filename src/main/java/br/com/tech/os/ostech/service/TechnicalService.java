@@ -1,5 +1,6 @@
 package br.com.tech.os.ostech.service;
 
+import br.com.tech.os.ostech.configuration.CacheConfiguration;
 import br.com.tech.os.ostech.exception.InvalidNameTechnicalAlreadyExistsException;
 import br.com.tech.os.ostech.exception.InvalidTechnicalIdException;
 import br.com.tech.os.ostech.model.Technical;
@@ -8,10 +9,12 @@ import br.com.tech.os.ostech.model.dto.technicalDTO.TechnicalUpdateDTO;
 import br.com.tech.os.ostech.repository.TechnicalRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -28,12 +31,15 @@ public class TechnicalService {
 
         Technical technical = new Technical();
         technical.setName(technicalCreateDTO.name());
-        technical.setId(UUID.randomUUID().toString());
         log.info("Creating technical {}", technical);
 
         return technicalRepository.save(technical);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.BUDGETS, allEntries = true, beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfiguration.BUDGETS, allEntries = true)
+    })
     public Technical updateTechnical(String id, TechnicalUpdateDTO technicalUpdateDTO) {
         if(!technicalRepository.existsById(id)) {
             log.error("Technical with id {} not found", id);
@@ -50,6 +56,10 @@ public class TechnicalService {
         return technicalRepository.save(technical);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.BUDGETS, allEntries = true, beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfiguration.BUDGETS, allEntries = true)
+    })
     public void deleteTechnical(String id) {
         if(!technicalRepository.existsById(id)) {
             log.error("Technical with id {} not found", id);
@@ -64,6 +74,10 @@ public class TechnicalService {
         return technicalRepository.findById(id).orElseThrow(() -> new InvalidTechnicalIdException("Technical not found"));
     }
 
+    public Optional<Technical> findTechnicalById(String id) {
+        return technicalRepository.findById(id);
+    }
+
     public List<Technical> getAllTechnicals() {
         log.info("Getting all technicals");
         return technicalRepository.findAll();
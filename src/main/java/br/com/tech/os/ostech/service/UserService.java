@@ -5,13 +5,14 @@ import br.com.tech.os.ostech.exception.InvalidUserIdException;
 import br.com.tech.os.ostech.model.User;
 import br.com.tech.os.ostech.model.dto.userDTO.UserCreateDTO;
 import br.com.tech.os.ostech.model.dto.userDTO.UserUpdateDTO;
+import br.com.tech.os.ostech.model.event.UserChangedEvent;
 import br.com.tech.os.ostech.repository.UserRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
 
 @Slf4j
 @Service
@@ -19,21 +20,22 @@ import java.util.UUID;
 public class UserService {
 
     private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private PasswordEncoder passwordEncoder;
 
     public User createUser(UserCreateDTO userCreateDTO) {
 
-        String encryptedPassword = new BCryptPasswordEncoder().encode(userCreateDTO.password());
-
         if (userRepository.existsByEmail(userCreateDTO.email())) {
             log.error("User with email {} already exists", userCreateDTO.email());
             throw new InvalidUserEmailAlreadyExistsException("User already exists");
         }
 
+        String encryptedPassword = passwordEncoder.encode(userCreateDTO.password());
+
         User user = new User();
         user.setName(userCreateDTO.name());
         user.setEmail(userCreateDTO.email());
         user.setPassword(encryptedPassword);
-        user.setId(String.valueOf(UUID.randomUUID()));
 
         log.info("Creating user {}", user);
         return userRepository.save(user);
@@ -48,14 +50,17 @@ public class UserService {
             throw new InvalidUserEmailAlreadyExistsException("User with this email already exists");
         }
 
-        String encryptedPassword = new BCryptPasswordEncoder().encode(userUpdateDTO.password());
+        String encryptedPassword = passwordEncoder.encode(userUpdateDTO.password());
+        String previousEmail = user.getEmail();
 
         user.setName(userUpdateDTO.name());
         user.setEmail(userUpdateDTO.email());
         user.setPassword(encryptedPassword);
 
         log.info("Updating user {}", user);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id, previousEmail));
+        return savedUser;
     }
 
     public User getUserById(String id) {
@@ -70,6 +75,7 @@ public class UserService {
         }
         log.info("Deleting user with id {}", id);
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id, null));
     }
 
 
@@ -0,0 +1,261 @@
+package br.com.tech.os.ostech.service.components;
+
+import br.com.tech.os.ostech.model.dto.bulkImportDTO.BulkImportError;
+import br.com.tech.os.ostech.model.dto.bulkImportDTO.BulkImportResponse;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Streams a JSON array or a CSV file (with a header row) into the database in batches. Each batch runs in
+ * its own transaction and is written with JDBC batching; when the database rejects a batch, its rows are
+ * retried one by one so that only the offending rows end up in the error report.
+ */
+@Slf4j
+@Component
+public class BulkImporter {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public BulkImporter(ObjectMapper objectMapper,
+                        EntityManager entityManager,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${api.bulk-import.batch-size:500}") int batchSize,
+                        @Value("${api.bulk-import.max-errors:1000}") int maxErrors) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * @param mapperForBatch called inside each batch transaction with the rows of the batch, so references
+     *                       can be resolved once per batch; the returned mapper throws to reject a row
+     * @param onPersisted    called inside the batch transaction for every entity that was persisted
+     */
+    public <R, E> BulkImportResponse importRows(InputStream body, MediaType contentType, Class<R> rowType,
+                                                Function<List<R>, Function<R, E>> mapperForBatch,
+                                                Consumer<E> onPersisted) throws IOException {
+        Report report = new Report(maxErrors);
+        List<Row<R>> batch = new ArrayList<>(batchSize);
+
+        try (RowReader reader = open(body, contentType)) {
+            while (reader.hasNext()) {
+                JsonNode node = reader.next();
+                long row = ++report.received;
+                try {
+                    batch.add(new Row<>(row, objectMapper.treeToValue(node, rowType)));
+                } catch (JsonMappingException e) {
+                    report.reject(row, messageOf(e));
+                }
+                if (batch.size() == batchSize) {
+                    persist(batch, mapperForBatch, onPersisted, report);
+                    batch.clear();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (!isMalformedInput(e)) {
+                throw e;
+            }
+            report.reject(report.received + 1, "Malformed input: " + messageOf(e));
+        }
+        persist(batch, mapperForBatch, onPersisted, report);
+
+        log.info("Bulk import of {} finished: {} received, {} imported, {} failed",
+                rowType.getSimpleName(), report.received, report.imported, report.failed);
+        return new BulkImportResponse(report.received, report.imported, report.failed, report.errors);
+    }
+
+    /**
+     * Proxy for an entity already known to exist, so a row can point at it without loading it.
+     */
+    public <T> T reference(Class<T> type, Object id) {
+        return entityManager.getReference(type, id);
+    }
+
+    private <R, E> void persist(List<Row<R>> rows, Function<List<R>, Function<R, E>> mapperForBatch,
+                                Consumer<E> onPersisted, Report report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<BulkImportError> rejected = new ArrayList<>();
+        try {
+            Integer persisted = transactionTemplate.execute(status -> {
+                Function<R, E> mapper = mapperForBatch.apply(rows.stream().map(Row::value).toList());
+                int count = 0;
+                for (Row<R> row : rows) {
+                    E entity;
+                    try {
+                        entity = mapper.apply(row.value());
+                    } catch (RuntimeException e) {
+                        rejected.add(new BulkImportError(row.number(), messageOf(e)));
+                        continue;
+                    }
+                    entityManager.persist(entity);
+                    onPersisted.accept(entity);
+                    count++;
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return count;
+            });
+            report.imported += persisted == null ? 0 : persisted;
+            rejected.forEach(error -> report.reject(error.row(), error.message()));
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                report.reject(rows.get(0).number(), messageOf(e));
+                return;
+            }
+            log.warn("Bulk import batch of {} rows rejected by the database, retrying row by row", rows.size());
+            for (Row<R> row : rows) {
+                persist(List.of(row), mapperForBatch, onPersisted, report);
+            }
+        }
+    }
+
+    private RowReader open(InputStream body, MediaType contentType) throws IOException {
+        if (contentType != null && TEXT_CSV.isCompatibleWith(contentType)) {
+            CsvSchema schema = CsvSchema.emptySchema().withHeader().withNullValue("");
+            MappingIterator<JsonNode> iterator = csvMapper.readerFor(JsonNode.class).with(schema).readValues(body);
+            return new RowReader() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public JsonNode next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    iterator.close();
+                }
+            };
+        }
+
+        JsonParser parser = objectMapper.getFactory().createParser(body);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new JsonParseException(parser, "Bulk import body must be a JSON array");
+        }
+        return new RowReader() {
+            private JsonToken token;
+
+            @Override
+            public boolean hasNext() throws IOException {
+                if (token == null) {
+                    token = parser.nextToken();
+                }
+                return token != null && token != JsonToken.END_ARRAY;
+            }
+
+            @Override
+            public JsonNode next() throws IOException {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                token = null;
+                return parser.readValueAsTree();
+            }
+
+            @Override
+            public void close() throws IOException {
+                parser.close();
+            }
+        };
+    }
+
+    private static boolean isMalformedInput(Exception e) {
+        return e instanceof JacksonException
+                || e.getCause() instanceof JacksonException;
+    }
+
+    private static String messageOf(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName() == null
+                        ? "Row violates a database constraint"
+                        : "Row violates database constraint " + violation.getConstraintName();
+            }
+        }
+        if (e instanceof JsonMappingException mapping) {
+            return mapping.getCause() != null ? mapping.getCause().getMessage() : mapping.getOriginalMessage();
+        }
+        if (e instanceof JacksonException jackson) {
+            return jackson.getOriginalMessage();
+        }
+        if (e.getCause() instanceof JacksonException jackson) {
+            return jackson.getOriginalMessage();
+        }
+        return e.getMessage();
+    }
+
+    private interface RowReader extends AutoCloseable {
+
+        boolean hasNext() throws IOException;
+
+        JsonNode next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+
+    }
+
+    private record Row<R>(long number, R value) {
+    }
+
+    private static final class Report {
+
+        private final int maxErrors;
+        private final List<BulkImportError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void reject(long row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkImportError(row, message));
+            }
+        }
+
+    }
+
+}
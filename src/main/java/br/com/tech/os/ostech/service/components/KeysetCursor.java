@@ -0,0 +1,47 @@
+package br.com.tech.os.ostech.service.components;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+public final class KeysetCursor {
+
+    public static final String CREATED_AT = "createdAt";
+    public static final String ID = "id";
+    public static final Sort SORT = Sort.by(Sort.Order.desc(CREATED_AT), Sort.Order.desc(ID));
+
+    private static final char SEPARATOR = ':';
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(Date createdAt, Object id) {
+        String raw = createdAt.getTime() + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetScrollPosition decode(String cursor, Function<String, ?> idParser,
+                                              Function<String, ? extends RuntimeException> invalidCursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(CREATED_AT, new Date(Long.parseLong(raw.substring(0, separator))));
+            keys.put(ID, idParser.apply(raw.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw invalidCursor.apply("Cursor is invalid");
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package br.com.tech.os.ostech.service.components;
+
+import br.com.tech.os.ostech.enums.ResponseView;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ResponseViewConverter implements Converter<String, ResponseView> {
+
+    @Override
+    public ResponseView convert(@NonNull String source) {
+        return ResponseView.fromValue(source);
+    }
+}
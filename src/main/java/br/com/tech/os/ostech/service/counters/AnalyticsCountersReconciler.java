@@ -0,0 +1,85 @@
+package br.com.tech.os.ostech.service.counters;
+
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceStatusCount;
+import br.com.tech.os.ostech.repository.ClientRepository;
+import br.com.tech.os.ostech.repository.OrderServiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalyticsCountersReconciler {
+
+    static final int BUCKET_WINDOW_DAYS = 40;
+
+    private final OrderServiceRepository orderServiceRepository;
+    private final ClientRepository clientRepository;
+    private final OrderServiceCounters orderServiceCounters;
+    private final ClientCounters clientCounters;
+
+    /**
+     * Rebuilds both counters from one repeatable-read snapshot. Updates that commit while the queries run are replayed
+     * on top of the rebuilt counters (see {@link ReconciledCounters}); only a transaction that commits in the instant
+     * between {@code beginRebuild} and the snapshot is counted twice, until the next run.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${analytics.counters.reconcile-interval-ms:900000}")
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void reconcile() {
+        orderServiceCounters.beginRebuild();
+        clientCounters.beginRebuild();
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            orderServiceCounters.cancelRebuild();
+            clientCounters.cancelRebuild();
+            throw e;
+        }
+    }
+
+    private void rebuild() {
+        Date since = CounterUpdates.startOf(LocalDate.now(CounterUpdates.ZONE).minusDays(BUCKET_WINDOW_DAYS));
+
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        long totalOrders = 0;
+        for (OrderServiceStatusCount statusCount : orderServiceRepository.countGroupedByStatus()) {
+            totalOrders += statusCount.getTotal();
+            if (statusCount.getStatus() != null) {
+                byStatus.put(statusCount.getStatus(), statusCount.getTotal());
+            }
+        }
+        orderServiceCounters.reset(byStatus, totalOrders, orderServiceRepository.countByDepartureDateIsNotNull(),
+                byDay(orderServiceRepository.findCreatedAtSince(since)),
+                byDay(orderServiceRepository.findDepartureDatesSince(since)));
+
+        long totalClients = clientRepository.count();
+        clientCounters.reset(totalClients, byDay(clientRepository.findCreatedAtSince(since)));
+
+        log.info("Analytics counters reconciled: {} orders, {} clients", totalOrders, totalClients);
+    }
+
+    /**
+     * Cuts the timestamps into days with the same {@link CounterUpdates#dayOf(Date)} the live updates use, rather
+     * than grouping on a database cast that would follow the zone the rows were written in.
+     */
+    private static Map<LocalDate, Long> byDay(List<Date> timestamps) {
+        Map<LocalDate, Long> buckets = new HashMap<>();
+        for (Date timestamp : timestamps) {
+            buckets.merge(CounterUpdates.dayOf(timestamp), 1L, Long::sum);
+        }
+        return buckets;
+    }
+
+}
@@ -0,0 +1,69 @@
+package br.com.tech.os.ostech.service.counters;
+
+import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.model.dto.clientDTO.ClientAnalyticsResponse;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static br.com.tech.os.ostech.service.counters.CounterUpdates.dayOf;
+
+@Component
+public class ClientCounters {
+
+    private final ReconciledCounters<Counters> counters = new ReconciledCounters<>(new Counters());
+
+    public boolean isReady() {
+        return counters.isReady();
+    }
+
+    public void recordCreated(Client client) {
+        LocalDate entryDay = dayOf(client.getCreatedAt());
+        CounterUpdates.afterCommit(() -> counters.update(current -> current.apply(1, entryDay)));
+    }
+
+    public void recordDeleted(Client client) {
+        LocalDate entryDay = dayOf(client.getCreatedAt());
+        CounterUpdates.afterCommit(() -> counters.update(current -> current.apply(-1, entryDay)));
+    }
+
+    public void beginRebuild() {
+        counters.beginRebuild();
+    }
+
+    public void cancelRebuild() {
+        counters.cancelRebuild();
+    }
+
+    public void reset(long total, Map<LocalDate, Long> entriesByDay) {
+        Counters rebuilt = new Counters();
+        rebuilt.total.add(total);
+        entriesByDay.forEach(rebuilt.entries::add);
+        counters.replace(rebuilt);
+    }
+
+    public ClientAnalyticsResponse analytics(LocalDate lastMonth, LocalDate lastWeek, LocalDate last24Hours) {
+        Counters current = counters.current();
+        ClientAnalyticsResponse clientAnalytics = new ClientAnalyticsResponse();
+        clientAnalytics.setTotalClients(Math.toIntExact(current.total.sum()));
+        clientAnalytics.setLastMonthClients(Math.toIntExact(current.entries.sumSince(lastMonth)));
+        clientAnalytics.setLastWeekClients(Math.toIntExact(current.entries.sumSince(lastWeek)));
+        clientAnalytics.setLast24HoursClients(Math.toIntExact(current.entries.sumSince(last24Hours)));
+        return clientAnalytics;
+    }
+
+    private static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+        private final DailyBuckets entries = new DailyBuckets();
+
+        private void apply(long delta, LocalDate entryDay) {
+            total.add(delta);
+            entries.add(entryDay, delta);
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package br.com.tech.os.ostech.service.counters;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+public final class CounterUpdates {
+
+    /**
+     * The zone every analytics day is cut in: the live counters, the reconcile and the database fallback all turn
+     * instants into days here, never in the JVM or database session zone.
+     */
+    public static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+
+    private CounterUpdates() {
+    }
+
+    public static LocalDate dayOf(Date date) {
+        return date == null ? null : date.toInstant().atZone(ZONE).toLocalDate();
+    }
+
+    public static Date startOf(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZONE).toInstant());
+    }
+
+    static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,34 @@
+package br.com.tech.os.ostech.service.counters;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+final class DailyBuckets {
+
+    private final Map<LocalDate, LongAdder> buckets = new ConcurrentHashMap<>();
+
+    void add(LocalDate day, long delta) {
+        if (day == null) {
+            return;
+        }
+        buckets.computeIfAbsent(day, key -> new LongAdder()).add(delta);
+    }
+
+    long get(LocalDate day) {
+        LongAdder bucket = buckets.get(day);
+        return bucket == null ? 0 : bucket.sum();
+    }
+
+    long sumSince(LocalDate from) {
+        long total = 0;
+        for (Map.Entry<LocalDate, LongAdder> entry : buckets.entrySet()) {
+            if (!entry.getKey().isBefore(from)) {
+                total += entry.getValue().sum();
+            }
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,189 @@
+package br.com.tech.os.ostech.service.counters;
+
+import br.com.tech.os.ostech.model.OrderService;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceAnalyticsAggregate;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import static br.com.tech.os.ostech.service.counters.CounterUpdates.dayOf;
+
+@Component
+public class OrderServiceCounters {
+
+    private final ReconciledCounters<Counters> counters = new ReconciledCounters<>(new Counters());
+
+    public boolean isReady() {
+        return counters.isReady();
+    }
+
+    public void recordCreated(OrderService orderService) {
+        Status status = orderService.getStatus();
+        LocalDate entryDay = dayOf(orderService.getCreatedAt());
+        LocalDate exitDay = dayOf(orderService.getDepartureDate());
+        CounterUpdates.afterCommit(() -> counters.update(current -> current.apply(1, status, entryDay, exitDay)));
+    }
+
+    public void recordUpdated(Status previousStatus, Date previousDepartureDate, OrderService orderService) {
+        Status status = orderService.getStatus();
+        LocalDate previousExitDay = dayOf(previousDepartureDate);
+        LocalDate exitDay = dayOf(orderService.getDepartureDate());
+        if (previousStatus == status && Objects.equals(previousExitDay, exitDay)) {
+            return;
+        }
+        CounterUpdates.afterCommit(() -> counters.update(current -> current.move(previousStatus, status, previousExitDay, exitDay)));
+    }
+
+    public void recordStatusChanged(Status previousStatus, Status status) {
+        if (previousStatus == status) {
+            return;
+        }
+        CounterUpdates.afterCommit(() -> counters.update(current -> current.move(previousStatus, status, null, null)));
+    }
+
+    public void recordDeleted(OrderService orderService) {
+        Status status = orderService.getStatus();
+        LocalDate entryDay = dayOf(orderService.getCreatedAt());
+        LocalDate exitDay = dayOf(orderService.getDepartureDate());
+        CounterUpdates.afterCommit(() -> counters.update(current -> current.apply(-1, status, entryDay, exitDay)));
+    }
+
+    public void beginRebuild() {
+        counters.beginRebuild();
+    }
+
+    public void cancelRebuild() {
+        counters.cancelRebuild();
+    }
+
+    public void reset(Map<Status, Long> byStatus, long total, long exits,
+                      Map<LocalDate, Long> entriesByDay, Map<LocalDate, Long> exitsByDay) {
+        Counters rebuilt = new Counters();
+        rebuilt.total.add(total);
+        rebuilt.exits.add(exits);
+        byStatus.forEach((status, count) -> rebuilt.byStatus.get(status).add(count));
+        entriesByDay.forEach(rebuilt.entries::add);
+        exitsByDay.forEach(rebuilt.exitsByDay::add);
+        counters.replace(rebuilt);
+    }
+
+    public Map<Status, Long> countsByStatus() {
+        Map<Status, Long> result = new EnumMap<>(Status.class);
+        counters.current().byStatus.forEach((status, count) -> result.put(status, count.sum()));
+        return result;
+    }
+
+    public OrderServiceAnalyticsAggregate aggregate(LocalDate lastMonth, LocalDate lastWeek,
+                                                    LocalDate last24Hours, LocalDate weekStart) {
+        Counters current = counters.current();
+        DailyBuckets entries = current.entries;
+        DailyBuckets exits = current.exitsByDay;
+        return Aggregate.builder()
+                .totalOrders(current.total.sum())
+                .lastMonthOrders(entries.sumSince(lastMonth))
+                .lastWeekOrders(entries.sumSince(lastWeek))
+                .last24HoursOrders(entries.sumSince(last24Hours))
+                .exitOrders(current.exits.sum())
+                .exitOrdersLastMonth(exits.sumSince(lastMonth))
+                .exitOrdersLastWeek(exits.sumSince(lastWeek))
+                .exitOrdersLast24Hours(exits.sumSince(last24Hours))
+                .entrySunday(entries.get(weekStart))
+                .entryMonday(entries.get(weekStart.plusDays(1)))
+                .entryTuesday(entries.get(weekStart.plusDays(2)))
+                .entryWednesday(entries.get(weekStart.plusDays(3)))
+                .entryThursday(entries.get(weekStart.plusDays(4)))
+                .entryFriday(entries.get(weekStart.plusDays(5)))
+                .entrySaturday(entries.get(weekStart.plusDays(6)))
+                .exitSunday(exits.get(weekStart))
+                .exitMonday(exits.get(weekStart.plusDays(1)))
+                .exitTuesday(exits.get(weekStart.plusDays(2)))
+                .exitWednesday(exits.get(weekStart.plusDays(3)))
+                .exitThursday(exits.get(weekStart.plusDays(4)))
+                .exitFriday(exits.get(weekStart.plusDays(5)))
+                .exitSaturday(exits.get(weekStart.plusDays(6)))
+                .build();
+    }
+
+    private static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder exits = new LongAdder();
+        private final Map<Status, LongAdder> byStatus = new EnumMap<>(Status.class);
+        private final DailyBuckets entries = new DailyBuckets();
+        private final DailyBuckets exitsByDay = new DailyBuckets();
+
+        private Counters() {
+            for (Status status : Status.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+        }
+
+        private void apply(long delta, Status status, LocalDate entryDay, LocalDate exitDay) {
+            total.add(delta);
+            entries.add(entryDay, delta);
+            addStatus(status, delta);
+            addExit(exitDay, delta);
+        }
+
+        private void move(Status fromStatus, Status toStatus, LocalDate fromExitDay, LocalDate toExitDay) {
+            addStatus(fromStatus, -1);
+            addStatus(toStatus, 1);
+            addExit(fromExitDay, -1);
+            addExit(toExitDay, 1);
+        }
+
+        private void addStatus(Status status, long delta) {
+            if (status != null) {
+                byStatus.get(status).add(delta);
+            }
+        }
+
+        private void addExit(LocalDate exitDay, long delta) {
+            if (exitDay != null) {
+                exits.add(delta);
+                exitsByDay.add(exitDay, delta);
+            }
+        }
+
+    }
+
+    @Value
+    @Builder
+    private static class Aggregate implements OrderServiceAnalyticsAggregate {
+
+        Long totalOrders;
+        Long lastMonthOrders;
+        Long lastWeekOrders;
+        Long last24HoursOrders;
+        Long exitOrders;
+        Long exitOrdersLastMonth;
+        Long exitOrdersLastWeek;
+        Long exitOrdersLast24Hours;
+
+        Long entrySunday;
+        Long entryMonday;
+        Long entryTuesday;
+        Long entryWednesday;
+        Long entryThursday;
+        Long entryFriday;
+        Long entrySaturday;
+
+        Long exitSunday;
+        Long exitMonday;
+        Long exitTuesday;
+        Long exitWednesday;
+        Long exitThursday;
+        Long exitFriday;
+        Long exitSaturday;
+
+    }
+
+}
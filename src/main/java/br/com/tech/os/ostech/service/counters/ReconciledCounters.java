@@ -0,0 +1,72 @@
+package br.com.tech.os.ostech.service.counters;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * The live counters of one kind, swapped for the ones {@link AnalyticsCountersReconciler} rebuilds from the database.
+ * Between {@link #beginRebuild()} and {@link #replace(Object)} every update is also logged, and the log is replayed on
+ * the rebuilt counters before they go live, so an update committed while the reconcile queries run is not lost.
+ */
+final class ReconciledCounters<C> {
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile C current;
+    private volatile Queue<Consumer<C>> rebuildLog;
+    private volatile boolean ready;
+
+    ReconciledCounters(C initial) {
+        this.current = initial;
+    }
+
+    C current() {
+        return current;
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    void update(Consumer<C> change) {
+        Lock lock = swapLock.readLock();
+        lock.lock();
+        try {
+            change.accept(current);
+            Queue<Consumer<C>> log = rebuildLog;
+            if (log != null) {
+                log.add(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void beginRebuild() {
+        rebuildLog = new ConcurrentLinkedQueue<>();
+    }
+
+    void cancelRebuild() {
+        rebuildLog = null;
+    }
+
+    void replace(C rebuilt) {
+        Lock lock = swapLock.writeLock();
+        lock.lock();
+        try {
+            Queue<Consumer<C>> log = rebuildLog;
+            rebuildLog = null;
+            if (log != null) {
+                log.forEach(change -> change.accept(rebuilt));
+            }
+            current = rebuilt;
+            ready = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
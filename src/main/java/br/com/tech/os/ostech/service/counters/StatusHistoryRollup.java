@@ -0,0 +1,160 @@
+package br.com.tech.os.ostech.service.counters;
+
+import br.com.tech.os.ostech.model.OrderServiceStatusRollup;
+import br.com.tech.os.ostech.model.OrderServiceStatusRollup.Granularity;
+import br.com.tech.os.ostech.model.OrderServiceStatusRollupId;
+import br.com.tech.os.ostech.model.OrderServiceStatusRollupWatermark;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.model.dto.analyticsDTO.StatusChangeDwell;
+import br.com.tech.os.ostech.repository.OrderServiceStatusChangeRepository;
+import br.com.tech.os.ostech.repository.OrderServiceStatusRollupRepository;
+import br.com.tech.os.ostech.repository.OrderServiceStatusRollupWatermarkRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the hourly and daily status rollups from the status change log. Each run recomputes every hour
+ * from the previous run minus {@code late-arrival} up to now, one day per transaction, and then the daily rows of
+ * the days it touched, so changes committed after the run that should have counted them are picked up by the next.
+ * Where the previous run stopped is kept in the database, and every transaction locks that watermark row first, so
+ * replicas running the same schedule take turns on each day instead of rewriting its buckets concurrently.
+ */
+@Slf4j
+@Component
+public class StatusHistoryRollup {
+
+    static final String WATERMARK = "status-history";
+
+    private final OrderServiceStatusChangeRepository statusChangeRepository;
+    private final OrderServiceStatusRollupRepository statusRollupRepository;
+    private final OrderServiceStatusRollupWatermarkRepository watermarkRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lateArrival;
+
+    public StatusHistoryRollup(OrderServiceStatusChangeRepository statusChangeRepository,
+                               OrderServiceStatusRollupRepository statusRollupRepository,
+                               OrderServiceStatusRollupWatermarkRepository watermarkRepository,
+                               EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${analytics.status-history.late-arrival:15m}") Duration lateArrival) {
+        this.statusChangeRepository = statusChangeRepository;
+        this.statusRollupRepository = statusRollupRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lateArrival = lateArrival;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${analytics.status-history.rollup-interval-ms:300000}")
+    public void rollUp() {
+        LocalDateTime now = LocalDateTime.now(CounterUpdates.ZONE);
+        LocalDateTime from = recomputeFrom();
+        if (from != null) {
+            rollUp(from, now);
+        }
+    }
+
+    void rollUp(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        int days = 0;
+        while (start.isBefore(end)) {
+            LocalDateTime nextDay = start.toLocalDate().plusDays(1).atStartOfDay();
+            LocalDateTime segmentStart = start;
+            LocalDateTime segmentEnd = nextDay.isBefore(end) ? nextDay : end;
+            LocalDateTime reached = segmentEnd.isAfter(to) ? to : segmentEnd;
+            transactionTemplate.executeWithoutResult(status -> {
+                lockWatermark();
+                rollUpHours(segmentStart, segmentEnd);
+                rollUpDay(segmentStart.toLocalDate());
+                watermarkRepository.advance(WATERMARK, reached);
+            });
+            start = segmentEnd;
+            days++;
+        }
+        log.info("Status history rolled up from {} to {} ({} days)", from, to, days);
+    }
+
+    private LocalDateTime recomputeFrom() {
+        LocalDateTime previous = watermarkRepository.findById(WATERMARK)
+                .map(OrderServiceStatusRollupWatermark::getRolledUpTo)
+                .or(() -> statusRollupRepository.findLatestBucketStart(Granularity.HOUR))
+                .or(() -> statusChangeRepository.findEarliestChangedAt().map(StatusHistoryRollup::toLocalDateTime))
+                .orElse(null);
+        return previous == null ? null : previous.minus(lateArrival);
+    }
+
+    private void lockWatermark() {
+        if (watermarkRepository.findForUpdate(WATERMARK).isEmpty()) {
+            watermarkRepository.saveAndFlush(new OrderServiceStatusRollupWatermark(WATERMARK));
+        }
+    }
+
+    private void rollUpHours(LocalDateTime from, LocalDateTime to) {
+        Map<OrderServiceStatusRollupId, OrderServiceStatusRollup> buckets = new LinkedHashMap<>();
+        for (StatusChangeDwell change : statusChangeRepository.findChangesWithEntryBetween(toDate(from), toDate(to))) {
+            LocalDateTime hour = toLocalDateTime(change.getChangedAt()).truncatedTo(ChronoUnit.HOURS);
+            OrderServiceStatusRollup entered = bucket(buckets, Granularity.HOUR, hour, change.getToStatus());
+            entered.setEntered(entered.getEntered() + 1);
+            if (change.getFromStatus() != null) {
+                OrderServiceStatusRollup exited = bucket(buckets, Granularity.HOUR, hour, change.getFromStatus());
+                exited.setExited(exited.getExited() + 1);
+                if (change.getEnteredAt() != null) {
+                    long seconds = (change.getChangedAt().getTime() - change.getEnteredAt().getTime()) / 1000;
+                    exited.setDwellCount(exited.getDwellCount() + 1);
+                    exited.setDwellTotalSeconds(exited.getDwellTotalSeconds() + seconds);
+                    exited.setDwellMaxSeconds(Math.max(exited.getDwellMaxSeconds(), seconds));
+                }
+            }
+        }
+        statusRollupRepository.deleteBuckets(Granularity.HOUR, from, to);
+        buckets.values().forEach(entityManager::persist);
+    }
+
+    private void rollUpDay(LocalDate day) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        Map<OrderServiceStatusRollupId, OrderServiceStatusRollup> buckets = new LinkedHashMap<>();
+        List<OrderServiceStatusRollup> hours = statusRollupRepository.findBuckets(Granularity.HOUR, dayStart, dayEnd);
+        for (OrderServiceStatusRollup hour : hours) {
+            OrderServiceStatusRollup total = bucket(buckets, Granularity.DAY, dayStart, hour.getId().getStatus());
+            total.setEntered(total.getEntered() + hour.getEntered());
+            total.setExited(total.getExited() + hour.getExited());
+            total.setDwellCount(total.getDwellCount() + hour.getDwellCount());
+            total.setDwellTotalSeconds(total.getDwellTotalSeconds() + hour.getDwellTotalSeconds());
+            total.setDwellMaxSeconds(Math.max(total.getDwellMaxSeconds(), hour.getDwellMaxSeconds()));
+        }
+        statusRollupRepository.deleteBuckets(Granularity.DAY, dayStart, dayEnd);
+        buckets.values().forEach(entityManager::persist);
+    }
+
+    private static OrderServiceStatusRollup bucket(Map<OrderServiceStatusRollupId, OrderServiceStatusRollup> buckets,
+                                                   Granularity granularity, LocalDateTime start, Status status) {
+        return buckets.computeIfAbsent(new OrderServiceStatusRollupId(granularity, start, status),
+                OrderServiceStatusRollup::new);
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), CounterUpdates.ZONE);
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(CounterUpdates.ZONE).toInstant());
+    }
+
+}
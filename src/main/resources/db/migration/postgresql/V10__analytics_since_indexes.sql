@@ -0,0 +1,12 @@
+-- The analytics reconciler now reads the timestamps of the last days and cuts them into days in the
+-- application zone, so the CAST(... AS date) expression indexes of V4 are no longer read. Creation
+-- dates are served by the (created_at, id) indexes of V9; departures get a plain partial index.
+-- Built and dropped concurrently; Flyway runs this migration outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_services_departure_date
+    ON order_services (departure_date)
+    WHERE departure_date IS NOT NULL;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_order_services_created_day;
+DROP INDEX CONCURRENTLY IF EXISTS idx_order_services_departure_day;
+DROP INDEX CONCURRENTLY IF EXISTS idx_clients_created_day;
@@ -0,0 +1,12 @@
+-- Token state of each user, shared by every instance. Refresh tokens carry refresh_generation and redeeming one
+-- moves it forward, so a refresh token is accepted once on whichever instance; tokens issued up to
+-- tokens_revoked_at are rejected, compared at millisecond precision.
+CREATE TABLE IF NOT EXISTS user_token_states (
+    user_id uuid NOT NULL PRIMARY KEY,
+    refresh_generation bigint NOT NULL DEFAULT 0,
+    tokens_revoked_at timestamp(3)
+);
+
+INSERT INTO user_token_states (user_id)
+SELECT id FROM users
+ON CONFLICT (user_id) DO NOTHING;
@@ -0,0 +1,68 @@
+-- Schema as generated by Hibernate before the migrations took over. Existing databases are baselined
+-- at this version (spring.flyway.baseline-on-migrate), so this script only runs on empty databases.
+CREATE SEQUENCE order_services_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE technicals (
+    id uuid NOT NULL PRIMARY KEY,
+    name varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6)
+);
+
+CREATE TABLE budgets (
+    id uuid NOT NULL PRIMARY KEY,
+    technical_id uuid REFERENCES technicals,
+    description varchar(255),
+    observation varchar(255),
+    "value" float(53),
+    approved boolean,
+    created_at timestamp(6),
+    updated_at timestamp(6)
+);
+
+CREATE TABLE contacts (
+    id uuid NOT NULL PRIMARY KEY,
+    email varchar(255),
+    phone varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6)
+);
+
+CREATE TABLE clients (
+    id uuid NOT NULL PRIMARY KEY,
+    contact_id uuid UNIQUE REFERENCES contacts,
+    name varchar(255),
+    cpf varchar(255) UNIQUE,
+    created_at timestamp(6),
+    updated_at timestamp(6)
+);
+
+CREATE TABLE smartphones (
+    id uuid NOT NULL PRIMARY KEY,
+    model varchar(255),
+    problem varchar(255),
+    serial varchar(255),
+    observation varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6)
+);
+
+CREATE TABLE order_services (
+    id integer NOT NULL PRIMARY KEY,
+    smartphone_id uuid UNIQUE REFERENCES smartphones,
+    client_id uuid REFERENCES clients,
+    budget_id uuid UNIQUE REFERENCES budgets,
+    departure_date timestamp(6),
+    status varchar(255) CHECK (status IN ('OPEN', 'IN_PROGRESS', 'FINISHED', 'CANCELED', 'BUDGET', 'EQUIPMENT_LEFT')),
+    created_at timestamp(6),
+    updated_at timestamp(6)
+);
+
+CREATE TABLE users (
+    id uuid NOT NULL PRIMARY KEY,
+    name varchar(255),
+    email varchar(255),
+    password varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6)
+);
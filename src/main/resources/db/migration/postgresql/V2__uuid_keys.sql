@@ -0,0 +1,62 @@
+-- Converts the varchar UUID keys of databases created before the keys were mapped as uuid (and every
+-- foreign key column pointing at them) to native uuid. A value that is not a UUID aborts the migration
+-- and leaves the schema untouched. Does nothing on databases created by V1.
+DO $$
+DECLARE
+    key_tables regclass[];
+    alter_statements text[];
+    drop_statements text[];
+    add_statements text[];
+    statement text;
+BEGIN
+    SELECT array_agg(to_regclass(name))
+    INTO key_tables
+    FROM unnest(ARRAY['budgets', 'clients', 'contacts', 'smartphones', 'technicals', 'users']) AS name
+    WHERE to_regclass(name) IS NOT NULL;
+
+    IF key_tables IS NULL THEN
+        RETURN;
+    END IF;
+
+    WITH key_columns AS (
+        SELECT key_table AS table_name, 'id'::name AS column_name
+        FROM unnest(key_tables) AS key_table
+        UNION
+        SELECT con.conrelid::regclass, att.attname
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = ANY (con.conkey)
+        WHERE con.contype = 'f' AND con.confrelid = ANY (key_tables)
+    )
+    SELECT array_agg(format('ALTER TABLE %s %s', table_name, changes))
+    INTO alter_statements
+    FROM (
+        SELECT k.table_name,
+               string_agg(format('ALTER COLUMN %I TYPE uuid USING %I::uuid', k.column_name, k.column_name), ', ') AS changes
+        FROM key_columns k
+        JOIN pg_attribute att ON att.attrelid = k.table_name AND att.attname = k.column_name
+        WHERE att.atttypid = 'character varying'::regtype
+        GROUP BY k.table_name
+    ) AS pending;
+
+    IF alter_statements IS NULL THEN
+        RETURN;
+    END IF;
+
+    SELECT array_agg(format('ALTER TABLE %s DROP CONSTRAINT %I', con.conrelid::regclass, con.conname)),
+           array_agg(format('ALTER TABLE %s ADD CONSTRAINT %I %s', con.conrelid::regclass, con.conname, pg_get_constraintdef(con.oid)))
+    INTO drop_statements, add_statements
+    FROM pg_constraint con
+    WHERE con.contype = 'f' AND con.confrelid = ANY (key_tables);
+
+    FOREACH statement IN ARRAY coalesce(drop_statements, ARRAY[]::text[]) LOOP
+        EXECUTE statement;
+    END LOOP;
+    FOREACH statement IN ARRAY alter_statements LOOP
+        RAISE NOTICE '%', statement;
+        EXECUTE statement;
+    END LOOP;
+    FOREACH statement IN ARRAY coalesce(add_statements, ARRAY[]::text[]) LOOP
+        EXECUTE statement;
+    END LOOP;
+END
+$$;
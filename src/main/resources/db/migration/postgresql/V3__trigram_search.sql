@@ -0,0 +1,4 @@
+-- Extension behind the trigram search (TrigramSearch). pg_trgm is a trusted extension, so the database
+-- owner can create it without superuser rights. Its indexes are built concurrently by V9, which cannot run
+-- inside the transaction this migration gets.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,25 @@
+-- Indexes for the order service and analytics query shapes. Built concurrently so that upgrading a
+-- populated database does not block writes; Flyway runs this migration outside a transaction.
+
+-- Status filters on the working set (offset pages, keyset windows and their counts). Closed orders
+-- (FINISHED, CANCELED, EQUIPMENT_LEFT) make up most of the table and stay out of the index.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_services_open_status
+    ON order_services (status, created_at DESC, id DESC)
+    WHERE status IN ('OPEN', 'IN_PROGRESS', 'BUDGET');
+
+-- Recent orders: ORDER BY updated_at DESC LIMIT 5.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_services_updated_at
+    ON order_services (updated_at DESC, id DESC);
+
+-- Per-day counts used by the analytics reconciler, grouped on CAST(... AS date).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_services_created_day
+    ON order_services ((CAST(created_at AS date)));
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_services_departure_day
+    ON order_services ((CAST(departure_date AS date)))
+    WHERE departure_date IS NOT NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clients_created_day
+    ON clients ((CAST(created_at AS date)));
+
+-- Foreign keys without an index of their own (smartphone_id, budget_id and contact_id are unique).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_services_client_id ON order_services (client_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_budgets_technical_id ON budgets (technical_id);
@@ -0,0 +1,21 @@
+-- Gives the order service foreign keys the names mapped on OrderService, so the service can tell which
+-- reference was missing when an insert or update violates one of them. Databases created by V1 carry the
+-- PostgreSQL default names and older ones the names Hibernate generated.
+DO $$
+DECLARE
+    foreign_key record;
+BEGIN
+    FOR foreign_key IN
+        SELECT con.conname, format('fk_order_services_%s', left(att.attname, -3)) AS new_name
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+        WHERE con.contype = 'f'
+          AND con.conrelid = 'order_services'::regclass
+          AND att.attname IN ('smartphone_id', 'client_id', 'budget_id')
+    LOOP
+        IF foreign_key.conname <> foreign_key.new_name THEN
+            EXECUTE format('ALTER TABLE order_services RENAME CONSTRAINT %I TO %I', foreign_key.conname, foreign_key.new_name);
+        END IF;
+    END LOOP;
+END
+$$;
@@ -0,0 +1,4 @@
+-- Version columns for the optimistic locking of order services and budgets, also exposed as their ETags.
+-- A constant default only touches the catalog, so existing rows are not rewritten.
+ALTER TABLE order_services ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE budgets ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
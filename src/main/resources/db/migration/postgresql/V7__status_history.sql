@@ -0,0 +1,32 @@
+-- Append-only log of order service status changes, written in the same transaction as the change. It has no
+-- foreign key to order_services so that the history of deleted order services is kept.
+CREATE SEQUENCE IF NOT EXISTS order_service_status_changes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS order_service_status_changes (
+    id bigint NOT NULL PRIMARY KEY,
+    order_service_id integer NOT NULL,
+    from_status varchar(32),
+    to_status varchar(32) NOT NULL,
+    changed_at timestamp(6) NOT NULL
+);
+
+-- Time ranges read by the rollup stage.
+CREATE INDEX IF NOT EXISTS idx_order_service_status_changes_changed_at
+    ON order_service_status_changes (changed_at);
+
+-- Previous change of the same order service, to measure how long it stayed in a status.
+CREATE INDEX IF NOT EXISTS idx_order_service_status_changes_order_service
+    ON order_service_status_changes (order_service_id, changed_at);
+
+-- Hourly and daily aggregates per status, recomputed from the log and read by the reporting endpoints.
+CREATE TABLE IF NOT EXISTS order_service_status_rollups (
+    granularity varchar(8) NOT NULL,
+    bucket_start timestamp(6) NOT NULL,
+    status varchar(32) NOT NULL,
+    entered bigint NOT NULL,
+    exited bigint NOT NULL,
+    dwell_count bigint NOT NULL,
+    dwell_total_seconds bigint NOT NULL,
+    dwell_max_seconds bigint NOT NULL,
+    PRIMARY KEY (granularity, bucket_start, status)
+);
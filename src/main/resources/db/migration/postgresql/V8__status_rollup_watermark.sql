@@ -0,0 +1,10 @@
+-- Where the status history rollup stopped, shared by every instance. Each rollup transaction locks the row first,
+-- so instances running the schedule at the same time take turns instead of rewriting the same buckets at once.
+CREATE TABLE IF NOT EXISTS order_service_status_rollup_watermarks (
+    name varchar(32) NOT NULL PRIMARY KEY,
+    rolled_up_to timestamp(6)
+);
+
+INSERT INTO order_service_status_rollup_watermarks (name, rolled_up_to)
+VALUES ('status-history', NULL)
+ON CONFLICT (name) DO NOTHING;
@@ -0,0 +1,19 @@
+-- Indexes that existing databases need as well, built concurrently so that upgrading a populated database does not
+-- block writes; Flyway runs this migration outside a transaction. A build that fails leaves an INVALID index
+-- behind, which IF NOT EXISTS would then skip: drop it before running the migration again.
+
+-- Keyset pagination: ORDER BY created_at DESC, id DESC with a (created_at, id) cursor.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clients_created_at_id
+    ON clients (created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_services_created_at_id
+    ON order_services (created_at, id);
+
+-- Trigram search (TrigramSearch), on the lower() expressions the queries filter on.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clients_name_trgm
+    ON clients USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contacts_email_trgm
+    ON contacts USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contacts_phone_trgm
+    ON contacts USING gin (lower(phone) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_smartphones_model_trgm
+    ON smartphones USING gin (lower(model) gin_trgm_ops);
@@ -0,0 +1,190 @@
+package br.com.tech.os.ostech.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestResponseLoggingFilterTest {
+
+    private final RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter(
+            true, 1.0, new String[]{"/v1/**"}, new String[]{"/v1/actuator/**"}, 8, 10, new MockEnvironment());
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+    }
+
+    @Test
+    @DisplayName("Deve repassar o corpo completo da resposta mesmo quando a captura é truncada")
+    void shouldWriteThroughFullResponseBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/client/pagination");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String body = "{\"content\":[\"a\",\"b\",\"c\"]}";
+
+        filter.doFilter(request, response, (req, res) -> {
+            res.setContentType("application/json");
+            res.getWriter().write(body);
+        });
+
+        assertEquals(body, response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Deve capturar no máximo o limite configurado e marcar o corpo como truncado")
+    void shouldCaptureUpToLimit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        BoundedCaptureResponseWrapper wrapper = new BoundedCaptureResponseWrapper(response, 8);
+        wrapper.setContentType("application/json");
+
+        wrapper.getOutputStream().write("0123456789".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("01234567", new String(wrapper.capturedBody(), StandardCharsets.UTF_8));
+        assertTrue(wrapper.isTruncated());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Deve limitar em bytes a captura feita pelo writer")
+    void shouldCapWriterCaptureInBytes() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding("UTF-8");
+        BoundedCaptureResponseWrapper wrapper = new BoundedCaptureResponseWrapper(response, 8);
+        wrapper.setContentType("application/json");
+
+        wrapper.getWriter().write("ããããããããããã");
+        wrapper.getWriter().write("fim");
+
+        assertEquals(8, wrapper.capturedBody().length);
+        assertEquals("ãããã", new String(wrapper.capturedBody(), StandardCharsets.UTF_8));
+        assertTrue(wrapper.isTruncated());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a captura quando o buffer da resposta é limpo")
+    void shouldClearCaptureOnResetBuffer() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        BoundedCaptureResponseWrapper wrapper = new BoundedCaptureResponseWrapper(response, 8);
+        wrapper.setContentType("application/json");
+
+        wrapper.getOutputStream().write("0123456789".getBytes(StandardCharsets.UTF_8));
+        wrapper.resetBuffer();
+        wrapper.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("{}", new String(wrapper.capturedBody(), StandardCharsets.UTF_8));
+        assertFalse(wrapper.isTruncated());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a captura e reavaliar o tipo do conteúdo quando a resposta é reiniciada")
+    void shouldClearCaptureOnReset() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        BoundedCaptureResponseWrapper wrapper = new BoundedCaptureResponseWrapper(response, 8);
+        wrapper.setContentType("application/json");
+
+        wrapper.getWriter().write("{\"parcial\":");
+        wrapper.reset();
+        wrapper.setContentType("application/pdf");
+        wrapper.getOutputStream().write(new byte[]{1, 2, 3});
+
+        assertNull(wrapper.capturedBody());
+        assertFalse(wrapper.isTruncated());
+    }
+
+    @Test
+    @DisplayName("Não deve capturar respostas binárias")
+    void shouldNotCaptureBinaryResponses() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        BoundedCaptureResponseWrapper wrapper = new BoundedCaptureResponseWrapper(response, 8);
+        wrapper.setContentType("application/pdf");
+
+        wrapper.getOutputStream().write(new byte[]{1, 2, 3});
+
+        assertNull(wrapper.capturedBody());
+        assertEquals(3, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar caminhos excluídos ou fora dos padrões incluídos")
+    void shouldSkipExcludedPaths() {
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/v1/actuator/health")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/swagger-ui/index.html")));
+        assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/v1/client/pagination")));
+    }
+
+    @Test
+    @DisplayName("Não deve registrar as requisições de autenticação, que carregam senhas e tokens")
+    void shouldSkipAuthenticationPathsByConfiguration() throws Exception {
+        Properties properties = PropertiesLoaderUtils.loadAllProperties("application.properties");
+        RequestResponseLoggingFilter configured = new RequestResponseLoggingFilter(true, 1.0, new String[]{"/**"},
+                properties.getProperty("api.logging.http.exclude-patterns").split(","), 8, 10, new MockEnvironment());
+
+        assertTrue(configured.shouldNotFilter(new MockHttpServletRequest("POST", "/auth/login")));
+        assertTrue(configured.shouldNotFilter(new MockHttpServletRequest("POST", "/auth/refresh")));
+        assertFalse(configured.shouldNotFilter(new MockHttpServletRequest("GET", "/v1/client/pagination")));
+        configured.destroy();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar todas as requisições quando a taxa de amostragem é zero")
+    void shouldSkipWhenSampleRateIsZero() {
+        RequestResponseLoggingFilter unsampled = new RequestResponseLoggingFilter(
+                true, 0.0, new String[]{"/**"}, new String[0], 8, 10, new MockEnvironment());
+
+        assertTrue(unsampled.shouldNotFilter(new MockHttpServletRequest("GET", "/v1/client/pagination")));
+        unsampled.destroy();
+    }
+
+    @Test
+    @DisplayName("Deve descartar eventos e contabilizar quando a fila estiver cheia")
+    void shouldDropEventsWhenQueueIsFull() {
+        AsyncHttpLogWriter writer = new AsyncHttpLogWriter(LoggerFactory.getLogger(getClass()), 1, runnable -> new Thread(() -> { }));
+        HttpLogEvent event = new HttpLogEvent("GET", "/v1/client", 200, new byte[0], false,
+                StandardCharsets.UTF_8, new byte[0], false, StandardCharsets.UTF_8);
+
+        writer.submit(event);
+        writer.submit(event);
+        writer.submit(event);
+
+        assertEquals(2, writer.droppedCount());
+        assertEquals(1, writer.queueSize());
+    }
+
+    @Test
+    @DisplayName("Deve executar a cadeia de filtros normalmente para requisições registradas")
+    void shouldInvokeFilterChain() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/client");
+        request.setContentType("application/json");
+        request.setContent("{\"name\":\"Cliente\"}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(0, filter.droppedCount());
+    }
+
+    @Test
+    @DisplayName("Deve medir o tempo gasto no filtro após o registro das métricas")
+    void shouldRecordFilterTime() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/client"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, registry.get("http.filter.time").tag("filter", "request-response-logging").timer().count());
+    }
+
+}
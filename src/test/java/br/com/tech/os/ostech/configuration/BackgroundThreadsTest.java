@@ -0,0 +1,33 @@
+package br.com.tech.os.ostech.configuration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackgroundThreadsTest {
+
+    @Test
+    @DisplayName("Deve criar threads de plataforma daemon quando o modo virtual está desligado")
+    void shouldCreatePlatformDaemonThreadsByDefault() {
+        Thread thread = BackgroundThreads.factory(new MockEnvironment(), "worker-").newThread(() -> { });
+
+        assertTrue(thread.isDaemon());
+        assertTrue(thread.getName().startsWith("worker-"));
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    @DisplayName("Deve manter threads de plataforma quando a JVM não suporta threads virtuais")
+    void shouldIgnoreVirtualModeBeforeJava21() {
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+
+        Thread thread = BackgroundThreads.factory(environment, "worker-").newThread(() -> { });
+
+        assertTrue(thread.isDaemon());
+    }
+
+}
@@ -0,0 +1,180 @@
+package br.com.tech.os.ostech.configuration;
+
+import br.com.tech.os.ostech.exception.InvalidBudgetIdException;
+import br.com.tech.os.ostech.model.Budget;
+import br.com.tech.os.ostech.model.Smartphone;
+import br.com.tech.os.ostech.model.Technical;
+import br.com.tech.os.ostech.model.dto.smartphoneDTO.SmartphoneUpdateDTO;
+import br.com.tech.os.ostech.model.dto.technicalDTO.TechnicalUpdateDTO;
+import br.com.tech.os.ostech.repository.BudgetRepository;
+import br.com.tech.os.ostech.repository.SmartphoneRepository;
+import br.com.tech.os.ostech.repository.TechnicalRepository;
+import br.com.tech.os.ostech.service.BudgetService;
+import br.com.tech.os.ostech.service.SmartphoneService;
+import br.com.tech.os.ostech.service.TechnicalService;
+import br.com.tech.os.ostech.service.components.BulkImporter;
+import br.com.tech.os.ostech.service.components.NdjsonWriter;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CacheConfiguration.class, TechnicalService.class, BudgetService.class, SmartphoneService.class})
+class CacheConfigurationTest {
+
+    @MockBean
+    private TechnicalRepository technicalRepository;
+
+    @MockBean
+    private BudgetRepository budgetRepository;
+
+    @MockBean
+    private SmartphoneRepository smartphoneRepository;
+
+    @MockBean
+    private NdjsonWriter ndjsonWriter;
+
+    @MockBean
+    private BulkImporter bulkImporter;
+
+    @Autowired
+    private TechnicalService technicalService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private SmartphoneService smartphoneService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Technical technical;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        technical = new Technical();
+        technical.setId("tech-1");
+        technical.setName("Técnico");
+        when(technicalRepository.findById("tech-1")).thenReturn(Optional.of(technical));
+        when(technicalRepository.existsById("tech-1")).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Deve servir o orçamento do cache enquanto a versão no banco for a mesma e contar acertos e falhas")
+    void getBudgetById_shouldHitCacheWhileVersionMatches() {
+        budget(0L);
+        CacheStats before = stats(CacheConfiguration.BUDGETS);
+
+        budgetService.getBudgetById("budget-1");
+        Budget cached = budgetService.getBudgetById("budget-1");
+
+        assertEquals(0L, cached.getVersion());
+        verify(budgetRepository, times(1)).findById("budget-1");
+        verify(budgetRepository, times(2)).findVersionById("budget-1");
+        CacheStats stats = stats(CacheConfiguration.BUDGETS).minus(before);
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o orçamento em cache quando a versão no banco mudar")
+    void getBudgetById_shouldReloadWhenVersionChanged() {
+        budget(0L);
+        budgetService.getBudgetById("budget-1");
+        budget(1L);
+
+        Budget reloaded = budgetService.getBudgetById("budget-1");
+
+        assertEquals(1L, reloaded.getVersion());
+        assertEquals(1L, ((Budget) cache(CacheConfiguration.BUDGETS).get("budget-1").get()).getVersion());
+        verify(budgetRepository, times(2)).findById("budget-1");
+    }
+
+    @Test
+    @DisplayName("Não deve guardar em cache um orçamento inexistente")
+    void getBudgetById_shouldNotCacheMissingBudget() {
+        when(budgetRepository.findVersionById("budget-2")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidBudgetIdException.class, () -> budgetService.getBudgetById("budget-2"));
+
+        assertNull(cache(CacheConfiguration.BUDGETS).get("budget-2"));
+        verify(budgetRepository, never()).findById("budget-2");
+    }
+
+    @Test
+    @DisplayName("Deve remover os orçamentos do cache ao atualizar o técnico")
+    void updateTechnical_shouldEvictBudgets() {
+        budget(0L);
+        when(technicalRepository.save(any(Technical.class))).thenAnswer(i -> i.getArgument(0));
+        budgetService.getBudgetById("budget-1");
+
+        technicalService.updateTechnical("tech-1", new TechnicalUpdateDTO("Novo nome"));
+
+        assertNull(cache(CacheConfiguration.BUDGETS).get("budget-1"));
+    }
+
+    @Test
+    @DisplayName("Deve remover o smartphone do cache antes de gravar, mesmo que a gravação falhe")
+    void updateSmartphone_shouldEvictBeforeWriting() {
+        Smartphone smartphone = new Smartphone();
+        smartphone.setId("smartphone-1");
+        when(smartphoneRepository.findById("smartphone-1")).thenReturn(Optional.of(smartphone));
+        when(smartphoneRepository.save(any(Smartphone.class))).thenThrow(new IllegalStateException("falha"));
+        smartphoneService.getSmartphoneById("smartphone-1");
+
+        assertThrows(IllegalStateException.class, () -> smartphoneService.updateSmartphone("smartphone-1",
+                new SmartphoneUpdateDTO("Modelo", "Tela", "obs", "123")));
+
+        assertNull(cache(CacheConfiguration.SMARTPHONES).get("smartphone-1"));
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o smartphone depois de uma atualização")
+    void updateSmartphone_shouldEvictSmartphone() {
+        Smartphone smartphone = new Smartphone();
+        smartphone.setId("smartphone-1");
+        when(smartphoneRepository.findById("smartphone-1")).thenReturn(Optional.of(smartphone));
+        when(smartphoneRepository.save(any(Smartphone.class))).thenAnswer(i -> i.getArgument(0));
+
+        smartphoneService.getSmartphoneById("smartphone-1");
+        smartphoneService.updateSmartphone("smartphone-1", new SmartphoneUpdateDTO("Modelo", "Tela", "obs", "123"));
+        smartphoneService.getSmartphoneById("smartphone-1");
+
+        verify(smartphoneRepository, times(3)).findById("smartphone-1");
+    }
+
+    private void budget(Long version) {
+        Budget budget = new Budget();
+        budget.setId("budget-1");
+        budget.setTechnical(technical);
+        budget.setVersion(version);
+        when(budgetRepository.findVersionById("budget-1")).thenReturn(Optional.of(version));
+        when(budgetRepository.findById("budget-1")).thenReturn(Optional.of(budget));
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    private CacheStats stats(String name) {
+        Cache cache = ((TransactionAwareCacheDecorator) cache(name)).getTargetCache();
+        return ((CaffeineCache) cache).getNativeCache().stats();
+    }
+
+}
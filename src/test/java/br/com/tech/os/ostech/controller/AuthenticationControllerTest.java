@@ -1,9 +1,12 @@
 package br.com.tech.os.ostech.controller;
 
+import br.com.tech.os.ostech.exception.InvalidRefreshTokenException;
 import br.com.tech.os.ostech.infra.security.TokenService;
+import br.com.tech.os.ostech.infra.security.TokenService.RefreshGrant;
 import br.com.tech.os.ostech.model.User;
 import br.com.tech.os.ostech.model.dto.authenticationDTO.AuthenticationDTO;
 import br.com.tech.os.ostech.model.dto.authenticationDTO.AuthenticationResponseDTO;
+import br.com.tech.os.ostech.model.dto.authenticationDTO.RefreshTokenDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +17,9 @@ import org.springframework.security.core.Authentication;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class AuthenticationControllerTest {
@@ -39,12 +45,39 @@ class AuthenticationControllerTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(user);
         when(tokenService.generateToken(user)).thenReturn("mocked-token");
+        when(tokenService.generateRefreshToken(user)).thenReturn("mocked-refresh-token");
 
         ResponseEntity<AuthenticationResponseDTO> response = authenticationController.login(dto);
 
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         assertEquals("mocked-token", response.getBody().token());
+        assertEquals("mocked-refresh-token", response.getBody().refreshToken());
+    }
+
+    @Test
+    void refresh_shouldReturnNewTokens_withoutAuthenticating() {
+        User user = new User();
+        user.setEmail("user@example.com");
+        RefreshGrant grant = new RefreshGrant(user, 1);
+        when(tokenService.redeemRefreshToken("refresh-token")).thenReturn(grant);
+        when(tokenService.generateToken(user)).thenReturn("new-token");
+        when(tokenService.generateRefreshToken(grant)).thenReturn("new-refresh-token");
+
+        ResponseEntity<AuthenticationResponseDTO> response = authenticationController.refresh(new RefreshTokenDTO("refresh-token"));
+
+        assertEquals("new-token", response.getBody().token());
+        assertEquals("new-refresh-token", response.getBody().refreshToken());
+        verify(tokenService, never()).generateRefreshToken(any(User.class));
+        verifyNoInteractions(authenticationManager);
+    }
+
+    @Test
+    void refresh_shouldThrow_whenRefreshTokenIsRejected() {
+        when(tokenService.redeemRefreshToken("used-token")).thenReturn(null);
+
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> authenticationController.refresh(new RefreshTokenDTO("used-token")));
     }
 
 }
\ No newline at end of file
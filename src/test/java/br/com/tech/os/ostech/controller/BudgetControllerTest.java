@@ -1,6 +1,7 @@
 package br.com.tech.os.ostech.controller;
 
 import br.com.tech.os.ostech.exception.InvalidBudgetIdException;
+import br.com.tech.os.ostech.exception.InvalidBudgetVersionException;
 import br.com.tech.os.ostech.infra.security.TokenService;
 import br.com.tech.os.ostech.model.Budget;
 import br.com.tech.os.ostech.model.dto.budgetDTO.BudgetCreateDTO;
@@ -15,13 +16,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -71,7 +79,7 @@ class BudgetControllerTest {
         budget.setDescription("desc2");
         budget.setValue(200.0);
 
-        Mockito.when(budgetService.updateBudget(eq("budget-1"), any(BudgetUpdateDTO.class))).thenReturn(budget);
+        Mockito.when(budgetService.updateBudget(eq("budget-1"), any(BudgetUpdateDTO.class), isNull())).thenReturn(budget);
 
         mockMvc.perform(put("/v1/budget/budget-1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -86,7 +94,7 @@ class BudgetControllerTest {
     void deveLancar404AoAtualizarBudgetInexistente() throws Exception {
         BudgetUpdateDTO dto = new BudgetUpdateDTO(200.0, "desc2", "obs2", false, "technical-1");
 
-        Mockito.when(budgetService.updateBudget(eq("not-found"), any(BudgetUpdateDTO.class)))
+        Mockito.when(budgetService.updateBudget(eq("not-found"), any(BudgetUpdateDTO.class), isNull()))
                 .thenThrow(new InvalidBudgetIdException("Budget não encontrado"));
 
         mockMvc.perform(put("/v1/budget/not-found")
@@ -96,6 +104,38 @@ class BudgetControllerTest {
                 .andExpect(jsonPath("$.message").value("Budget não encontrado"));
     }
 
+    @Test
+    void deveRetornarETagERepassarIfMatchAoAtualizarBudget() throws Exception {
+        BudgetUpdateDTO dto = new BudgetUpdateDTO(200.0, "desc2", "obs2", false, "technical-1");
+        Budget budget = new Budget();
+        budget.setId("budget-1");
+        budget.setVersion(6L);
+
+        Mockito.when(budgetService.updateBudget(eq("budget-1"), any(BudgetUpdateDTO.class), eq(5L))).thenReturn(budget);
+
+        mockMvc.perform(put("/v1/budget/budget-1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"5\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"6\""));
+    }
+
+    @Test
+    void deveLancar412AoAtualizarBudgetComVersaoDesatualizada() throws Exception {
+        BudgetUpdateDTO dto = new BudgetUpdateDTO(200.0, "desc2", "obs2", false, "technical-1");
+
+        Mockito.when(budgetService.updateBudget(eq("budget-1"), any(BudgetUpdateDTO.class), eq(5L)))
+                .thenThrow(new InvalidBudgetVersionException("Budget is at version 6, not 5"));
+
+        mockMvc.perform(put("/v1/budget/budget-1")
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("Budget is at version 6, not 5"));
+    }
+
     @Test
     void deveDeletarBudgetComSucesso() throws Exception {
         Mockito.doNothing().when(budgetService).deleteBudget("budget-1");
@@ -159,4 +199,26 @@ class BudgetControllerTest {
                 .andExpect(jsonPath("$[0].id").value("1"))
                 .andExpect(jsonPath("$[1].id").value("2"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveTransmitirTodosOsBudgetsEmNdjson() throws Exception {
+        CountDownLatch requestCompleted = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            requestCompleted.await(5, TimeUnit.SECONDS);
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"id\":\"budget-1\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(budgetService).streamAllBudgets(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/v1/budget/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        requestCompleted.countDown();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":\"budget-1\"}\n"));
+    }
+
+}
@@ -5,10 +5,13 @@ import br.com.tech.os.ostech.exception.InvalidClientFieldException;
 import br.com.tech.os.ostech.exception.InvalidClientIdException;
 import br.com.tech.os.ostech.infra.security.TokenService;
 import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.model.dto.bulkImportDTO.BulkImportError;
+import br.com.tech.os.ostech.model.dto.bulkImportDTO.BulkImportResponse;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientAnalyticsResponse;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientCreateDTO;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientPaginationRequest;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientPaginationResponse;
+import br.com.tech.os.ostech.model.dto.clientDTO.ClientSummary;
 import br.com.tech.os.ostech.repository.UserRepository;
 import br.com.tech.os.ostech.security.TestSecurityConfig;
 import br.com.tech.os.ostech.service.ClientService;
@@ -21,11 +24,18 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -68,6 +78,29 @@ class ClientControllerTest {
                 .andExpect(jsonPath("$.cpf").value("12345678900"));
     }
 
+    @Test
+    void importClients_shouldPassCsvBodyToService() throws Exception {
+        BulkImportResponse report = new BulkImportResponse(2, 1, 1, List.of(new BulkImportError(2, "CPF cannot be null or blank")));
+        Mockito.when(clientService.importClients(any(InputStream.class), argThat(type -> type.isCompatibleWith(MediaType.parseMediaType("text/csv")))))
+                .thenReturn(report);
+
+        mockMvc.perform(post("/v1/client/bulk")
+                        .contentType("text/csv")
+                        .content("name,cpf\nMaria,111\nJoão,\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("CPF cannot be null or blank"));
+    }
+
+    @Test
+    void importClients_shouldRejectUnsupportedContentType() throws Exception {
+        mockMvc.perform(post("/v1/client/bulk")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<clients/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
     @Test
     void updateClient_success() throws Exception {
         ClientCreateDTO dto = new ClientCreateDTO("Novo Nome", "98765432100");
@@ -142,6 +175,20 @@ class ClientControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getClientsPage_compactView() throws Exception {
+        ClientSummary summary = new ClientSummary("1", "Cliente 1", "111", "cliente@email.com", "11999999999", null);
+        ClientPaginationResponse response = ClientPaginationResponse.compact(1, 0, List.of(summary), 10, null);
+        Mockito.when(clientService.getClientsPage(argThat(ClientPaginationRequest::isCompact))).thenReturn(response);
+
+        mockMvc.perform(get("/v1/client/pagination")
+                        .param("view", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clientsPage").doesNotExist())
+                .andExpect(jsonPath("$.summaries[0].name").value("Cliente 1"))
+                .andExpect(jsonPath("$.summaries[0].email").value("cliente@email.com"));
+    }
+
     @Test
     void getAllClients_success() throws Exception {
         Client c1 = new Client();
@@ -163,4 +210,25 @@ class ClientControllerTest {
                 .andExpect(jsonPath("$[1].id").value("2"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void streamAllClients_success() throws Exception {
+        CountDownLatch requestCompleted = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            requestCompleted.await(5, TimeUnit.SECONDS);
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"id\":\"1\"}\n{\"id\":\"2\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(clientService).streamAllClients(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/v1/client/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        requestCompleted.countDown();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":\"1\"}\n{\"id\":\"2\"}\n"));
+    }
+
+}
@@ -1,12 +1,20 @@
 package br.com.tech.os.ostech.controller;
 
 import br.com.tech.os.ostech.enums.OrderServiceSearchType;
+import br.com.tech.os.ostech.enums.ResponseView;
+import br.com.tech.os.ostech.exception.InvalidExceptionOrderServicePagination;
 import br.com.tech.os.ostech.exception.InvalidOrderServiceIdException;
+import br.com.tech.os.ostech.exception.InvalidOrderServiceInformationException;
+import br.com.tech.os.ostech.exception.InvalidOrderServiceVersionException;
 import br.com.tech.os.ostech.infra.security.TokenService;
 import br.com.tech.os.ostech.model.*;
 import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceCreateDTO;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceLastUpdateResponse;
 import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServicePaginationRequest;
 import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServicePaginationResponse;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceStatusRollupResponse;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceStatusUpdateDTO;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceSummary;
 import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceUpdateDTO;
 import br.com.tech.os.ostech.repository.UserRepository;
 import br.com.tech.os.ostech.security.TestSecurityConfig;
@@ -18,13 +26,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -95,7 +113,7 @@ class OrderServiceControllerTest {
         os.setId(1);
         os.setStatus(Status.FINISHED);
 
-        Mockito.when(orderServiceService.updateOrderService(eq("1"), any(OrderServiceUpdateDTO.class))).thenReturn(os);
+        Mockito.when(orderServiceService.updateOrderService(eq("1"), any(OrderServiceUpdateDTO.class), isNull())).thenReturn(os);
 
         mockMvc.perform(put("/v1/order-service/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -109,7 +127,7 @@ class OrderServiceControllerTest {
     void deveLancar404AoAtualizarOrderServiceInexistente() throws Exception {
         OrderServiceUpdateDTO dto = new OrderServiceUpdateDTO("smart-1", "budget-1", "FINISHED", "client-1", null);
 
-        Mockito.when(orderServiceService.updateOrderService(eq("99"), any(OrderServiceUpdateDTO.class)))
+        Mockito.when(orderServiceService.updateOrderService(eq("99"), any(OrderServiceUpdateDTO.class), isNull()))
                 .thenThrow(new InvalidOrderServiceIdException("OrderService não encontrado"));
 
         mockMvc.perform(put("/v1/order-service/99")
@@ -119,6 +137,126 @@ class OrderServiceControllerTest {
                 .andExpect(jsonPath("$.message").value("OrderService não encontrado"));
     }
 
+    @Test
+    void deveRetornarETagComAVersaoAoBuscarOrderService() throws Exception {
+        OrderService os = new OrderService();
+        os.setId(1);
+        os.setVersion(3L);
+
+        Mockito.when(orderServiceService.getOrderServiceById("1")).thenReturn(os);
+
+        mockMvc.perform(get("/v1/order-service/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void deveRepassarAVersaoDoIfMatchAoAtualizarOrderService() throws Exception {
+        OrderServiceUpdateDTO dto = new OrderServiceUpdateDTO("smart-1", "budget-1", "FINISHED", "client-1", null);
+        OrderService os = new OrderService();
+        os.setId(1);
+        os.setVersion(4L);
+
+        Mockito.when(orderServiceService.updateOrderService(eq("1"), any(OrderServiceUpdateDTO.class), eq(3L))).thenReturn(os);
+
+        mockMvc.perform(put("/v1/order-service/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void deveLancar412AoAtualizarOrderServiceComVersaoDesatualizada() throws Exception {
+        OrderServiceUpdateDTO dto = new OrderServiceUpdateDTO("smart-1", "budget-1", "FINISHED", "client-1", null);
+
+        Mockito.when(orderServiceService.updateOrderService(eq("1"), any(OrderServiceUpdateDTO.class), eq(2L)))
+                .thenThrow(new InvalidOrderServiceVersionException("Order service is at version 3, not 2"));
+
+        mockMvc.perform(put("/v1/order-service/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void deveLancar400ParaIfMatchInvalido() throws Exception {
+        OrderServiceUpdateDTO dto = new OrderServiceUpdateDTO("smart-1", "budget-1", "FINISHED", "client-1", null);
+
+        mockMvc.perform(put("/v1/order-service/1")
+                        .header(HttpHeaders.IF_MATCH, "\"abc\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveAlterarStatusDaOrderService() throws Exception {
+        OrderServiceStatusUpdateDTO dto = new OrderServiceStatusUpdateDTO("OPEN", "IN_PROGRESS");
+
+        mockMvc.perform(patch("/v1/order-service/1/status")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+
+        Mockito.verify(orderServiceService).changeStatus(eq("1"), any(OrderServiceStatusUpdateDTO.class), eq(2L));
+    }
+
+    @Test
+    void deveLancar409AoAlterarStatusComTransicaoInvalida() throws Exception {
+        OrderServiceStatusUpdateDTO dto = new OrderServiceStatusUpdateDTO("EQUIPMENT_LEFT", "OPEN");
+
+        Mockito.doThrow(new InvalidOrderServiceInformationException("Cannot change order service status from EQUIPMENT_LEFT to OPEN"))
+                .when(orderServiceService).changeStatus(eq("1"), any(OrderServiceStatusUpdateDTO.class), isNull());
+
+        mockMvc.perform(patch("/v1/order-service/1/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isConflict())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void deveRetornarRollupsHorariosDoHistoricoDeStatus() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2026, 10, 1, 8, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 10, 1, 10, 0);
+        Mockito.when(orderServiceService.getHourlyStatusRollups(from, to)).thenReturn(List.of(
+                new OrderServiceStatusRollupResponse(from, Status.BUDGET, 3, 2, 300L, 400L)));
+
+        mockMvc.perform(get("/v1/order-service/status-history/hourly")
+                        .param("from", "2026-10-01T08:00:00")
+                        .param("to", "2026-10-01T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("BUDGET"))
+                .andExpect(jsonPath("$[0].entered").value(3))
+                .andExpect(jsonPath("$[0].averageDwellSeconds").value(300));
+    }
+
+    @Test
+    void deveRetornarRollupsDiariosComIntervaloPadrao() throws Exception {
+        Mockito.when(orderServiceService.getDailyStatusRollups(null, null)).thenReturn(List.of());
+
+        mockMvc.perform(get("/v1/order-service/status-history/daily"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void deveLancar400ParaIntervaloDeRollupInvalido() throws Exception {
+        LocalDate day = LocalDate.of(2026, 10, 1);
+        Mockito.when(orderServiceService.getDailyStatusRollups(day, day.minusDays(1)))
+                .thenThrow(new IllegalArgumentException("Daily rollup range must be positive and at most 366 days"));
+
+        mockMvc.perform(get("/v1/order-service/status-history/daily")
+                        .param("from", "2026-10-01")
+                        .param("to", "2026-09-30"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deveDeletarOrderServiceComSucesso() throws Exception {
         Mockito.doNothing().when(orderServiceService).deleteOrderService("1");
@@ -168,4 +306,65 @@ class OrderServiceControllerTest {
                 .andExpect(jsonPath("$.currentPage").value(0))
                 .andExpect(jsonPath("$.pageSize").value(10));
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveRetornarBadRequestParaCursorInvalido() throws Exception {
+        Mockito.when(orderServiceService.getOrderServicesPage(any(OrderServicePaginationRequest.class)))
+                .thenThrow(new InvalidExceptionOrderServicePagination("Cursor is invalid"));
+
+        mockMvc.perform(get("/v1/order-service/pagination")
+                        .param("cursor", "YWJj"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor is invalid"));
+    }
+
+    @Test
+    void deveBuscarOrderServicesPaginadosNaVisaoCompacta() throws Exception {
+        OrderServiceSummary summary = new OrderServiceSummary(1, Status.OPEN, "Cliente", "Galaxy", 150.0, true, null, null, null);
+        OrderServicePaginationResponse resp = OrderServicePaginationResponse.compact(1, 0, List.of(summary), 10, null);
+        Mockito.when(orderServiceService.getOrderServicesPage(argThat(OrderServicePaginationRequest::isCompact))).thenReturn(resp);
+
+        mockMvc.perform(get("/v1/order-service/pagination")
+                        .param("view", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderServices").doesNotExist())
+                .andExpect(jsonPath("$.summaries[0].clientName").value("Cliente"))
+                .andExpect(jsonPath("$.summaries[0].smartphoneModel").value("Galaxy"));
+    }
+
+    @Test
+    void deveBuscarOrderServicesRecentesNaVisaoCompacta() throws Exception {
+        OrderServiceSummary summary = new OrderServiceSummary(1, Status.OPEN, "Cliente", "Galaxy", null, null, null, null, null);
+        Mockito.when(orderServiceService.getRecentOrderSummaries())
+                .thenReturn(OrderServiceLastUpdateResponse.compact(List.of(summary)));
+
+        mockMvc.perform(get("/v1/order-service/recent")
+                        .param("view", ResponseView.COMPACT.getValue()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastUpdateOrders").doesNotExist())
+                .andExpect(jsonPath("$.lastUpdateSummaries.length()").value(1));
+        Mockito.verify(orderServiceService, Mockito.never()).getRecentOrders();
+    }
+
+    @Test
+    void deveTransmitirTodasAsOrderServicesEmNdjson() throws Exception {
+        CountDownLatch requestCompleted = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            requestCompleted.await(5, TimeUnit.SECONDS);
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(orderServiceService).streamAllOrderServices(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/v1/order-service/all/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        requestCompleted.countDown();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+}
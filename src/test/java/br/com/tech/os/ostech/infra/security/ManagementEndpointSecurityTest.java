@@ -0,0 +1,64 @@
+package br.com.tech.os.ostech.infra.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.server.port=0",
+        "api.logging.http.enabled=false"
+})
+class ManagementEndpointSecurityTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheus_shouldExposeRequestHistogramsOnTheManagementPort() throws Exception {
+        assertEquals(200, get(serverPort, "/v1/status").statusCode());
+
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus");
+
+        assertEquals(200, scrape.statusCode());
+        assertTrue(scrape.body().contains("http_server_requests_seconds_bucket"));
+    }
+
+    @Test
+    void prometheus_shouldNotBeReachableWithoutTokenOnTheApplicationPort() throws Exception {
+        assertEquals(403, get(serverPort, "/actuator/prometheus").statusCode());
+    }
+
+    @Test
+    void health_shouldStayPublic() throws Exception {
+        assertEquals(200, get(managementPort, "/actuator/health").statusCode());
+    }
+
+    @Test
+    void metrics_shouldRequireTokenOnTheManagementPort() throws Exception {
+        assertEquals(403, get(managementPort, "/actuator/metrics").statusCode());
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+}
@@ -0,0 +1,97 @@
+package br.com.tech.os.ostech.infra.security;
+
+import br.com.tech.os.ostech.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.destroy();
+    }
+
+    @Test
+    void encode_shouldUseConfiguredCost() {
+        passwordHasher = new PasswordHasher(5, 1, 1, new MockEnvironment());
+
+        String hash = passwordHasher.encode("secret");
+
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(passwordHasher.matches("secret", hash));
+        assertFalse(passwordHasher.matches("wrong", hash));
+    }
+
+    @Test
+    void upgradeEncoding_shouldFlagHashesWithLowerCost() {
+        passwordHasher = new PasswordHasher(6, 1, 1, new MockEnvironment());
+
+        assertTrue(passwordHasher.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(passwordHasher.upgradeEncoding(passwordHasher.encode("secret")));
+    }
+
+    @Test
+    void matches_shouldRejectWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordHasher = new PasswordHasher(new BlockingEncoder(started, release), 1, 1,
+                new CustomizableThreadFactory("password-hash-test-"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        passwordHasher.bindTo(registry);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHasher.matches("a", "a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHasher.matches("b", "b"));
+        awaitQueued(registry);
+
+        assertThrows(PasswordHashingBusyException.class, () -> passwordHasher.matches("c", "c"));
+        assertEquals(1.0, registry.get("security.password.hash.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, registry.get("security.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    private static void awaitQueued(SimpleMeterRegistry registry) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("executor.queued").tag("name", "password-hash").gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "Second request was never queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+
+    }
+
+}
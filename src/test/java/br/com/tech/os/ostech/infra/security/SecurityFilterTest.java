@@ -1,15 +1,23 @@
 package br.com.tech.os.ostech.infra.security;
 
+import br.com.tech.os.ostech.enums.PrincipalSource;
 import br.com.tech.os.ostech.model.User;
+import br.com.tech.os.ostech.model.event.UserChangedEvent;
 import br.com.tech.os.ostech.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.verify;
@@ -28,7 +36,7 @@ class SecurityFilterTest {
     void setUp() {
         tokenService = mock(TokenService.class);
         userRepository = mock(UserRepository.class);
-        securityFilter = new SecurityFilter(tokenService, userRepository);
+        securityFilter = new SecurityFilter(tokenService, userRepository, PrincipalSource.CACHE, 100, Duration.ofMinutes(5));
         request = mock(HttpServletRequest.class);
         response = mock(HttpServletResponse.class);
         filterChain = mock(FilterChain.class);
@@ -51,6 +59,19 @@ class SecurityFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    void doFilterInternal_shouldRecordFilterTime_onceBound() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        securityFilter.bindTo(registry);
+        when(request.getHeader("Authorization")).thenReturn(null);
+
+        securityFilter.doFilterInternal(request, response, filterChain);
+
+        Timer timer = registry.get("http.filter.time").tag("filter", "security").timer();
+        assertEquals(1, timer.count());
+        verify(filterChain).doFilter(request, response);
+    }
+
     @Test
     void doFilterInternal_shouldNotAuthenticate_whenNoToken() throws Exception {
         when(request.getHeader("Authorization")).thenReturn(null);
@@ -72,4 +93,86 @@ class SecurityFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
-}
\ No newline at end of file
+    @Test
+    void doFilterInternal_shouldReuseCachedPrincipal_forRepeatedSubject() throws Exception {
+        User user = new User();
+        user.setId("user-1");
+        user.setEmail("user@example.com");
+        when(request.getHeader("Authorization")).thenReturn("Bearer valid-token");
+        when(tokenService.validateToken("valid-token")).thenReturn("user@example.com");
+        when(userRepository.findByEmail("user@example.com")).thenReturn(user);
+
+        securityFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        securityFilter.doFilterInternal(request, response, filterChain);
+
+        assertEquals(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(userRepository, times(1)).findByEmail("user@example.com");
+    }
+
+    @Test
+    void onUserChanged_shouldEvictCachedPrincipal() throws Exception {
+        User user = new User();
+        user.setId("user-1");
+        user.setEmail("user@example.com");
+        when(request.getHeader("Authorization")).thenReturn("Bearer valid-token");
+        when(tokenService.validateToken("valid-token")).thenReturn("user@example.com");
+        when(userRepository.findByEmail("user@example.com")).thenReturn(user);
+
+        securityFilter.doFilterInternal(request, response, filterChain);
+        securityFilter.onUserChanged(new UserChangedEvent("user-1", null));
+        securityFilter.doFilterInternal(request, response, filterChain);
+
+        verify(userRepository, times(2)).findByEmail("user@example.com");
+    }
+
+    @Test
+    void onUserChanged_shouldKeepPrincipalLoadedBeforeTheChangeOutOfCache() throws Exception {
+        User stale = new User();
+        stale.setId("user-1");
+        stale.setEmail("user@example.com");
+        User current = new User();
+        current.setId("user-1");
+        current.setEmail("user@example.com");
+        when(request.getHeader("Authorization")).thenReturn("Bearer valid-token");
+        when(tokenService.validateToken("valid-token")).thenReturn("user@example.com");
+        when(userRepository.findByEmail("user@example.com"))
+                .thenAnswer(invocation -> {
+                    securityFilter.onUserChanged(new UserChangedEvent("user-1", "user@example.com"));
+                    return stale;
+                })
+                .thenReturn(current);
+
+        securityFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        securityFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        securityFilter.doFilterInternal(request, response, filterChain);
+
+        assertSame(current, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(userRepository, times(2)).findByEmail("user@example.com");
+    }
+
+    @Test
+    void doFilterInternal_shouldBuildPrincipalFromClaims_withoutDatabase() throws Exception {
+        SecurityFilter claimsFilter = new SecurityFilter(tokenService, userRepository, PrincipalSource.CLAIMS, 100, Duration.ofMinutes(5));
+        DecodedJWT decodedJWT = mock(DecodedJWT.class);
+        Claim userIdClaim = mock(Claim.class);
+        Claim nameClaim = mock(Claim.class);
+        when(request.getHeader("Authorization")).thenReturn("Bearer valid-token");
+        when(tokenService.decodeToken("valid-token")).thenReturn(decodedJWT);
+        when(decodedJWT.getSubject()).thenReturn("user@example.com");
+        when(decodedJWT.getClaim(TokenService.USER_ID_CLAIM)).thenReturn(userIdClaim);
+        when(decodedJWT.getClaim(TokenService.NAME_CLAIM)).thenReturn(nameClaim);
+        when(userIdClaim.asString()).thenReturn("user-1");
+        when(nameClaim.asString()).thenReturn("User");
+
+        claimsFilter.doFilterInternal(request, response, filterChain);
+
+        User principal = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals("user-1", principal.getId());
+        assertEquals("user@example.com", principal.getEmail());
+        verifyNoInteractions(userRepository);
+    }
+
+}
@@ -0,0 +1,101 @@
+package br.com.tech.os.ostech.infra.security;
+
+import br.com.tech.os.ostech.infra.security.TokenService.RefreshGrant;
+import br.com.tech.os.ostech.model.User;
+import br.com.tech.os.ostech.model.UserTokenState;
+import br.com.tech.os.ostech.model.event.UserChangedEvent;
+import br.com.tech.os.ostech.repository.UserRepository;
+import br.com.tech.os.ostech.repository.UserTokenStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link TokenService} on the user_token_states table, with a second instance standing in for another replica.
+ */
+@ActiveProfiles("test")
+@DataJpaTest(properties = "api.security.token.revocation-check-interval=0s")
+@Import(TokenService.class)
+class TokenServiceJpaTest {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserTokenStateRepository tokenStates;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${api.security.token.secret}")
+    private String secret;
+
+    private TokenService otherInstance;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        otherInstance = new TokenService(tokenStates, secret, 100, Duration.ofMinutes(15), Duration.ofDays(7),
+                Duration.ZERO);
+        user = new User();
+        user.setName("User");
+        user.setEmail("user@example.com");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void generateRefreshToken_shouldStartTheTokenStateOfTheUser() {
+        tokenService.generateRefreshToken(user);
+
+        UserTokenState state = tokenStates.findById(user.getId()).orElseThrow();
+        assertEquals(0, state.getRefreshGeneration());
+        assertNull(state.getTokensRevokedAt());
+    }
+
+    @Test
+    void redeemRefreshToken_shouldAdvanceGenerationShared_byEveryInstance() {
+        String refreshToken = tokenService.generateRefreshToken(user);
+
+        RefreshGrant grant = otherInstance.redeemRefreshToken(refreshToken);
+
+        assertNotNull(grant);
+        assertEquals(1, tokenStates.findById(user.getId()).orElseThrow().getRefreshGeneration());
+        assertNull(tokenService.redeemRefreshToken(refreshToken));
+        assertNotNull(tokenService.redeemRefreshToken(otherInstance.generateRefreshToken(grant)));
+    }
+
+    @Test
+    void onUserChanged_shouldRevokeTokens_onEveryInstance() throws InterruptedException {
+        String accessToken = tokenService.generateToken(user);
+        String refreshToken = tokenService.generateRefreshToken(user);
+        assertNotNull(otherInstance.decodeToken(accessToken));
+
+        tokenService.onUserChanged(new UserChangedEvent(user.getId(), user.getEmail()));
+        Thread.sleep(2);
+
+        assertNull(otherInstance.decodeToken(accessToken));
+        assertNull(otherInstance.redeemRefreshToken(refreshToken));
+        assertNotNull(otherInstance.decodeToken(otherInstance.generateToken(user)));
+    }
+
+    @Test
+    void onUserChanged_shouldKeepRevocation_afterUserIsDeleted() {
+        String accessToken = tokenService.generateToken(user);
+        userRepository.deleteById(user.getId());
+
+        tokenService.onUserChanged(new UserChangedEvent(user.getId(), null));
+
+        assertNotNull(tokenStates.findById(user.getId()).orElseThrow().getTokensRevokedAt());
+        assertNull(otherInstance.decodeToken(accessToken));
+    }
+
+}
@@ -0,0 +1,22 @@
+package br.com.tech.os.ostech.infra.security;
+
+import br.com.tech.os.ostech.repository.PostgresTestDatabase;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Runs the {@link TokenServiceJpaTest} cases against a PostgreSQL migrated by Flyway, with Hibernate validating the
+ * user_token_states table of V11 on startup (see {@link PostgresTestDatabase}).
+ */
+@EnabledIf("br.com.tech.os.ostech.repository.PostgresTestDatabase#isAvailable")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TokenServicePostgresTest extends TokenServiceJpaTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry, "token_state_test");
+    }
+
+}
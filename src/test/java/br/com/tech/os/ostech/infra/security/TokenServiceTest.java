@@ -1,24 +1,40 @@
 package br.com.tech.os.ostech.infra.security;
 
+import br.com.tech.os.ostech.infra.security.TokenService.RefreshGrant;
 import br.com.tech.os.ostech.model.User;
+import br.com.tech.os.ostech.model.UserTokenState;
+import br.com.tech.os.ostech.model.event.UserChangedEvent;
+import br.com.tech.os.ostech.repository.UserTokenStateRepository;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Field;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class TokenServiceTest {
 
+    private final Map<String, UserTokenState> states = new ConcurrentHashMap<>();
+
     private TokenService tokenService;
 
     @BeforeEach
-    void setUp() throws Exception {
-        tokenService = new TokenService();
-        Field secretField = TokenService.class.getDeclaredField("secret");
-        secretField.setAccessible(true);
-        secretField.set(tokenService, "test-secret");
+    void setUp() {
+        tokenService = tokenService("test-secret");
     }
 
     @Test
@@ -57,4 +73,225 @@ class TokenServiceTest {
         Instant expiration = tokenService.genExpirationDate();
         assertTrue(expiration.isAfter(Instant.now()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateToken_shouldExpireAfterAccessTtl() {
+        String token = tokenService.generateToken(user());
+
+        Instant expiresAt = tokenService.decodeToken(token).getExpiresAtAsInstant();
+
+        assertTrue(expiresAt.isBefore(Instant.now().plus(Duration.ofMinutes(16))));
+    }
+
+    @Test
+    void redeemRefreshToken_shouldReturnUser_fromTokenClaims() {
+        String refreshToken = tokenService.generateRefreshToken(user());
+
+        RefreshGrant grant = tokenService.redeemRefreshToken(refreshToken);
+
+        assertNotNull(grant);
+        assertEquals("user-1", grant.user().getId());
+        assertEquals("user@example.com", grant.user().getEmail());
+        assertEquals("User", grant.user().getName());
+        assertEquals(1, grant.generation());
+    }
+
+    @Test
+    void redeemRefreshToken_shouldRejectToken_alreadyRedeemed() {
+        String refreshToken = tokenService.generateRefreshToken(user());
+
+        assertNotNull(tokenService.redeemRefreshToken(refreshToken));
+        assertNull(tokenService.redeemRefreshToken(refreshToken));
+    }
+
+    @Test
+    void redeemRefreshToken_shouldAcceptSuccessor_andRejectItsPredecessor() {
+        RefreshGrant grant = tokenService.redeemRefreshToken(tokenService.generateRefreshToken(user()));
+        String successor = tokenService.generateRefreshToken(grant);
+
+        assertNotNull(tokenService.redeemRefreshToken(successor));
+        assertNull(tokenService.redeemRefreshToken(successor));
+    }
+
+    @Test
+    void redeemRefreshToken_shouldRejectToken_alreadyRedeemedOnAnotherInstance() {
+        TokenService otherInstance = tokenService("test-secret");
+        String refreshToken = tokenService.generateRefreshToken(user());
+
+        assertNotNull(otherInstance.redeemRefreshToken(refreshToken));
+        assertNull(tokenService.redeemRefreshToken(refreshToken));
+    }
+
+    @Test
+    void redeemRefreshToken_shouldRejectAccessToken() {
+        String accessToken = tokenService.generateToken(user());
+
+        assertNull(tokenService.redeemRefreshToken(accessToken));
+    }
+
+    @Test
+    void decodeToken_shouldRejectRefreshToken() {
+        String refreshToken = tokenService.generateRefreshToken(user());
+
+        assertNull(tokenService.decodeToken(refreshToken));
+        assertEquals("", tokenService.validateToken(refreshToken));
+    }
+
+    @Test
+    void onUserChanged_shouldRevokeTokensIssuedBefore() throws InterruptedException {
+        String accessToken = tokenService.generateToken(user());
+        String refreshToken = tokenService.generateRefreshToken(user());
+        assertNotNull(tokenService.decodeToken(accessToken));
+
+        tokenService.onUserChanged(new UserChangedEvent("user-1", "user@example.com"));
+        Thread.sleep(2);
+
+        assertNull(tokenService.decodeToken(accessToken));
+        assertNull(tokenService.redeemRefreshToken(refreshToken));
+        assertNotNull(tokenService.decodeToken(tokenService.generateToken(user())));
+        assertNotNull(tokenService.redeemRefreshToken(tokenService.generateRefreshToken(user())));
+    }
+
+    @Test
+    void onUserChanged_shouldRevokeTokens_onAnotherInstance() {
+        TokenService otherInstance = tokenService("test-secret", Duration.ZERO);
+        String accessToken = tokenService.generateToken(user());
+        assertNotNull(otherInstance.decodeToken(accessToken));
+
+        tokenService.onUserChanged(new UserChangedEvent("user-1", "user@example.com"));
+
+        assertNull(otherInstance.decodeToken(accessToken));
+    }
+
+    @Test
+    void decodeToken_shouldAcceptToken_issuedInTheSameSecondAfterRevocation() throws InterruptedException {
+        tokenService.onUserChanged(new UserChangedEvent("user-1", "user@example.com"));
+        Thread.sleep(2);
+
+        String accessToken = tokenService.generateToken(user());
+
+        assertNotNull(tokenService.decodeToken(accessToken));
+    }
+
+    @Test
+    void decodeToken_shouldRejectToken_issuedAtTheRevocationInstant() {
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        UserTokenState state = new UserTokenState("user-1");
+        state.setTokensRevokedAt(Date.from(issuedAt));
+        states.put("user-1", state);
+        String accessToken = JWT.create()
+                .withIssuer(TokenService.ISSUER)
+                .withSubject("user@example.com")
+                .withClaim(TokenService.USER_ID_CLAIM, "user-1")
+                .withIssuedAt(issuedAt)
+                .withClaim(TokenService.ISSUED_AT_MILLIS_CLAIM, issuedAt.toEpochMilli())
+                .withExpiresAt(issuedAt.plus(Duration.ofMinutes(15)))
+                .sign(Algorithm.HMAC256("test-secret"));
+
+        assertNull(tokenService.decodeToken(accessToken));
+    }
+
+    @Test
+    void onUserChanged_shouldKeepTokens_whenPasswordWasOnlyRehashed() {
+        String accessToken = tokenService.generateToken(user());
+        String refreshToken = tokenService.generateRefreshToken(user());
+
+        tokenService.onUserChanged(UserChangedEvent.passwordRehashed("user-1", "user@example.com"));
+
+        assertNotNull(tokenService.decodeToken(accessToken));
+        assertNotNull(tokenService.redeemRefreshToken(refreshToken));
+    }
+
+    @Test
+    void redeemRefreshToken_shouldRejectReplay_afterManyMoreRedemptions() {
+        String refreshToken = tokenService.generateRefreshToken(user());
+        assertNotNull(tokenService.redeemRefreshToken(refreshToken));
+
+        for (int i = 0; i < 5_000; i++) {
+            assertNotNull(tokenService.redeemRefreshToken(tokenService.generateRefreshToken(user())));
+        }
+
+        assertNull(tokenService.redeemRefreshToken(refreshToken));
+    }
+
+    @Test
+    void onUserChanged_shouldKeepRevocation_afterManyMoreUsersChanged() {
+        String accessToken = tokenService.generateToken(user());
+        tokenService.onUserChanged(new UserChangedEvent("user-1", "user@example.com"));
+
+        for (int i = 0; i < 5_000; i++) {
+            tokenService.onUserChanged(new UserChangedEvent("other-" + i, null));
+        }
+
+        assertNull(tokenService.decodeToken(accessToken));
+    }
+
+    @Test
+    void decodeToken_shouldReturnCachedToken_whenValidatedTwice() {
+        User user = new User();
+        user.setId("user-1");
+        user.setEmail("user@example.com");
+        String token = tokenService.generateToken(user);
+
+        DecodedJWT first = tokenService.decodeToken(token);
+        DecodedJWT second = tokenService.decodeToken(token);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals("user-1", second.getClaim(TokenService.USER_ID_CLAIM).asString());
+    }
+
+    @Test
+    void decodeToken_shouldRejectToken_signedWithAnotherSecret() {
+        User user = new User();
+        user.setEmail("user@example.com");
+        String foreignToken = tokenService("other-secret").generateToken(user);
+
+        assertNull(tokenService.decodeToken(foreignToken));
+    }
+
+    private TokenService tokenService(String secret) {
+        return tokenService(secret, Duration.ofSeconds(30));
+    }
+
+    /**
+     * Instances built here share {@link #states}, standing in for the user_token_states table.
+     */
+    private TokenService tokenService(String secret, Duration revocationCheckInterval) {
+        UserTokenStateRepository tokenStates = mock(UserTokenStateRepository.class);
+        when(tokenStates.findById(anyString())).thenAnswer(i -> Optional.ofNullable(states.get(i.<String>getArgument(0))));
+        when(tokenStates.save(any(UserTokenState.class))).thenAnswer(i -> {
+            UserTokenState state = i.getArgument(0);
+            states.put(state.getUserId(), state);
+            return state;
+        });
+        when(tokenStates.advanceRefreshGeneration(anyString(), anyLong())).thenAnswer(i -> {
+            UserTokenState state = states.get(i.<String>getArgument(0));
+            if (state == null || state.getRefreshGeneration() != i.<Long>getArgument(1)) {
+                return 0;
+            }
+            state.setRefreshGeneration(state.getRefreshGeneration() + 1);
+            return 1;
+        });
+        when(tokenStates.revokeTokens(anyString(), any(Date.class))).thenAnswer(i -> {
+            UserTokenState state = states.get(i.<String>getArgument(0));
+            if (state == null) {
+                return 0;
+            }
+            state.setRefreshGeneration(state.getRefreshGeneration() + 1);
+            state.setTokensRevokedAt(i.getArgument(1));
+            return 1;
+        });
+        return new TokenService(tokenStates, secret, 100, Duration.ofMinutes(15), Duration.ofDays(7),
+                revocationCheckInterval);
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId("user-1");
+        user.setName("User");
+        user.setEmail("user@example.com");
+        return user;
+    }
+
+}
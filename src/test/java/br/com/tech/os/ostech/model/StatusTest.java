@@ -0,0 +1,36 @@
+package br.com.tech.os.ostech.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatusTest {
+
+    @Test
+    @DisplayName("Deve permitir o fluxo de reparo completo")
+    void shouldAllowRepairFlow() {
+        assertTrue(Status.OPEN.canTransitionTo(Status.BUDGET));
+        assertTrue(Status.BUDGET.canTransitionTo(Status.IN_PROGRESS));
+        assertTrue(Status.IN_PROGRESS.canTransitionTo(Status.FINISHED));
+        assertTrue(Status.FINISHED.canTransitionTo(Status.EQUIPMENT_LEFT));
+    }
+
+    @Test
+    @DisplayName("Não deve permitir transições a partir da retirada do equipamento")
+    void shouldNotLeaveEquipmentLeft() {
+        Arrays.stream(Status.values()).forEach(next -> assertFalse(Status.EQUIPMENT_LEFT.canTransitionTo(next)));
+    }
+
+    @Test
+    @DisplayName("Não deve permitir reabrir nem manter o mesmo status")
+    void shouldRejectReopeningAndSelfTransitions() {
+        assertFalse(Status.FINISHED.canTransitionTo(Status.IN_PROGRESS));
+        assertFalse(Status.CANCELED.canTransitionTo(Status.OPEN));
+        Arrays.stream(Status.values()).forEach(status -> assertFalse(status.canTransitionTo(status)));
+    }
+
+}
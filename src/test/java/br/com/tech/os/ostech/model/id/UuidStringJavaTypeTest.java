@@ -0,0 +1,66 @@
+package br.com.tech.os.ostech.model.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UuidStringJavaTypeTest {
+
+    private final UuidStringJavaType javaType = new UuidStringJavaType();
+
+    @Test
+    @DisplayName("Deve converter o id textual para UUID nativo e de volta")
+    void shouldRoundTripThroughUuid() {
+        String id = UuidV7.randomUuid().toString();
+
+        UUID uuid = javaType.unwrap(id, UUID.class, null);
+
+        assertEquals(id, uuid.toString());
+        assertEquals(id, javaType.wrap(uuid, null));
+    }
+
+    @Test
+    @DisplayName("Deve converter o id textual para 16 bytes e de volta")
+    void shouldRoundTripThroughBinary() {
+        UUID uuid = UuidV7.randomUuid();
+
+        byte[] bytes = javaType.unwrap(uuid.toString(), byte[].class, null);
+
+        assertEquals(16, bytes.length);
+        assertEquals(uuid.toString(), javaType.wrap(bytes, null));
+    }
+
+    @Test
+    @DisplayName("Deve manter a ordem temporal nos bytes gravados")
+    void shouldKeepTimeOrderInBinaryForm() {
+        byte[] earlier = javaType.unwrap(UuidV7.randomUuid().toString(), byte[].class, null);
+        byte[] later = javaType.unwrap(UuidV7.randomUuid(Instant.now().plusSeconds(1)).toString(), byte[].class, null);
+
+        assertEquals(-1, Integer.signum(Arrays.compareUnsigned(earlier, later)));
+    }
+
+    @Test
+    @DisplayName("Deve usar o UUID nulo para ids que não são UUID")
+    void shouldBindMalformedIdsAsNilUuid() {
+        assertEquals(UuidStringJavaType.NIL, javaType.unwrap("inexistente", UUID.class, null));
+        assertEquals(UuidStringJavaType.NIL, javaType.unwrap("zzzzzzzz-zzzz-zzzz-zzzz-zzzzzzzzzzzz", UUID.class, null));
+        assertArrayEquals(new byte[16], javaType.unwrap("1-2-3-4-5", byte[].class, null));
+    }
+
+    @Test
+    @DisplayName("Deve normalizar ids em maiúsculas")
+    void shouldNormalizeUpperCaseIds() {
+        String id = UuidV7.randomUuid().toString();
+
+        assertEquals(id, javaType.wrap(javaType.unwrap(id.toUpperCase(), UUID.class, null), null));
+        assertNull(javaType.unwrap(null, UUID.class, null));
+    }
+
+}
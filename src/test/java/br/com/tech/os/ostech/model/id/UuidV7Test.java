@@ -0,0 +1,56 @@
+package br.com.tech.os.ostech.model.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7Test {
+
+    @Test
+    @DisplayName("Deve gerar UUID versão 7 com a variante RFC")
+    void shouldGenerateVersionSevenUuid() {
+        UUID uuid = UuidV7.randomUuid();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o instante em milissegundos nos 48 bits mais altos")
+    void shouldEncodeUnixMillisInTopBits() {
+        Instant instant = Instant.parse("2026-03-01T12:00:00.123456Z");
+
+        UUID uuid = UuidV7.randomUuid(instant);
+
+        assertEquals(instant.toEpochMilli(), uuid.getMostSignificantBits() >>> 16);
+        assertEquals(456_000L * 4096 / 1_000_000L, uuid.getMostSignificantBits() & 0xFFFL);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar o texto do UUID pelo instante de geração")
+    void shouldSortStringFormByGenerationTime() {
+        Instant instant = Instant.parse("2026-03-01T12:00:00Z");
+
+        String earlier = UuidV7.randomUuid(instant).toString();
+        String sameMillisLater = UuidV7.randomUuid(instant.plusNanos(500_000)).toString();
+        String nextMillis = UuidV7.randomUuid(instant.plusMillis(1)).toString();
+
+        assertTrue(earlier.compareTo(sameMillisLater) < 0);
+        assertTrue(sameMillisLater.compareTo(nextMillis) < 0);
+    }
+
+    @Test
+    @DisplayName("Deve gerar valores distintos no mesmo instante")
+    void shouldDifferWithinSameInstant() {
+        Instant instant = Instant.now();
+
+        assertNotEquals(UuidV7.randomUuid(instant), UuidV7.randomUuid(instant));
+    }
+
+}
@@ -0,0 +1,185 @@
+package br.com.tech.os.ostech.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the PostgreSQL migrations the way the application does (see {@code spring.flyway.*}) against databases of
+ * their own on the server of {@link PostgresTestDatabase}.
+ */
+@EnabledIf("br.com.tech.os.ostech.repository.PostgresTestDatabase#isAvailable")
+class FlywayMigrationTest {
+
+    private static final String LOCATION = "db/migration/postgresql";
+
+    private static final Set<String> CONCURRENT_INDEXES = Set.of(
+            "idx_clients_created_at_id", "idx_order_services_created_at_id",
+            "idx_clients_name_trgm", "idx_contacts_email_trgm", "idx_contacts_phone_trgm", "idx_smartphones_model_trgm");
+
+    private static final String KEY_TYPES = "SELECT table_name || '.' || column_name || ':' || data_type "
+            + "FROM information_schema.columns WHERE table_schema = current_schema() "
+            + "AND column_name IN ('id', 'technical_id', 'contact_id', 'smartphone_id', 'client_id', 'budget_id') "
+            + "AND table_name <> 'flyway_schema_history' ORDER BY 1";
+
+    private static final String FOREIGN_KEYS = "SELECT conrelid::regclass || ' ' || conname || ' ' || pg_get_constraintdef(oid) "
+            + "FROM pg_constraint WHERE contype = 'f' AND connamespace = current_schema()::regnamespace ORDER BY 1";
+
+    @Test
+    void migrate_shouldConvertVarcharKeysToUuidAndKeepForeignKeys() throws Exception {
+        String url = varcharKeyDatabase("migration_uuid_keys_test");
+        List<String> foreignKeys = query(url, FOREIGN_KEYS);
+        String keyBytes = "SELECT sum(pg_column_size(client_id) + pg_column_size(smartphone_id)) FROM order_services";
+        long keyBytesBefore = queryLong(url, keyBytes);
+
+        flyway(url, "2").migrate();
+
+        assertTrue(query(url, KEY_TYPES).stream()
+                .allMatch(column -> column.endsWith(":uuid") || column.equals("order_services.id:integer")));
+        assertEquals(foreignKeys, query(url, FOREIGN_KEYS));
+        assertEquals(1000, queryLong(url, "SELECT count(*) FROM order_services o "
+                + "JOIN clients c ON c.id = o.client_id JOIN smartphones s ON s.id = o.smartphone_id"));
+        assertEquals(1000 * 2 * 16, queryLong(url, keyBytes));
+        assertTrue(keyBytesBefore > 2 * queryLong(url, keyBytes));
+    }
+
+    @Test
+    void uuidKeys_shouldChangeNothingWhenRunAgain() throws Exception {
+        String url = varcharKeyDatabase("migration_uuid_keys_rerun_test");
+        flyway(url, "2").migrate();
+        List<String> keyTypes = query(url, KEY_TYPES);
+        List<String> foreignKeys = query(url, FOREIGN_KEYS);
+        String storage = "SELECT relname || ':' || relfilenode FROM pg_class WHERE relname IN "
+                + "('clients', 'order_services', 'smartphones', 'clients_pkey') ORDER BY 1";
+        List<String> files = query(url, storage);
+
+        execute(url, migration("V2__uuid_keys.sql"));
+
+        assertEquals(keyTypes, query(url, KEY_TYPES));
+        assertEquals(foreignKeys, query(url, FOREIGN_KEYS));
+        assertEquals(files, query(url, storage));
+    }
+
+    @Test
+    void migrate_shouldLeaveSchemaUntouched_whenAnIdIsNotAUuid() throws Exception {
+        String url = varcharKeyDatabase("migration_uuid_keys_invalid_test");
+        execute(url, "INSERT INTO clients (id, name, cpf) VALUES ('not-a-uuid', 'Cliente legado', 'cpf-legado')");
+        List<String> keyTypes = query(url, KEY_TYPES);
+        List<String> foreignKeys = query(url, FOREIGN_KEYS);
+
+        assertThrows(FlywayException.class, () -> flyway(url, "2").migrate());
+
+        assertTrue(keyTypes.stream().noneMatch(column -> column.endsWith(":uuid")));
+        assertEquals(keyTypes, query(url, KEY_TYPES));
+        assertEquals(foreignKeys, query(url, FOREIGN_KEYS));
+    }
+
+    @Test
+    void migrate_shouldBuildSearchAndKeysetIndexesOnBaselinedDatabase() throws Exception {
+        String url = PostgresTestDatabase.freshDatabase("migration_baseline_test");
+        execute(url, migration("V1__baseline.sql"));
+
+        flyway(url).migrate();
+
+        assertEquals(CONCURRENT_INDEXES, validIndexes(url, CONCURRENT_INDEXES));
+    }
+
+    /**
+     * A database as the code before the uuid mapping left it: the V1 schema with every uuid column as varchar, holding
+     * 300 clients and 1000 order services.
+     */
+    private static String varcharKeyDatabase(String name) throws Exception {
+        String url = PostgresTestDatabase.freshDatabase(name);
+        execute(url, migration("V1__baseline.sql").replace(" uuid", " varchar(255)"));
+        execute(url, """
+                INSERT INTO technicals (id, name) SELECT gen_random_uuid(), 'Técnico ' || g FROM generate_series(1, 10) g;
+                INSERT INTO clients (id, name, cpf) SELECT gen_random_uuid(), 'Cliente ' || g, 'cpf-' || g FROM generate_series(1, 300) g;
+                INSERT INTO smartphones (id, model) SELECT gen_random_uuid(), 'Modelo ' || g FROM generate_series(1, 1000) g;
+                INSERT INTO order_services (id, smartphone_id, client_id, status, created_at)
+                SELECT s.n, s.id, c.id, 'OPEN', localtimestamp
+                FROM (SELECT id, row_number() OVER (ORDER BY id) AS n FROM smartphones) s
+                JOIN (SELECT id, row_number() OVER (ORDER BY id) AS n FROM clients) c ON c.n = s.n % 300 + 1;
+                """);
+        return url;
+    }
+
+    private static Flyway flyway(String url) {
+        return flyway(url, "latest");
+    }
+
+    private static Flyway flyway(String url, String target) {
+        return Flyway.configure()
+                .dataSource(url, PostgresTestDatabase.username(), PostgresTestDatabase.password())
+                .locations("classpath:" + LOCATION)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .target(target)
+                .load();
+    }
+
+    private static String migration(String name) throws IOException {
+        try (InputStream script = FlywayMigrationTest.class.getClassLoader().getResourceAsStream(LOCATION + "/" + name)) {
+            return new String(script.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = PostgresTestDatabase.connect(url); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static List<String> query(String url, String sql) throws SQLException {
+        try (Connection connection = PostgresTestDatabase.connect(url);
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            List<String> rows = new ArrayList<>();
+            while (resultSet.next()) {
+                rows.add(resultSet.getString(1));
+            }
+            return rows;
+        }
+    }
+
+    private static long queryLong(String url, String sql) throws SQLException {
+        return Long.parseLong(query(url, sql).get(0));
+    }
+
+    private static Set<String> validIndexes(String url, Set<String> names) throws SQLException {
+        try (Connection connection = PostgresTestDatabase.connect(url);
+             PreparedStatement statement = connection.prepareStatement("SELECT c.relname FROM pg_index i "
+                     + "JOIN pg_class c ON c.oid = i.indexrelid WHERE i.indisvalid AND c.relname = ANY (?)")) {
+            Array array = connection.createArrayOf("text", names.toArray());
+            statement.setArray(1, array);
+            Set<String> valid = new HashSet<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    valid.add(resultSet.getString(1));
+                }
+            }
+            return valid;
+        }
+    }
+
+}
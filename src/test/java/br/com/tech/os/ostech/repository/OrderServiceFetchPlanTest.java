@@ -0,0 +1,140 @@
+package br.com.tech.os.ostech.repository;
+
+import br.com.tech.os.ostech.enums.OrderServiceSearchType;
+import br.com.tech.os.ostech.model.Budget;
+import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.model.Contact;
+import br.com.tech.os.ostech.model.OrderService;
+import br.com.tech.os.ostech.model.Smartphone;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.model.Technical;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServicePaginationRequest;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServicePaginationResponse;
+import br.com.tech.os.ostech.service.OrderServiceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@OrderServiceJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true"
+})
+class OrderServiceFetchPlanTest {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_STATEMENTS_PER_PAGE = 2;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderServiceService orderServiceService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        Technical technical = new Technical();
+        technical.setName("Técnico");
+        entityManager.persist(technical);
+
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Contact contact = new Contact();
+            contact.setEmail("cliente" + i + "@mail.com");
+            contact.setPhone("1199999" + i);
+
+            Client client = new Client();
+            client.setName("Cliente " + i);
+            client.setCpf("cpf-" + i);
+            client.setContact(contact);
+            entityManager.persist(client);
+
+            Smartphone smartphone = new Smartphone();
+            smartphone.setModel("Galaxy " + i);
+            entityManager.persist(smartphone);
+
+            Budget budget = new Budget();
+            budget.setTechnical(technical);
+            budget.setValue(100.0 + i);
+            entityManager.persist(budget);
+
+            OrderService orderService = new OrderService();
+            orderService.setClientId(client);
+            orderService.setSmartphoneId(smartphone);
+            orderService.setBudgetId(budget);
+            orderService.setStatus(Status.OPEN);
+            orderService.setCreatedAt(new Date(1_700_000_000_000L + i));
+            orderService.setUpdatedAt(orderService.getCreatedAt());
+            entityManager.persist(orderService);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void offsetPage_shouldLoadPageOfFiftyWithinStatementBudget() throws Exception {
+        OrderServicePaginationResponse response = orderServiceService.getOrderServicesPage(
+                new OrderServicePaginationRequest(0, PAGE_SIZE, OrderServiceSearchType.BLANK, ""));
+
+        assertPageLoadedWithinBudget(response, MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void clientSearchPage_shouldLoadPageOfFiftyWithinStatementBudget() throws Exception {
+        OrderServicePaginationResponse response = orderServiceService.getOrderServicesPage(
+                new OrderServicePaginationRequest(0, PAGE_SIZE, OrderServiceSearchType.CLIENT, "cliente"));
+
+        assertPageLoadedWithinBudget(response, MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void keysetPage_shouldLoadPageOfFiftyWithinStatementBudget() throws Exception {
+        OrderServicePaginationResponse response = orderServiceService.getOrderServicesPage(
+                new OrderServicePaginationRequest(0, PAGE_SIZE, OrderServiceSearchType.BLANK, "", "", false));
+
+        assertPageLoadedWithinBudget(response, MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void recentOrders_shouldLoadInSingleStatement() throws Exception {
+        objectMapper.writeValueAsString(orderServiceService.getRecentOrders());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void allOrders_shouldLoadInSingleStatement() throws Exception {
+        objectMapper.writeValueAsString(orderServiceService.getAllOrderServices());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void assertPageLoadedWithinBudget(OrderServicePaginationResponse response, int maxStatements) throws Exception {
+        String json = objectMapper.writeValueAsString(response);
+
+        assertEquals(PAGE_SIZE, response.getOrderServices().size());
+        assertTrue(json.contains("cliente0@mail.com"));
+        assertTrue(statistics.getPrepareStatementCount() <= maxStatements,
+                "expected at most " + maxStatements + " statements but was " + statistics.getPrepareStatementCount());
+    }
+
+}
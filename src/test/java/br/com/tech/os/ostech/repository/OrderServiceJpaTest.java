@@ -0,0 +1,46 @@
+package br.com.tech.os.ostech.repository;
+
+import br.com.tech.os.ostech.configuration.CacheConfiguration;
+import br.com.tech.os.ostech.repository.search.TrigramSearch;
+import br.com.tech.os.ostech.service.BudgetService;
+import br.com.tech.os.ostech.service.ClientService;
+import br.com.tech.os.ostech.service.OrderServiceService;
+import br.com.tech.os.ostech.service.SmartphoneService;
+import br.com.tech.os.ostech.service.TechnicalService;
+import br.com.tech.os.ostech.service.components.BulkImporter;
+import br.com.tech.os.ostech.service.components.NdjsonWriter;
+import br.com.tech.os.ostech.service.counters.AnalyticsCountersReconciler;
+import br.com.tech.os.ostech.service.counters.ClientCounters;
+import br.com.tech.os.ostech.service.counters.OrderServiceCounters;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AliasFor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link DataJpaTest} slice with the order service write and read paths wired the way the application wires them:
+ * the services, the analytics counters, the NDJSON writer, trigram search detection, the bulk importer and the caches.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest
+@Import({OrderServiceService.class, ClientService.class, SmartphoneService.class, BudgetService.class,
+        TechnicalService.class, OrderServiceCounters.class, ClientCounters.class, AnalyticsCountersReconciler.class,
+        NdjsonWriter.class, TrigramSearch.class, BulkImporter.class, CacheConfiguration.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+public @interface OrderServiceJpaTest {
+
+    @AliasFor(annotation = DataJpaTest.class)
+    String[] properties() default {};
+
+}
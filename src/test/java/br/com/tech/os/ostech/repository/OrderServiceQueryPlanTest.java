@@ -0,0 +1,194 @@
+package br.com.tech.os.ostech.repository;
+
+import br.com.tech.os.ostech.enums.OrderServiceSearchType;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServicePaginationRequest;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServicePaginationResponse;
+import br.com.tech.os.ostech.repository.search.LikePattern;
+import br.com.tech.os.ostech.service.OrderServiceService;
+import br.com.tech.os.ostech.service.counters.CounterUpdates;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@code EXPLAIN} on the SQL Hibernate actually sends for the pagination and analytics queries, against
+ * a PostgreSQL migrated by Flyway (see {@link PostgresTestDatabase}).
+ */
+@EnabledIf("br.com.tech.os.ostech.repository.PostgresTestDatabase#isAvailable")
+@OrderServiceJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "br.com.tech.os.ostech.repository.OrderServiceQueryPlanTest$CapturedStatements"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderServiceQueryPlanTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry, "query_plan_test");
+    }
+
+    private static final int PAGE_SIZE = 20;
+    private static final int ANALYTICS_WINDOW_DAYS = 40;
+
+    @Autowired
+    private OrderServiceService orderServiceService;
+
+    @Autowired
+    private OrderServiceRepository orderServiceRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // ~50k orders over three years, most of them closed, and one client every two hours.
+        jdbcTemplate.update("INSERT INTO clients (id, name, cpf, created_at, updated_at) "
+                + "SELECT gen_random_uuid(), 'Cliente ' || g, 'plan-' || g, "
+                + "localtimestamp - g * interval '2 hours', localtimestamp FROM generate_series(1, 20000) g");
+        jdbcTemplate.update("INSERT INTO order_services (id, status, created_at, updated_at, departure_date) "
+                + "SELECT nextval('order_services_seq'), "
+                + "CASE g % 40 WHEN 0 THEN 'OPEN' WHEN 1 THEN 'IN_PROGRESS' WHEN 2 THEN 'BUDGET' "
+                + "ELSE (ARRAY['FINISHED', 'CANCELED', 'EQUIPMENT_LEFT'])[g % 3 + 1] END, "
+                + "localtimestamp - g * interval '30 minutes', localtimestamp - g * interval '29 minutes', "
+                + "CASE WHEN g % 40 > 2 THEN localtimestamp - g * interval '28 minutes' END "
+                + "FROM generate_series(1, 50000) g");
+        jdbcTemplate.execute("ANALYZE order_services");
+        jdbcTemplate.execute("ANALYZE clients");
+        CapturedStatements.clear();
+    }
+
+    @Test
+    void recentOrders_shouldReadUpdatedAtIndex() {
+        orderServiceService.getRecentOrders();
+
+        assertUsesIndex(explain(CapturedStatements.last("order by"), 5), "idx_order_services_updated_at");
+    }
+
+    @Test
+    void recentOrderSummaries_shouldReadUpdatedAtIndex() {
+        orderServiceService.getRecentOrderSummaries();
+
+        assertUsesIndex(explain(CapturedStatements.last("order by"), 0, 5), "idx_order_services_updated_at");
+    }
+
+    @Test
+    void keysetWindowByOpenStatus_shouldReadPartialIndex() {
+        OrderServicePaginationResponse first = orderServiceService.getOrderServicesPage(
+                new OrderServicePaginationRequest(0, PAGE_SIZE, OrderServiceSearchType.STATUS, "OPEN", "", false));
+
+        assertUsesIndex(explain(CapturedStatements.first("order by"), "OPEN", PAGE_SIZE + 1),
+                "idx_order_services_open_status");
+        assertNotNull(first.getNextCursor());
+    }
+
+    @Test
+    void keysetWindow_shouldReadCreatedAtIndex() {
+        orderServiceService.getOrderServicesPage(
+                new OrderServicePaginationRequest(0, PAGE_SIZE, OrderServiceSearchType.BLANK, "", "", false));
+
+        assertUsesIndex(explain(CapturedStatements.first("order by"), PAGE_SIZE + 1),
+                "idx_order_services_created_at_id");
+    }
+
+    @Test
+    void clientNameSearch_shouldReadTrigramIndex() {
+        String pattern = LikePattern.contains("Cliente 1234");
+        clientRepository.searchByNameTrigram(pattern, PageRequest.of(0, PAGE_SIZE));
+
+        assertUsesIndex(explain(CapturedStatements.last("LIKE"), pattern, PAGE_SIZE), "idx_clients_name_trgm");
+    }
+
+    @Test
+    void offsetPageByOpenStatus_shouldCountThroughPartialIndex() {
+        orderServiceRepository.findSummariesByStatus(Status.IN_PROGRESS, PageRequest.of(1, PAGE_SIZE));
+
+        assertUsesIndex(explain(CapturedStatements.last("count("), "IN_PROGRESS"), "idx_order_services_open_status");
+    }
+
+    @Test
+    void ordersCreatedSince_shouldReadCreatedAtIndex() {
+        Timestamp since = analyticsWindowStart();
+        orderServiceRepository.findCreatedAtSince(since);
+
+        assertUsesIndex(explain(CapturedStatements.last("created_at>="), since), "idx_order_services_created_at_id");
+    }
+
+    @Test
+    void departuresSince_shouldReadDepartureDateIndex() {
+        Timestamp since = analyticsWindowStart();
+        orderServiceRepository.findDepartureDatesSince(since);
+
+        assertUsesIndex(explain(CapturedStatements.last("departure_date>="), since), "idx_order_services_departure_date");
+    }
+
+    @Test
+    void clientsCreatedSince_shouldReadCreatedAtIndex() {
+        Timestamp since = analyticsWindowStart();
+        clientRepository.findCreatedAtSince(since);
+
+        assertUsesIndex(explain(CapturedStatements.last("created_at>="), since), "idx_clients_created_at_id");
+    }
+
+    private static Timestamp analyticsWindowStart() {
+        return new Timestamp(CounterUpdates.startOf(LocalDate.now(CounterUpdates.ZONE).minusDays(ANALYTICS_WINDOW_DAYS)).getTime());
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+    public static class CapturedStatements implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static String first(String fragment) {
+            return STATEMENTS.stream().filter(sql -> sql.contains(fragment)).findFirst()
+                    .orElseThrow(() -> new AssertionError("No statement with '" + fragment + "' in " + STATEMENTS));
+        }
+
+        static String last(String fragment) {
+            return STATEMENTS.stream().filter(sql -> sql.contains(fragment)).reduce((first, second) -> second)
+                    .orElseThrow(() -> new AssertionError("No statement with '" + fragment + "' in " + STATEMENTS));
+        }
+
+    }
+
+}
@@ -0,0 +1,260 @@
+package br.com.tech.os.ostech.repository;
+
+import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.model.OrderService;
+import br.com.tech.os.ostech.model.Smartphone;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.enums.OrderServiceSearchType;
+import br.com.tech.os.ostech.enums.ResponseView;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceAnalyticsResponse;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServicePaginationRequest;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceLastUpdateResponse;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServicePaginationResponse;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceSummary;
+import br.com.tech.os.ostech.service.OrderServiceService;
+import br.com.tech.os.ostech.service.counters.CounterUpdates;
+import br.com.tech.os.ostech.repository.search.TrigramSearch;
+import br.com.tech.os.ostech.service.counters.AnalyticsCountersReconciler;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@OrderServiceJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true"
+})
+class OrderServiceRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderServiceService orderServiceService;
+
+    @Autowired
+    private AnalyticsCountersReconciler reconciler;
+
+    @Autowired
+    private TrigramSearch trigramSearch;
+
+    private Statistics statistics;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        client = new Client();
+        client.setName("Cliente Analytics");
+        client.setCpf("00011122233");
+        entityManager.persist(client);
+
+        Date now = new Date();
+        Date twoMonthsAgo = Date.from(Instant.now().minus(Duration.ofDays(60)));
+
+        persistOrder(client, now, null);
+        persistOrder(client, now, now);
+        persistOrder(client, twoMonthsAgo, null);
+        persistOrder(client, twoMonthsAgo, twoMonthsAgo);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void getOrderAnalytics_shouldIssueSingleStatement() {
+        OrderServiceAnalyticsResponse analytics = orderServiceService.getOrderAnalytics();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        assertEquals(4, analytics.getTotalOrders());
+        assertEquals(2, analytics.getLastMonthOrders());
+        assertEquals(2, analytics.getExitOrders());
+        assertEquals(1, analytics.getExitOrdersLastMonth());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void getOrderAnalytics_shouldAnswerFromCountersOnceReconciled() {
+        OrderServiceAnalyticsResponse fromDatabase = orderServiceService.getOrderAnalytics();
+
+        reconciler.reconcile();
+        statistics.clear();
+        OrderServiceAnalyticsResponse fromCounters = orderServiceService.getOrderAnalytics();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(fromDatabase.getTotalOrders(), fromCounters.getTotalOrders());
+        assertEquals(fromDatabase.getLastMonthOrders(), fromCounters.getLastMonthOrders());
+        assertEquals(fromDatabase.getExitOrders(), fromCounters.getExitOrders());
+        assertEquals(fromDatabase.getExitOrdersLastMonth(), fromCounters.getExitOrdersLastMonth());
+        assertEquals(fromDatabase.getOrderServiceAnalyticsWeekResponse(), fromCounters.getOrderServiceAnalyticsWeekResponse());
+        assertEquals(4, fromCounters.getOrdersByStatus().get(Status.OPEN));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void getOrderAnalytics_shouldCutDaysInTheSameZoneBeforeAndAfterReconcile() {
+        LocalDate today = LocalDate.now(CounterUpdates.ZONE);
+        LocalDate weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+        Date midnight = CounterUpdates.startOf(weekStart);
+        Date minuteBefore = new Date(midnight.getTime() - 60_000);
+        persistOrder(client, minuteBefore, minuteBefore);
+        persistOrder(client, midnight, midnight);
+        entityManager.flush();
+        entityManager.clear();
+
+        OrderServiceAnalyticsResponse fromDatabase = orderServiceService.getOrderAnalytics();
+        reconciler.reconcile();
+        OrderServiceAnalyticsResponse fromCounters = orderServiceService.getOrderAnalytics();
+
+        int ordersCreatedToday = today.equals(weekStart) ? 2 : 0;
+        assertEquals(1 + ordersCreatedToday, fromDatabase.getOrderServiceAnalyticsWeekResponse().getEntrySunday());
+        assertEquals(fromDatabase.getOrderServiceAnalyticsWeekResponse(), fromCounters.getOrderServiceAnalyticsWeekResponse());
+        assertEquals(fromDatabase.getLastWeekOrders(), fromCounters.getLastWeekOrders());
+        assertEquals(fromDatabase.getExitOrdersLastWeek(), fromCounters.getExitOrdersLastWeek());
+    }
+
+    @Test
+    void streamAllOrderServices_shouldWriteEveryRowWithSingleStatement() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        orderServiceService.streamAllOrderServices(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getOrderServicesPage_shouldWalkKeysetPagesWithoutCountQuery() {
+        List<OrderService> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+
+        do {
+            statistics.clear();
+            OrderServicePaginationResponse response = orderServiceService.getOrderServicesPage(
+                    new OrderServicePaginationRequest(0, 3, OrderServiceSearchType.BLANK, "", cursor, false));
+            assertEquals(2, statistics.getQueryExecutionCount());
+            assertNull(response.getTotalPages());
+            seen.addAll(response.getOrderServices());
+            cursor = response.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(2, pages);
+        assertEquals(4, seen.size());
+        assertEquals(4, seen.stream().map(OrderService::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(!seen.get(i).getCreatedAt().after(seen.get(i - 1).getCreatedAt()));
+        }
+    }
+
+    @Test
+    void getOrderServicesPage_shouldIncludeTotalOnKeysetWhenRequested() {
+        OrderServicePaginationResponse response = orderServiceService.getOrderServicesPage(
+                new OrderServicePaginationRequest(0, 3, OrderServiceSearchType.STATUS, "OPEN", "", true));
+
+        assertEquals(2, response.getTotalPages());
+        assertEquals(3, response.getOrderServices().size());
+    }
+
+    @Test
+    void getOrderServicesPage_shouldFallBackToPortableSearchOnH2() {
+        OrderServicePaginationResponse response = orderServiceService.getOrderServicesPage(
+                new OrderServicePaginationRequest(0, 10, OrderServiceSearchType.CLIENT, "analytics"));
+
+        assertFalse(trigramSearch.isAvailable());
+        assertEquals(4, response.getOrderServices().size());
+    }
+
+    @Test
+    void getOrderServicesPage_shouldMatchWildcardsLiterallyOnEverySearchPath() {
+        for (String searchValue : List.of("%", "_nalytics", "\\")) {
+            assertEquals(0, orderServiceService.getOrderServicesPage(
+                    new OrderServicePaginationRequest(0, 10, OrderServiceSearchType.CLIENT, searchValue)).getOrderServices().size());
+            assertEquals(0, orderServiceService.getOrderServicesPage(
+                    new OrderServicePaginationRequest(0, 10, OrderServiceSearchType.CLIENT, searchValue, "", false)).getOrderServices().size());
+            assertEquals(0, orderServiceService.getOrderServicesPage(
+                    new OrderServicePaginationRequest(0, 10, OrderServiceSearchType.CLIENT, searchValue, null, true, ResponseView.COMPACT)).getSummaries().size());
+        }
+    }
+
+    @Test
+    void getOrderServicesPage_shouldSelectSummariesWithoutLoadingEntities() {
+        OrderServicePaginationResponse response = orderServiceService.getOrderServicesPage(
+                new OrderServicePaginationRequest(0, 10, OrderServiceSearchType.CLIENT, "Analytics", null, true, ResponseView.COMPACT));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertNull(response.getOrderServices());
+        assertEquals(4, response.getSummaries().size());
+        OrderServiceSummary summary = response.getSummaries().get(0);
+        assertEquals("Cliente Analytics", summary.clientName());
+        assertEquals("Galaxy", summary.smartphoneModel());
+        assertNull(summary.budgetValue());
+    }
+
+    @Test
+    void getOrderServicesPage_shouldWalkKeysetPagesInCompactView() {
+        OrderServicePaginationResponse first = orderServiceService.getOrderServicesPage(
+                new OrderServicePaginationRequest(0, 3, OrderServiceSearchType.BLANK, "", "", false, ResponseView.COMPACT));
+        OrderServicePaginationResponse second = orderServiceService.getOrderServicesPage(
+                new OrderServicePaginationRequest(0, 3, OrderServiceSearchType.BLANK, "", first.getNextCursor(), false, ResponseView.COMPACT));
+
+        assertEquals(3, first.getSummaries().size());
+        assertEquals(1, second.getSummaries().size());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void getRecentOrderSummaries_shouldIssueSingleStatement() {
+        OrderServiceLastUpdateResponse response = orderServiceService.getRecentOrderSummaries();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(4, response.getLastUpdateSummaries().size());
+    }
+
+    private void persistOrder(Client client, Date createdAt, Date departureDate) {
+        Smartphone smartphone = new Smartphone();
+        smartphone.setModel("Galaxy");
+        entityManager.persist(smartphone);
+
+        OrderService orderService = new OrderService();
+        orderService.setClientId(client);
+        orderService.setSmartphoneId(smartphone);
+        orderService.setStatus(Status.OPEN);
+        orderService.setCreatedAt(createdAt);
+        orderService.setUpdatedAt(createdAt);
+        orderService.setDepartureDate(departureDate);
+        entityManager.persist(orderService);
+    }
+
+}
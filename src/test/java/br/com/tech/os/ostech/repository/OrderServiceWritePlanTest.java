@@ -0,0 +1,203 @@
+package br.com.tech.os.ostech.repository;
+
+import br.com.tech.os.ostech.exception.InvalidBudgetIdException;
+import br.com.tech.os.ostech.exception.InvalidClientIdException;
+import br.com.tech.os.ostech.exception.InvalidOrderServiceInformationException;
+import br.com.tech.os.ostech.exception.InvalidOrderServiceVersionException;
+import br.com.tech.os.ostech.exception.InvalidSmartphoneIdException;
+import br.com.tech.os.ostech.model.Budget;
+import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.model.OrderService;
+import br.com.tech.os.ostech.model.OrderServiceStatusChange;
+import br.com.tech.os.ostech.model.Smartphone;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceCreateDTO;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceStatusUpdateDTO;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceUpdateDTO;
+import br.com.tech.os.ostech.service.OrderServiceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@OrderServiceJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true"
+})
+class OrderServiceWritePlanTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderServiceService orderServiceService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderServiceStatusChangeRepository statusChangeRepository;
+
+    private Statistics statistics;
+
+    private Client client;
+
+    private Smartphone smartphone;
+
+    private Budget budget;
+
+    private OrderService existing;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        client = new Client();
+        client.setName("Cliente");
+        client.setCpf("12345678900");
+        entityManager.persist(client);
+
+        smartphone = new Smartphone();
+        smartphone.setModel("Galaxy");
+        entityManager.persist(smartphone);
+
+        budget = new Budget();
+        budget.setValue(100.0);
+        entityManager.persist(budget);
+
+        // Two rows of each, so the pooled sequence optimizers already hold a block of ids when statements are counted.
+        existing = persistOrderService("Moto");
+        persistOrderService("iPhone");
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void createOrderService_shouldInsertTheOrderServiceAndItsFirstStatusAndReadItBackOnce() throws Exception {
+        OrderService orderService = orderServiceService.createOrderService(
+                new OrderServiceCreateDTO(smartphone.getId(), client.getId(), budget.getId(), "OPEN"));
+        entityManager.flush();
+        String json = objectMapper.writeValueAsString(orderService);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityInsertCount());
+        assertTrue(json.contains("\"name\":\"Cliente\""));
+        assertTrue(json.contains("\"model\":\"Galaxy\""));
+        assertTrue(json.contains("\"value\":100.0"));
+    }
+
+    @Test
+    void updateOrderService_shouldSelectTheOrderServiceUpdateItLogTheStatusChangeAndReadItBackOnce() throws Exception {
+        Smartphone otherSmartphone = new Smartphone();
+        otherSmartphone.setModel("Pixel");
+        entityManager.persistAndFlush(otherSmartphone);
+        entityManager.clear();
+        statistics.clear();
+
+        OrderService orderService = orderServiceService.updateOrderService(String.valueOf(existing.getId()),
+                new OrderServiceUpdateDTO(otherSmartphone.getId(), budget.getId(), "FINISHED", client.getId(), null), null);
+        entityManager.flush();
+        String json = objectMapper.writeValueAsString(orderService);
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertTrue(json.contains("\"model\":\"Pixel\""));
+        assertTrue(json.contains("\"value\":100.0"));
+    }
+
+    @Test
+    void createOrderService_shouldThrowInvalidClientId_whenClientDoesNotExist() {
+        OrderServiceCreateDTO dto = new OrderServiceCreateDTO(smartphone.getId(), UUID.randomUUID().toString(), null, "OPEN");
+
+        assertThrows(InvalidClientIdException.class, () -> orderServiceService.createOrderService(dto));
+    }
+
+    @Test
+    void createOrderService_shouldThrowInvalidSmartphoneId_whenSmartphoneIdIsMalformed() {
+        OrderServiceCreateDTO dto = new OrderServiceCreateDTO("not-a-uuid", client.getId(), null, "OPEN");
+
+        assertThrows(InvalidSmartphoneIdException.class, () -> orderServiceService.createOrderService(dto));
+    }
+
+    @Test
+    void updateOrderService_shouldThrowInvalidBudgetId_whenBudgetDoesNotExist() {
+        OrderServiceUpdateDTO dto = new OrderServiceUpdateDTO(smartphone.getId(), UUID.randomUUID().toString(), null,
+                client.getId(), null);
+
+        assertThrows(InvalidBudgetIdException.class,
+                () -> orderServiceService.updateOrderService(String.valueOf(existing.getId()), dto, null));
+    }
+
+    @Test
+    void changeStatus_shouldWriteConditionalUpdateAndStatusChange() {
+        String id = String.valueOf(existing.getId());
+
+        orderServiceService.changeStatus(id, new OrderServiceStatusUpdateDTO("OPEN", "IN_PROGRESS"), existing.getVersion());
+        entityManager.flush();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(statusChangeRepository.findAll().stream().anyMatch(change ->
+                change.getOrderServiceId().equals(existing.getId())
+                        && change.getFromStatus() == Status.OPEN && change.getToStatus() == Status.IN_PROGRESS));
+        OrderService changed = entityManager.find(OrderService.class, existing.getId());
+        assertEquals(Status.IN_PROGRESS, changed.getStatus());
+        assertEquals(existing.getVersion() + 1, changed.getVersion());
+    }
+
+    @Test
+    void changeStatus_shouldRejectStaleVersion() {
+        String id = String.valueOf(existing.getId());
+        OrderServiceStatusUpdateDTO dto = new OrderServiceStatusUpdateDTO("OPEN", "IN_PROGRESS");
+        orderServiceService.changeStatus(id, new OrderServiceStatusUpdateDTO("OPEN", "BUDGET"), existing.getVersion());
+        OrderServiceStatusUpdateDTO back = new OrderServiceStatusUpdateDTO("BUDGET", "IN_PROGRESS");
+
+        assertThrows(InvalidOrderServiceVersionException.class,
+                () -> orderServiceService.changeStatus(id, back, existing.getVersion()));
+        assertThrows(InvalidOrderServiceInformationException.class,
+                () -> orderServiceService.changeStatus(id, dto, null));
+    }
+
+    @Test
+    void updateOrderService_shouldRejectStaleVersion() {
+        OrderServiceUpdateDTO dto = new OrderServiceUpdateDTO(smartphone.getId(), budget.getId(), "FINISHED",
+                client.getId(), null);
+
+        assertThrows(InvalidOrderServiceVersionException.class,
+                () -> orderServiceService.updateOrderService(String.valueOf(existing.getId()), dto, existing.getVersion() + 1));
+    }
+
+    private OrderService persistOrderService(String smartphoneModel) {
+        Smartphone orderSmartphone = new Smartphone();
+        orderSmartphone.setModel(smartphoneModel);
+        entityManager.persist(orderSmartphone);
+
+        OrderService orderService = new OrderService();
+        orderService.setClientId(client);
+        orderService.setSmartphoneId(orderSmartphone);
+        orderService.setStatus(Status.OPEN);
+        orderService.setCreatedAt(new Date());
+        orderService.setUpdatedAt(orderService.getCreatedAt());
+        entityManager.persist(orderService);
+        entityManager.persist(new OrderServiceStatusChange(orderService.getId(), null, Status.OPEN,
+                orderService.getCreatedAt()));
+        return orderService;
+    }
+
+}
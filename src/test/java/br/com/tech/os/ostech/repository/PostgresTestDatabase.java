@@ -0,0 +1,100 @@
+package br.com.tech.os.ostech.repository;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A PostgreSQL server for the tests that need the real database: the one at {@code -Dtest.postgres.url} when given,
+ * otherwise a Testcontainers {@code postgres:16} started once per JVM when Docker is available. Tests guard
+ * themselves with {@code @EnabledIf("br.com.tech.os.ostech.repository.PostgresTestDatabase#isAvailable")} and
+ * each works in a database of its own, created empty by {@link #freshDatabase(String)}.
+ */
+public final class PostgresTestDatabase {
+
+    private static final String URL_PROPERTY = "test.postgres.url";
+
+    private static PostgreSQLContainer<?> container;
+
+    private PostgresTestDatabase() {
+    }
+
+    public static boolean isAvailable() {
+        return configuredUrl() != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    /**
+     * Drops and recreates {@code name} on the server and returns its JDBC URL.
+     */
+    public static synchronized String freshDatabase(String name) {
+        try (Connection connection = connect(serverUrl()); Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + name + " WITH (FORCE)");
+            statement.execute("CREATE DATABASE " + name);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create test database " + name, e);
+        }
+        return withDatabase(serverUrl(), name);
+    }
+
+    /**
+     * Points the Spring datasource at a fresh database, migrated by Flyway and validated by Hibernate on startup.
+     */
+    public static void register(DynamicPropertyRegistry registry, String name) {
+        String url = freshDatabase(name);
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", PostgresTestDatabase::username);
+        registry.add("spring.datasource.password", PostgresTestDatabase::password);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> "false");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration/postgresql");
+    }
+
+    public static Connection connect(String url) throws SQLException {
+        return DriverManager.getConnection(url, username(), password());
+    }
+
+    public static String username() {
+        return configuredUrl() != null ? System.getProperty("test.postgres.username", "postgres") : container().getUsername();
+    }
+
+    public static String password() {
+        return configuredUrl() != null ? System.getProperty("test.postgres.password", "") : container().getPassword();
+    }
+
+    private static String serverUrl() {
+        return configuredUrl() != null ? configuredUrl() : container().getJdbcUrl();
+    }
+
+    private static String configuredUrl() {
+        String url = System.getProperty(URL_PROPERTY);
+        return url == null || url.isBlank() ? null : url;
+    }
+
+    private static synchronized PostgreSQLContainer<?> container() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+        }
+        return container;
+    }
+
+    private static String withDatabase(String url, String name) {
+        int hostStart = url.indexOf("//") + 2;
+        int pathStart = url.indexOf('/', hostStart);
+        int queryStart = url.indexOf('?', hostStart);
+        String query = queryStart < 0 ? "" : url.substring(queryStart);
+        String server = pathStart < 0 || (queryStart >= 0 && queryStart < pathStart)
+                ? url.substring(0, queryStart < 0 ? url.length() : queryStart)
+                : url.substring(0, pathStart);
+        return server + "/" + name + query;
+    }
+
+}
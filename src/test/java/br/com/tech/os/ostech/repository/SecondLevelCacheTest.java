@@ -0,0 +1,139 @@
+package br.com.tech.os.ostech.repository;
+
+import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.model.Contact;
+import br.com.tech.os.ostech.model.Technical;
+import br.com.tech.os.ostech.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TechnicalRepository technicalRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientRepository.deleteAll();
+        technicalRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findClientById_shouldLoadClientAndContactFromCache() {
+        Contact contact = new Contact();
+        contact.setEmail("maria@techos.com");
+        contact.setPhone("11999999999");
+        Client client = new Client();
+        client.setName("Maria");
+        client.setCpf("12345678900");
+        client.setContact(contact);
+        client.setCreatedAt(new Date());
+        String id = clientRepository.save(client).getId();
+        clientRepository.findById(id);
+        statistics.clear();
+
+        Client cached = clientRepository.findById(id).orElseThrow();
+
+        assertEquals("maria@techos.com", cached.getContact().getEmail());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void findTechnicalById_shouldSkipSqlOnRepeatedLookups() {
+        String id = technicalRepository.save(technical("Carlos")).getId();
+        technicalRepository.findById(id);
+        statistics.clear();
+
+        Technical cached = technicalRepository.findById(id).orElseThrow();
+
+        assertEquals("Carlos", cached.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void existsByName_shouldAnswerFromQueryCache() {
+        technicalRepository.save(technical("Carlos"));
+        technicalRepository.existsByName("Carlos");
+        statistics.clear();
+
+        assertTrue(technicalRepository.existsByName("Carlos"));
+        assertTrue(technicalRepository.findByName("Carlos").isPresent());
+        assertTrue(technicalRepository.findByName("Carlos").isPresent());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void existsByName_shouldMissQueryCacheAfterTechnicalsChange() {
+        Technical technical = technicalRepository.save(technical("Carlos"));
+        technicalRepository.existsByName("Carlos");
+
+        technical.setName("Carla");
+        technicalRepository.save(technical);
+
+        assertFalse(technicalRepository.existsByName("Carlos"));
+        assertTrue(technicalRepository.existsByName("Carla"));
+    }
+
+    @Test
+    void findByEmail_shouldSkipSqlOnRepeatedLookups() {
+        User user = new User();
+        user.setName("Admin");
+        user.setEmail("admin@techos.com");
+        user.setPassword("hash");
+        userRepository.save(user);
+        userRepository.findByEmail("admin@techos.com");
+        statistics.clear();
+
+        User cached = userRepository.findByEmail("admin@techos.com");
+
+        assertEquals("Admin", cached.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    private static Technical technical(String name) {
+        Technical technical = new Technical();
+        technical.setName(name);
+        return technical;
+    }
+
+}
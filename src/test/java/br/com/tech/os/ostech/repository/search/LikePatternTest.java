@@ -0,0 +1,18 @@
+package br.com.tech.os.ostech.repository.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LikePatternTest {
+
+    @Test
+    @DisplayName("Deve montar o padrão de busca em minúsculas e com curingas escapados")
+    void shouldBuildEscapedLowercasePattern() {
+        assertEquals("%galaxy s2%", LikePattern.contains("Galaxy S2"));
+        assertEquals("%100\\%\\_off\\\\%", LikePattern.contains("100%_OFF\\"));
+        assertEquals("%", LikePattern.contains(null));
+    }
+
+}
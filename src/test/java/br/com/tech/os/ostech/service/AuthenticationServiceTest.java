@@ -1,24 +1,29 @@
 package br.com.tech.os.ostech.service;
 
 import br.com.tech.os.ostech.model.User;
+import br.com.tech.os.ostech.model.event.UserChangedEvent;
 import br.com.tech.os.ostech.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class AuthenticationServiceTest {
 
     private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
     private AuthenticationService authenticationService;
 
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
-        authenticationService = new AuthenticationService(userRepository);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        authenticationService = new AuthenticationService(userRepository, eventPublisher);
 
     }
 
@@ -42,4 +47,20 @@ class AuthenticationServiceTest {
                 authenticationService.loadUserByUsername("notfound@example.com")
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void updatePassword_shouldSaveRehashedPasswordAndEvictPrincipal() {
+        User user = new User();
+        user.setId("user-1");
+        user.setEmail("test@example.com");
+        user.setPassword("$2a$04$old");
+        when(userRepository.save(user)).thenReturn(user);
+
+        var result = authenticationService.updatePassword(user, "$2a$12$new");
+
+        assertEquals("$2a$12$new", result.getPassword());
+        verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(UserChangedEvent.passwordRehashed("user-1", "test@example.com"));
+    }
+
+}
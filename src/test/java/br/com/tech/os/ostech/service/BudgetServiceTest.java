@@ -1,22 +1,28 @@
 package br.com.tech.os.ostech.service;
 
+import br.com.tech.os.ostech.configuration.CacheConfiguration;
 import br.com.tech.os.ostech.exception.InvalidBudgetIdException;
 import br.com.tech.os.ostech.model.Budget;
 import br.com.tech.os.ostech.model.Technical;
 import br.com.tech.os.ostech.model.dto.budgetDTO.BudgetCreateDTO;
 import br.com.tech.os.ostech.model.dto.budgetDTO.BudgetUpdateDTO;
 import br.com.tech.os.ostech.repository.BudgetRepository;
-import br.com.tech.os.ostech.repository.TechnicalRepository;
+import br.com.tech.os.ostech.service.components.NdjsonWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,7 +35,13 @@ class BudgetServiceTest {
     private BudgetRepository budgetRepository;
 
     @Mock
-    private TechnicalRepository technicalRepository;
+    private TechnicalService technicalService;
+
+    @Mock
+    private NdjsonWriter ndjsonWriter;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfiguration.BUDGETS);
 
     @InjectMocks
     private BudgetService budgetService;
@@ -54,7 +66,7 @@ class BudgetServiceTest {
     @DisplayName("Deve criar um orçamento com sucesso")
     void createBudgetShouldSucceed() {
         BudgetCreateDTO dto = new BudgetCreateDTO(100.0, "desc", "obs", true, "tech-1");
-        when(technicalRepository.findById("tech-1")).thenReturn(Optional.of(technical));
+        when(technicalService.findTechnicalById("tech-1")).thenReturn(Optional.of(technical));
         when(budgetRepository.save(any(Budget.class))).thenReturn(budget);
 
         Budget result = budgetService.createBudget(dto);
@@ -73,10 +85,10 @@ class BudgetServiceTest {
         BudgetUpdateDTO dto = new BudgetUpdateDTO(200.0, "nova desc", "nova obs", false, "tech-1");
         when(budgetRepository.existsById("budget-1")).thenReturn(true);
         when(budgetRepository.findById("budget-1")).thenReturn(Optional.of(budget));
-        when(technicalRepository.findById("tech-1")).thenReturn(Optional.of(technical));
+        when(technicalService.findTechnicalById("tech-1")).thenReturn(Optional.of(technical));
         when(budgetRepository.save(any(Budget.class))).thenReturn(budget);
 
-        Budget result = budgetService.updateBudget("budget-1", dto);
+        Budget result = budgetService.updateBudget("budget-1", dto, null);
 
         assertEquals(dto.value(), result.getValue());
         assertEquals(dto.description(), result.getDescription());
@@ -91,14 +103,14 @@ class BudgetServiceTest {
         BudgetUpdateDTO dto = new BudgetUpdateDTO(200.0, "nova desc", "nova obs", false, "tech-1");
         when(budgetRepository.existsById("budget-2")).thenReturn(false);
 
-        assertThrows(InvalidBudgetIdException.class, () -> budgetService.updateBudget("budget-2", dto));
+        assertThrows(InvalidBudgetIdException.class, () -> budgetService.updateBudget("budget-2", dto, null));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao criar orçamento com technicalId inexistente")
     void createBudgetShouldThrowWhenTechnicalNotFound() {
         BudgetCreateDTO dto = new BudgetCreateDTO(100.0, "desc", "obs", true, "tech-invalido");
-        when(technicalRepository.findById("tech-invalido")).thenReturn(Optional.empty());
+        when(technicalService.findTechnicalById("tech-invalido")).thenReturn(Optional.empty());
 
         assertThrows(InvalidBudgetIdException.class, () -> budgetService.createBudget(dto));
     }
@@ -108,9 +120,9 @@ class BudgetServiceTest {
     void updateBudgetShouldThrowWhenTechnicalNotFound() {
         BudgetUpdateDTO dto = new BudgetUpdateDTO(200.0, "nova desc", "nova obs", false, "tech-invalido");
         when(budgetRepository.existsById("budget-1")).thenReturn(true);
-        when(technicalRepository.findById("tech-invalido")).thenReturn(Optional.empty());
+        when(technicalService.findTechnicalById("tech-invalido")).thenReturn(Optional.empty());
 
-        assertThrows(InvalidBudgetIdException.class, () -> budgetService.updateBudget("budget-1", dto));
+        assertThrows(InvalidBudgetIdException.class, () -> budgetService.updateBudget("budget-1", dto, null));
     }
 
     @Test
@@ -136,6 +148,8 @@ class BudgetServiceTest {
     @Test
     @DisplayName("Deve buscar orçamento por ID com sucesso")
     void getBudgetByIdShouldSucceed() {
+        budget.setVersion(0L);
+        when(budgetRepository.findVersionById("budget-1")).thenReturn(Optional.of(0L));
         when(budgetRepository.findById("budget-1")).thenReturn(Optional.of(budget));
 
         Budget result = budgetService.getBudgetById("budget-1");
@@ -147,7 +161,7 @@ class BudgetServiceTest {
     @Test
     @DisplayName("Deve lançar exceção ao buscar orçamento inexistente por ID")
     void getBudgetByIdShouldThrowWhenNotFound() {
-        when(budgetRepository.findById("budget-2")).thenReturn(Optional.empty());
+        when(budgetRepository.findVersionById("budget-2")).thenReturn(Optional.empty());
 
         assertThrows(InvalidBudgetIdException.class, () -> budgetService.getBudgetById("budget-2"));
     }
@@ -162,4 +176,18 @@ class BudgetServiceTest {
         assertEquals(1, result.size());
         verify(budgetRepository).findAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve transmitir todos os orçamentos a partir do stream do repositório")
+    void streamAllBudgets_shouldWriteRepositoryStream() throws Exception {
+        Stream<Budget> budgets = Stream.of(budget);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(budgetRepository.streamAll()).thenReturn(budgets);
+
+        budgetService.streamAllBudgets(outputStream);
+
+        verify(ndjsonWriter).write(budgets, outputStream);
+        verify(budgetRepository, never()).findAll();
+    }
+
+}
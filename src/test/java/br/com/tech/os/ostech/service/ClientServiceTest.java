@@ -1,6 +1,7 @@
 package br.com.tech.os.ostech.service;
 
 import br.com.tech.os.ostech.TestDummies;
+import br.com.tech.os.ostech.enums.ResponseView;
 import br.com.tech.os.ostech.enums.SearchType;
 import br.com.tech.os.ostech.exception.InvalidClientIdException;
 import br.com.tech.os.ostech.model.Client;
@@ -9,7 +10,12 @@ import br.com.tech.os.ostech.model.dto.clientDTO.ClientAnalyticsResponse;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientCreateDTO;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientPaginationRequest;
 import br.com.tech.os.ostech.model.dto.clientDTO.ClientPaginationResponse;
+import br.com.tech.os.ostech.model.dto.clientDTO.ClientSummary;
 import br.com.tech.os.ostech.repository.ClientRepository;
+import br.com.tech.os.ostech.repository.search.TrigramSearch;
+import br.com.tech.os.ostech.service.components.BulkImporter;
+import br.com.tech.os.ostech.service.components.NdjsonWriter;
+import br.com.tech.os.ostech.service.counters.ClientCounters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -20,8 +26,10 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +41,18 @@ class ClientServiceTest {
     @Mock
     private ClientRepository clientRepository;
 
+    @Mock
+    private ClientCounters clientCounters;
+
+    @Mock
+    private NdjsonWriter ndjsonWriter;
+
+    @Mock
+    private TrigramSearch trigramSearch;
+
+    @Mock
+    private BulkImporter bulkImporter;
+
     @InjectMocks
     private ClientService clientService;
 
@@ -44,7 +64,12 @@ class ClientServiceTest {
     @Test
     void createClient_shouldCreateClient() {
         ClientCreateDTO dto = new ClientCreateDTO("Cliente Teste", "12345678900");
-        when(clientRepository.save(any(Client.class))).thenAnswer(i -> i.getArgument(0));
+        when(clientRepository.save(any(Client.class))).thenAnswer(i -> {
+            Client c = i.getArgument(0);
+            assertNull(c.getId());
+            c.setId(UUID.randomUUID().toString());
+            return c;
+        });
 
         Client result = clientService.createClient(dto);
 
@@ -137,9 +162,7 @@ class ClientServiceTest {
 
     @Test
     void getClientAnalytics_shouldReturnCorrectCounts() {
-        List<Client> allClients = Arrays.asList(new Client(), new Client(), new Client());
-
-        when(clientRepository.findAll()).thenReturn(allClients);
+        when(clientRepository.count()).thenReturn(3L);
         when(clientRepository.countByCreatedAtAfter(any(Date.class)))
                 .thenReturn(2)
                 .thenReturn(1)
@@ -155,7 +178,7 @@ class ClientServiceTest {
 
     @Test
     void getClientAnalytics_shouldReturnZeroWhenNoClients() {
-        when(clientRepository.findAll()).thenReturn(Collections.emptyList());
+        when(clientRepository.count()).thenReturn(0L);
         when(clientRepository.countByCreatedAtAfter(any(Date.class)))
                 .thenReturn(0)
                 .thenReturn(0)
@@ -169,20 +192,35 @@ class ClientServiceTest {
         assertEquals(0, analytics.getLast24HoursClients());
     }
 
+    @Test
+    void getClientAnalytics_shouldUseCountersWhenReady() {
+        ClientAnalyticsResponse fromCounters = new ClientAnalyticsResponse();
+        fromCounters.setTotalClients(5);
+        when(clientCounters.isReady()).thenReturn(true);
+        when(clientCounters.analytics(any(LocalDate.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(fromCounters);
+
+        ClientAnalyticsResponse analytics = clientService.getClientAnalytics();
+
+        assertEquals(5, analytics.getTotalClients());
+        verify(clientRepository, never()).count();
+        verify(clientRepository, never()).countByCreatedAtAfter(any(Date.class));
+    }
+
     @Test
     void getClientsPage_shouldReturnByName() {
         ClientPaginationRequest req = new ClientPaginationRequest(0, 10, SearchType.NAME, "João");
         Client client = TestDummies.buildClient("1", "João Silva", "123", "joao@mail.com", "9999");
         Page<Client> page = new PageImpl<>(List.of(client), PageRequest.of(0, 10), 1);
 
-        when(clientRepository.findByNameContainingIgnoreCase(eq("João"), any(Pageable.class))).thenReturn(page);
+        when(clientRepository.findByName(eq("%joão%"), any(Pageable.class))).thenReturn(page);
 
         ClientPaginationResponse resp = clientService.getClientsPage(req);
 
         assertEquals(1, resp.getTotalPages());
         assertEquals(1, resp.getClientsPage().size());
         assertEquals("João Silva", resp.getClientsPage().get(0).getName());
-        verify(clientRepository).findByNameContainingIgnoreCase(eq("João"), any(Pageable.class));
+        verify(clientRepository).findByName(eq("%joão%"), any(Pageable.class));
     }
 
     @Test
@@ -191,14 +229,14 @@ class ClientServiceTest {
         Client client = TestDummies.buildClient("2", "Maria", "456", "maria@mail.com", "9999");
         Page<Client> page = new PageImpl<>(List.of(client), PageRequest.of(0, 10), 1);
 
-        when(clientRepository.findByContactPhoneContainingIgnoreCase(eq("9999"), any(Pageable.class))).thenReturn(page);
+        when(clientRepository.findByContactPhone(eq("%9999%"), any(Pageable.class))).thenReturn(page);
 
         ClientPaginationResponse resp = clientService.getClientsPage(req);
 
         assertEquals(1, resp.getTotalPages());
         assertEquals(1, resp.getClientsPage().size());
         assertEquals("Maria", resp.getClientsPage().get(0).getName());
-        verify(clientRepository).findByContactPhoneContainingIgnoreCase(eq("9999"), any(Pageable.class));
+        verify(clientRepository).findByContactPhone(eq("%9999%"), any(Pageable.class));
     }
 
     @Test
@@ -207,14 +245,14 @@ class ClientServiceTest {
         Client client = TestDummies.buildClient("3", "Carlos", "789", "carlos@mail.com", "8888");
         Page<Client> page = new PageImpl<>(List.of(client), PageRequest.of(0, 10), 1);
 
-        when(clientRepository.findByContactEmailContainingIgnoreCase(eq("mail@"), any(Pageable.class))).thenReturn(page);
+        when(clientRepository.findByContactEmail(eq("%mail@%"), any(Pageable.class))).thenReturn(page);
 
         ClientPaginationResponse resp = clientService.getClientsPage(req);
 
         assertEquals(1, resp.getTotalPages());
         assertEquals(1, resp.getClientsPage().size());
         assertEquals("Carlos", resp.getClientsPage().get(0).getName());
-        verify(clientRepository).findByContactEmailContainingIgnoreCase(eq("mail@"), any(Pageable.class));
+        verify(clientRepository).findByContactEmail(eq("%mail@%"), any(Pageable.class));
     }
 
     @Test
@@ -233,4 +271,47 @@ class ClientServiceTest {
         verify(clientRepository).findAll(any(Pageable.class));
     }
 
-}
\ No newline at end of file
+    @Test
+    void streamAllClients_shouldWriteRepositoryStream() throws Exception {
+        Stream<Client> clients = Stream.of(new Client(), new Client());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(clientRepository.streamAll()).thenReturn(clients);
+
+        clientService.streamAllClients(outputStream);
+
+        verify(ndjsonWriter).write(clients, outputStream);
+        verify(clientRepository, never()).findAll();
+    }
+
+    @Test
+    void getClientsPage_shouldUseTrigramQueryWhenAvailable() {
+        ClientPaginationRequest req = new ClientPaginationRequest(0, 10, SearchType.EMAIL, "Joao_1@");
+        Client client = TestDummies.buildClient("1", "João Silva", "123", "joao_1@mail.com", "9999");
+        Page<Client> page = new PageImpl<>(List.of(client), PageRequest.of(0, 10), 1);
+
+        when(trigramSearch.isAvailable()).thenReturn(true);
+        when(clientRepository.searchByContactEmailTrigram(eq("%joao\\_1@%"), any(Pageable.class))).thenReturn(page);
+
+        ClientPaginationResponse resp = clientService.getClientsPage(req);
+
+        assertEquals(1, resp.getClientsPage().size());
+        verify(clientRepository, never()).findByContactEmail(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void getClientsPage_shouldReturnSummariesInCompactView() {
+        ClientPaginationRequest req = new ClientPaginationRequest(0, 10, SearchType.NAME, "João", null, true, ResponseView.COMPACT);
+        ClientSummary summary = new ClientSummary("1", "João Silva", "123", "joao@mail.com", "9999", null);
+        Page<ClientSummary> page = new PageImpl<>(List.of(summary), PageRequest.of(0, 10), 1);
+
+        when(clientRepository.findSummariesByName(eq("%joão%"), any(Pageable.class))).thenReturn(page);
+
+        ClientPaginationResponse resp = clientService.getClientsPage(req);
+
+        assertEquals(1, resp.getTotalPages());
+        assertNull(resp.getClientsPage());
+        assertEquals(List.of(summary), resp.getSummaries());
+        verify(clientRepository, never()).findByName(anyString(), any(Pageable.class));
+    }
+
+}
@@ -1,24 +1,48 @@
 package br.com.tech.os.ostech.service;
 
 import br.com.tech.os.ostech.enums.OrderServiceSearchType;
+import br.com.tech.os.ostech.enums.ResponseView;
+import br.com.tech.os.ostech.exception.InvalidClientIdException;
+import br.com.tech.os.ostech.exception.InvalidExceptionOrderServicePagination;
 import br.com.tech.os.ostech.exception.InvalidOrderServiceIdException;
+import br.com.tech.os.ostech.exception.InvalidOrderServiceInformationException;
+import br.com.tech.os.ostech.exception.InvalidOrderServiceVersionException;
 import br.com.tech.os.ostech.model.*;
 import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceCreateDTO;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceLastUpdateResponse;
 import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServicePaginationRequest;
 import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServicePaginationResponse;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceStatusRollupResponse;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceStatusUpdateDTO;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceSummary;
 import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceUpdateDTO;
 import br.com.tech.os.ostech.repository.OrderServiceRepository;
+import br.com.tech.os.ostech.repository.OrderServiceStatusChangeRepository;
+import br.com.tech.os.ostech.repository.OrderServiceStatusRollupRepository;
+import br.com.tech.os.ostech.repository.search.TrigramSearch;
+import br.com.tech.os.ostech.service.components.BulkImporter;
+import br.com.tech.os.ostech.service.components.NdjsonWriter;
+import br.com.tech.os.ostech.service.counters.OrderServiceCounters;
+import org.hibernate.exception.ConstraintViolationException;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 
+import java.io.ByteArrayOutputStream;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,6 +59,20 @@ class OrderServiceServiceTest {
     private ClientService clientService;
     @Mock
     private BudgetService budgetService;
+    @Mock
+    private OrderServiceCounters orderServiceCounters;
+    @Mock
+    private NdjsonWriter ndjsonWriter;
+    @Mock
+    private TrigramSearch trigramSearch;
+    @Mock
+    private BulkImporter bulkImporter;
+    @Mock
+    private OrderServiceStatusChangeRepository statusChangeRepository;
+    @Mock
+    private OrderServiceStatusRollupRepository statusRollupRepository;
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private OrderServiceService orderServiceService;
@@ -102,30 +140,41 @@ class OrderServiceServiceTest {
         assertThrows(IllegalArgumentException.class, () -> orderServiceService.getOrderServicesPage(req));
     }
 
+    @Test
+    @DisplayName("Deve lançar exceção de paginação de OrderService para cursor inválido")
+    void getOrderServicesPageShouldThrowForInvalidCursor() {
+        OrderServicePaginationRequest req = new OrderServicePaginationRequest(0, 10, OrderServiceSearchType.BLANK, "", "YWJj", true);
+        assertThrows(InvalidExceptionOrderServicePagination.class, () -> orderServiceService.getOrderServicesPage(req));
+    }
+
     @Test
     @DisplayName("Deve criar OrderService com sucesso")
     void createOrderServiceShouldSucceed() {
         OrderServiceCreateDTO dto = new OrderServiceCreateDTO("smart-1", "client-1", "budget-1", "OPEN");
-        when(clientService.getClientById("client-1")).thenReturn(client);
-        when(smartphoneService.getSmartphoneById("smart-1")).thenReturn(smartphone);
-        when(budgetService.getBudgetById("budget-1")).thenReturn(budget);
-        when(orderServiceRepository.save(any(OrderService.class))).thenReturn(orderService);
+        when(clientService.getClientReference("client-1")).thenReturn(client);
+        when(smartphoneService.getSmartphoneReference("smart-1")).thenReturn(smartphone);
+        when(budgetService.getBudgetReference("budget-1")).thenReturn(budget);
+        when(orderServiceRepository.saveAndFlush(any(OrderService.class))).thenReturn(orderService);
+        when(orderServiceRepository.findById("1")).thenReturn(Optional.of(orderService));
 
         OrderService result = orderServiceService.createOrderService(dto);
 
+        verify(entityManager).detach(orderService);
         assertEquals(client, result.getClientId());
         assertEquals(smartphone, result.getSmartphoneId());
         assertEquals(budget, result.getBudgetId());
         assertEquals(Status.OPEN, result.getStatus());
-        verify(orderServiceRepository).save(any(OrderService.class));
+        verify(orderServiceRepository).saveAndFlush(any(OrderService.class));
+        verify(statusChangeRepository).save(argThat(change -> change.getFromStatus() == null
+                && change.getToStatus() == Status.OPEN));
     }
 
     @Test
     @DisplayName("Deve criar OrderService sem budget")
     void createOrderServiceWithoutBudget() {
         OrderServiceCreateDTO dto = new OrderServiceCreateDTO("smart-1", "client-1", null, "FINISHED");
-        when(clientService.getClientById("client-1")).thenReturn(client);
-        when(smartphoneService.getSmartphoneById("smart-1")).thenReturn(smartphone);
+        when(clientService.getClientReference("client-1")).thenReturn(client);
+        when(smartphoneService.getSmartphoneReference("smart-1")).thenReturn(smartphone);
 
         OrderService orderServiceWithoutBudget = new OrderService();
         orderServiceWithoutBudget.setId(2);
@@ -134,13 +183,39 @@ class OrderServiceServiceTest {
         orderServiceWithoutBudget.setBudgetId(null);
         orderServiceWithoutBudget.setStatus(Status.OPEN);
 
-        when(orderServiceRepository.save(any(OrderService.class))).thenReturn(orderServiceWithoutBudget);
+        when(orderServiceRepository.saveAndFlush(any(OrderService.class))).thenReturn(orderServiceWithoutBudget);
+        when(orderServiceRepository.findById("2")).thenReturn(Optional.of(orderServiceWithoutBudget));
 
         OrderService result = orderServiceService.createOrderService(dto);
 
         assertEquals(Status.OPEN, result.getStatus());
         assertNull(result.getBudgetId());
-        verify(orderServiceRepository).save(any(OrderService.class));
+        verify(orderServiceRepository).saveAndFlush(any(OrderService.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar InvalidClientIdException quando a chave estrangeira do cliente é violada")
+    void createOrderServiceShouldMapClientForeignKeyViolation() {
+        OrderServiceCreateDTO dto = new OrderServiceCreateDTO("smart-1", "client-inexistente", null, "OPEN");
+        ConstraintViolationException violation = new ConstraintViolationException("insert failed",
+                new SQLException("violates foreign key"), "FK_ORDER_SERVICES_CLIENT");
+        when(orderServiceRepository.saveAndFlush(any(OrderService.class)))
+                .thenThrow(new DataIntegrityViolationException("insert failed", violation));
+
+        assertThrows(InvalidClientIdException.class, () -> orderServiceService.createOrderService(dto));
+        verifyNoInteractions(orderServiceCounters);
+    }
+
+    @Test
+    @DisplayName("Deve propagar violações de outras restrições")
+    void createOrderServiceShouldRethrowOtherConstraintViolations() {
+        OrderServiceCreateDTO dto = new OrderServiceCreateDTO("smart-1", "client-1", null, "OPEN");
+        ConstraintViolationException violation = new ConstraintViolationException("insert failed",
+                new SQLException("duplicate key"), "order_services_smartphone_id_key");
+        when(orderServiceRepository.saveAndFlush(any(OrderService.class)))
+                .thenThrow(new DataIntegrityViolationException("insert failed", violation));
+
+        assertThrows(DataIntegrityViolationException.class, () -> orderServiceService.createOrderService(dto));
     }
 
     @Test
@@ -148,15 +223,16 @@ class OrderServiceServiceTest {
     void updateOrderServiceShouldSucceed() {
         OrderServiceUpdateDTO dto = new OrderServiceUpdateDTO("smart-1", "budget-1", "FINISHED", "client-1", null);
         when(orderServiceRepository.findById("1")).thenReturn(Optional.of(orderService));
-        when(clientService.getClientById("client-1")).thenReturn(client);
-        when(smartphoneService.getSmartphoneById("smart-1")).thenReturn(smartphone);
-        when(budgetService.getBudgetById("budget-1")).thenReturn(budget);
-        when(orderServiceRepository.save(any(OrderService.class))).thenReturn(orderService);
+        when(clientService.getClientReference("client-1")).thenReturn(client);
+        when(smartphoneService.getSmartphoneReference("smart-1")).thenReturn(smartphone);
+        when(budgetService.getBudgetReference("budget-1")).thenReturn(budget);
+        when(orderServiceRepository.saveAndFlush(any(OrderService.class))).thenReturn(orderService);
 
-        OrderService result = orderServiceService.updateOrderService("1", dto);
+        OrderService result = orderServiceService.updateOrderService("1", dto, null);
 
         assertEquals(Status.FINISHED, result.getStatus());
-        verify(orderServiceRepository).save(orderService);
+        verify(orderServiceRepository).saveAndFlush(orderService);
+        verify(orderServiceCounters).recordUpdated(Status.OPEN, null, orderService);
     }
 
     @Test
@@ -165,10 +241,179 @@ class OrderServiceServiceTest {
         OrderServiceUpdateDTO dto = new OrderServiceUpdateDTO("client-1", "smart-1", "budget-1", "OPEN", null);
         when(orderServiceRepository.findById("99")).thenReturn(Optional.empty());
 
-        assertThrows(InvalidOrderServiceIdException.class, () -> orderServiceService.updateOrderService("99", dto));
+        assertThrows(InvalidOrderServiceIdException.class, () -> orderServiceService.updateOrderService("99", dto, null));
         verify(orderServiceRepository).findById("99");
     }
 
+    @Test
+    @DisplayName("Deve recusar a atualização quando a versão informada está desatualizada")
+    void updateOrderServiceShouldThrowWhenVersionIsStale() {
+        OrderServiceUpdateDTO dto = new OrderServiceUpdateDTO("smart-1", "budget-1", "FINISHED", "client-1", null);
+        orderService.setVersion(3L);
+        when(orderServiceRepository.findById("1")).thenReturn(Optional.of(orderService));
+
+        assertThrows(InvalidOrderServiceVersionException.class, () -> orderServiceService.updateOrderService("1", dto, 2L));
+        verify(orderServiceRepository, never()).saveAndFlush(any());
+        assertEquals(Status.OPEN, orderService.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve alterar o status com um único UPDATE condicional")
+    void changeStatusShouldUpdateConditionally() {
+        when(orderServiceRepository.updateStatusAtVersion(eq(1), eq(Status.OPEN), eq(Status.IN_PROGRESS), any(), eq(2L)))
+                .thenReturn(1);
+
+        orderServiceService.changeStatus("1", new OrderServiceStatusUpdateDTO("OPEN", "IN_PROGRESS"), 2L);
+
+        verify(orderServiceRepository, never()).findStatusById(any());
+        verify(orderServiceRepository, never()).findById(any());
+        verify(orderServiceCounters).recordStatusChanged(Status.OPEN, Status.IN_PROGRESS);
+    }
+
+    @Test
+    @DisplayName("Deve recusar transições de status não permitidas sem acessar o banco")
+    void changeStatusShouldRejectInvalidTransition() {
+        OrderServiceStatusUpdateDTO dto = new OrderServiceStatusUpdateDTO("EQUIPMENT_LEFT", "OPEN");
+
+        assertThrows(InvalidOrderServiceInformationException.class, () -> orderServiceService.changeStatus("1", dto, null));
+        verifyNoInteractions(orderServiceRepository, orderServiceCounters);
+    }
+
+    @Test
+    @DisplayName("Deve lançar conflito quando o status atual difere do esperado")
+    void changeStatusShouldThrowWhenStatusChanged() {
+        when(orderServiceRepository.updateStatus(eq(1), eq(Status.OPEN), eq(Status.IN_PROGRESS), any())).thenReturn(0);
+        when(orderServiceRepository.findStatusById(1)).thenReturn(Optional.of(Status.CANCELED));
+
+        OrderServiceStatusUpdateDTO dto = new OrderServiceStatusUpdateDTO("OPEN", "IN_PROGRESS");
+        assertThrows(InvalidOrderServiceInformationException.class, () -> orderServiceService.changeStatus("1", dto, null));
+        verify(orderServiceCounters, never()).recordStatusChanged(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar falha de pré-condição quando apenas a versão mudou")
+    void changeStatusShouldThrowWhenVersionChanged() {
+        when(orderServiceRepository.updateStatusAtVersion(eq(1), eq(Status.OPEN), eq(Status.IN_PROGRESS), any(), eq(2L)))
+                .thenReturn(0);
+        when(orderServiceRepository.findStatusById(1)).thenReturn(Optional.of(Status.OPEN));
+
+        OrderServiceStatusUpdateDTO dto = new OrderServiceStatusUpdateDTO("OPEN", "IN_PROGRESS");
+        assertThrows(InvalidOrderServiceVersionException.class, () -> orderServiceService.changeStatus("1", dto, 2L));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao alterar o status de OrderService inexistente")
+    void changeStatusShouldThrowWhenNotFound() {
+        when(orderServiceRepository.updateStatus(eq(99), eq(Status.OPEN), eq(Status.BUDGET), any())).thenReturn(0);
+        when(orderServiceRepository.findStatusById(99)).thenReturn(Optional.empty());
+
+        OrderServiceStatusUpdateDTO dto = new OrderServiceStatusUpdateDTO("OPEN", "BUDGET");
+        assertThrows(InvalidOrderServiceIdException.class, () -> orderServiceService.changeStatus("99", dto, null));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para ID não numérico ao alterar o status")
+    void changeStatusShouldThrowForNonNumericId() {
+        OrderServiceStatusUpdateDTO dto = new OrderServiceStatusUpdateDTO("OPEN", "BUDGET");
+
+        assertThrows(InvalidOrderServiceIdException.class, () -> orderServiceService.changeStatus("abc", dto, null));
+        verifyNoInteractions(orderServiceRepository);
+    }
+
+    @Test
+    @DisplayName("Deve registrar a mudança de status no histórico ao atualizar OrderService")
+    void updateOrderServiceShouldRecordStatusChange() {
+        OrderServiceUpdateDTO dto = new OrderServiceUpdateDTO("smart-1", "budget-1", "FINISHED", "client-1", null);
+        when(orderServiceRepository.findById("1")).thenReturn(Optional.of(orderService));
+        when(clientService.getClientReference("client-1")).thenReturn(client);
+        when(smartphoneService.getSmartphoneReference("smart-1")).thenReturn(smartphone);
+        when(budgetService.getBudgetReference("budget-1")).thenReturn(budget);
+        when(orderServiceRepository.saveAndFlush(any(OrderService.class))).thenReturn(orderService);
+
+        orderServiceService.updateOrderService("1", dto, null);
+
+        ArgumentCaptor<OrderServiceStatusChange> change = ArgumentCaptor.forClass(OrderServiceStatusChange.class);
+        verify(statusChangeRepository).save(change.capture());
+        assertEquals(1, change.getValue().getOrderServiceId());
+        assertEquals(Status.OPEN, change.getValue().getFromStatus());
+        assertEquals(Status.FINISHED, change.getValue().getToStatus());
+        assertEquals(orderService.getUpdatedAt(), change.getValue().getChangedAt());
+    }
+
+    @Test
+    @DisplayName("Não deve registrar histórico quando o status não muda")
+    void updateOrderServiceShouldNotRecordUnchangedStatus() {
+        OrderServiceUpdateDTO dto = new OrderServiceUpdateDTO("smart-1", null, "OPEN", "client-1", null);
+        when(orderServiceRepository.findById("1")).thenReturn(Optional.of(orderService));
+        when(clientService.getClientReference("client-1")).thenReturn(client);
+        when(smartphoneService.getSmartphoneReference("smart-1")).thenReturn(smartphone);
+        when(orderServiceRepository.saveAndFlush(any(OrderService.class))).thenReturn(orderService);
+
+        orderServiceService.updateOrderService("1", dto, null);
+
+        verifyNoInteractions(statusChangeRepository);
+    }
+
+    @Test
+    @DisplayName("Deve registrar a mudança no histórico apenas quando o UPDATE condicional altera a linha")
+    void changeStatusShouldRecordStatusChangeOnlyWhenUpdated() {
+        when(orderServiceRepository.updateStatus(eq(1), eq(Status.OPEN), eq(Status.BUDGET), any())).thenReturn(1, 0);
+        when(orderServiceRepository.findStatusById(1)).thenReturn(Optional.of(Status.BUDGET));
+        OrderServiceStatusUpdateDTO dto = new OrderServiceStatusUpdateDTO("OPEN", "BUDGET");
+
+        orderServiceService.changeStatus("1", dto, null);
+        assertThrows(InvalidOrderServiceInformationException.class, () -> orderServiceService.changeStatus("1", dto, null));
+
+        ArgumentCaptor<OrderServiceStatusChange> change = ArgumentCaptor.forClass(OrderServiceStatusChange.class);
+        verify(statusChangeRepository, times(1)).save(change.capture());
+        assertEquals(Status.OPEN, change.getValue().getFromStatus());
+        assertEquals(Status.BUDGET, change.getValue().getToStatus());
+    }
+
+    @Test
+    @DisplayName("Deve converter os rollups horários calculando o tempo médio no status")
+    void getHourlyStatusRollupsShouldMapBuckets() {
+        LocalDateTime from = LocalDateTime.of(2026, 10, 1, 8, 0);
+        LocalDateTime to = from.plusHours(2);
+        OrderServiceStatusRollup withDwell = rollup(from, Status.BUDGET, 3, 2, 2, 600, 400);
+        OrderServiceStatusRollup withoutDwell = rollup(from, Status.OPEN, 1, 1, 0, 0, 0);
+        when(statusRollupRepository.findBuckets(OrderServiceStatusRollup.Granularity.HOUR, from, to))
+                .thenReturn(List.of(withDwell, withoutDwell));
+
+        List<OrderServiceStatusRollupResponse> result = orderServiceService.getHourlyStatusRollups(from, to);
+
+        assertEquals(new OrderServiceStatusRollupResponse(from, Status.BUDGET, 3, 2, 300L, 400L), result.get(0));
+        assertEquals(new OrderServiceStatusRollupResponse(from, Status.OPEN, 1, 1, null, null), result.get(1));
+    }
+
+    @Test
+    @DisplayName("Deve buscar os rollups diários com o último dia incluído")
+    void getDailyStatusRollupsShouldIncludeLastDay() {
+        LocalDate from = LocalDate.of(2026, 10, 1);
+        LocalDate to = LocalDate.of(2026, 10, 7);
+
+        orderServiceService.getDailyStatusRollups(from, to);
+
+        verify(statusRollupRepository).findBuckets(OrderServiceStatusRollup.Granularity.DAY,
+                from.atStartOfDay(), LocalDate.of(2026, 10, 8).atStartOfDay());
+    }
+
+    @Test
+    @DisplayName("Deve recusar intervalos de rollup invertidos ou longos demais")
+    void getStatusRollupsShouldRejectInvalidRanges() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 1, 8, 0);
+        LocalDate today = now.toLocalDate();
+
+        assertThrows(IllegalArgumentException.class, () -> orderServiceService.getHourlyStatusRollups(now, now));
+        assertThrows(IllegalArgumentException.class,
+                () -> orderServiceService.getHourlyStatusRollups(now.minusDays(32), now));
+        assertThrows(IllegalArgumentException.class,
+                () -> orderServiceService.getDailyStatusRollups(today, today.minusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> orderServiceService.getDailyStatusRollups(today.minusDays(366), today));
+        verifyNoInteractions(statusRollupRepository);
+    }
+
     @Test
     @DisplayName("Deve deletar OrderService com sucesso")
     void deleteOrderServiceShouldSucceed() {
@@ -178,6 +423,7 @@ class OrderServiceServiceTest {
         orderServiceService.deleteOrderService("1");
 
         verify(orderServiceRepository).delete(orderService);
+        verify(orderServiceCounters).recordDeleted(orderService);
     }
 
     @Test
@@ -277,4 +523,75 @@ class OrderServiceServiceTest {
         OrderServicePaginationRequest req = new OrderServicePaginationRequest(0, 10, OrderServiceSearchType.STATUS, "INVALID");
         assertThrows(IllegalArgumentException.class, () -> orderServiceService.getOrderServicesPage(req));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve transmitir todas as ordens de serviço a partir do stream do repositório")
+    void streamAllOrderServices_shouldWriteRepositoryStream() throws Exception {
+        Stream<OrderService> orderServices = Stream.of(orderService);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(orderServiceRepository.streamAll()).thenReturn(orderServices);
+
+        orderServiceService.streamAllOrderServices(outputStream);
+
+        verify(ndjsonWriter).write(orderServices, outputStream);
+        verify(orderServiceRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve usar a busca por trigramas quando disponível")
+    void getOrderServicesPageBySmartphoneWithTrigramSearch() {
+        OrderServicePaginationRequest req = new OrderServicePaginationRequest(0, 10, OrderServiceSearchType.SMARTPHONE, "Galaxy");
+        Page<Integer> ids = new PageImpl<>(List.of(1), PageRequest.of(0, 10), 1);
+        when(trigramSearch.isAvailable()).thenReturn(true);
+        when(orderServiceRepository.searchIdsBySmartphoneModelTrigram(eq("%galaxy%"), any(PageRequest.class))).thenReturn(ids);
+        when(orderServiceRepository.findByIdIn(List.of(1))).thenReturn(List.of(orderService));
+
+        OrderServicePaginationResponse resp = orderServiceService.getOrderServicesPage(req);
+
+        assertEquals(List.of(orderService), resp.getOrderServices());
+        assertEquals(1, resp.getTotalPages());
+        verify(orderServiceRepository, never()).findBySmartphoneModel(anyString(), any(PageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar resumos na visão compacta da paginação")
+    void getOrderServicesPageCompactByStatus() {
+        OrderServicePaginationRequest req = new OrderServicePaginationRequest(0, 10, OrderServiceSearchType.STATUS, "OPEN", null, true, ResponseView.COMPACT);
+        OrderServiceSummary summary = new OrderServiceSummary(1, Status.OPEN, "Cliente", "Galaxy", null, null, null, null, null);
+        Page<OrderServiceSummary> page = new PageImpl<>(List.of(summary), PageRequest.of(0, 10), 1);
+        when(orderServiceRepository.findSummariesByStatus(eq(Status.OPEN), any(PageRequest.class))).thenReturn(page);
+
+        OrderServicePaginationResponse resp = orderServiceService.getOrderServicesPage(req);
+
+        assertNull(resp.getOrderServices());
+        assertEquals(List.of(summary), resp.getSummaries());
+        assertEquals(1, resp.getTotalPages());
+        verify(orderServiceRepository, never()).findByStatus(any(), any(PageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar os resumos das ordens de serviço recentes")
+    void getRecentOrderSummaries() {
+        OrderServiceSummary summary = new OrderServiceSummary(1, Status.OPEN, "Cliente", "Galaxy", null, null, null, null, null);
+        when(orderServiceRepository.findRecentSummaries(PageRequest.ofSize(5))).thenReturn(List.of(summary));
+
+        OrderServiceLastUpdateResponse resp = orderServiceService.getRecentOrderSummaries();
+
+        assertNull(resp.getLastUpdateOrders());
+        assertEquals(List.of(summary), resp.getLastUpdateSummaries());
+        verify(orderServiceRepository, never()).findTop5ByOrderByUpdatedAtDesc();
+    }
+
+    private static OrderServiceStatusRollup rollup(LocalDateTime bucketStart, Status status, long entered, long exited,
+                                                   long dwellCount, long dwellTotalSeconds, long dwellMaxSeconds) {
+        OrderServiceStatusRollup rollup = new OrderServiceStatusRollup(
+                new OrderServiceStatusRollupId(OrderServiceStatusRollup.Granularity.HOUR, bucketStart, status));
+        rollup.setEntered(entered);
+        rollup.setExited(exited);
+        rollup.setDwellCount(dwellCount);
+        rollup.setDwellTotalSeconds(dwellTotalSeconds);
+        rollup.setDwellMaxSeconds(dwellMaxSeconds);
+        return rollup;
+    }
+
+}
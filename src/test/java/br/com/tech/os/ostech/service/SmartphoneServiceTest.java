@@ -6,6 +6,7 @@ import br.com.tech.os.ostech.model.Smartphone;
 import br.com.tech.os.ostech.model.dto.smartphoneDTO.SmartphoneCreateDTO;
 import br.com.tech.os.ostech.model.dto.smartphoneDTO.SmartphoneUpdateDTO;
 import br.com.tech.os.ostech.repository.SmartphoneRepository;
+import br.com.tech.os.ostech.service.components.BulkImporter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,6 +31,9 @@ class SmartphoneServiceTest {
     @Mock
     private ClientService clientService;
 
+    @Mock
+    private BulkImporter bulkImporter;
+
     @InjectMocks
     private SmartphoneService smartphoneService;
 
@@ -51,7 +56,11 @@ class SmartphoneServiceTest {
     void createSmartphoneShouldSucceed() {
         SmartphoneCreateDTO dto = new SmartphoneCreateDTO("Galaxy S22", "Não liga", "Sem riscos", "123456789");
 
-        when(smartphoneRepository.save(any(Smartphone.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(smartphoneRepository.save(any(Smartphone.class))).thenAnswer(invocation -> {
+            Smartphone s = invocation.getArgument(0);
+            s.setId(UUID.randomUUID().toString());
+            return s;
+        });
 
         Smartphone result = smartphoneService.createSmartphone( dto);
 
@@ -6,6 +6,7 @@ import br.com.tech.os.ostech.exception.InvalidUserIdException;
 import br.com.tech.os.ostech.model.User;
 import br.com.tech.os.ostech.model.dto.userDTO.UserCreateDTO;
 import br.com.tech.os.ostech.model.dto.userDTO.UserUpdateDTO;
+import br.com.tech.os.ostech.model.event.UserChangedEvent;
 import br.com.tech.os.ostech.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,12 +14,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +34,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
     @Test
     @DisplayName("Deve lançar exceção ao tentar atualizar usuário com e-mail já existente em outro usuário")
     void updateUserShouldThrowExceptionWhenEmailAlreadyExists() {
@@ -69,6 +79,7 @@ class UserServiceTest {
         assertEquals(userCreateDTO.password(), user.getPassword());
 
         verify(userRepository).existsByEmail(userCreateDTO.email());
+        verify(passwordEncoder).encode(userCreateDTO.password());
         verify(userRepository).save(any(User.class));
     }
 
@@ -93,6 +104,7 @@ class UserServiceTest {
 
         verify(userRepository).findById(userId);
         verify(userRepository).save(any(User.class));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(userId, "oldemail@example.com"));
     }
 
     @Test
@@ -118,6 +130,7 @@ class UserServiceTest {
         assertThrows(InvalidUserEmailAlreadyExistsException.class, () -> userService.createUser(userCreateDTO));
 
         verify(userRepository).existsByEmail(userCreateDTO.email());
+        verifyNoInteractions(passwordEncoder);
     }
 
     @Test
@@ -164,6 +177,7 @@ class UserServiceTest {
 
         verify(userRepository).existsById(userId);
         verify(userRepository).deleteById(userId);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(userId, null));
     }
 
     @Test
@@ -0,0 +1,217 @@
+package br.com.tech.os.ostech.service.components;
+
+import br.com.tech.os.ostech.model.Client;
+import br.com.tech.os.ostech.model.OrderService;
+import br.com.tech.os.ostech.model.OrderServiceStatusChange;
+import br.com.tech.os.ostech.model.Smartphone;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.model.dto.bulkImportDTO.BulkImportError;
+import br.com.tech.os.ostech.model.dto.bulkImportDTO.BulkImportResponse;
+import br.com.tech.os.ostech.repository.ClientRepository;
+import br.com.tech.os.ostech.repository.OrderServiceJpaTest;
+import br.com.tech.os.ostech.repository.OrderServiceRepository;
+import br.com.tech.os.ostech.repository.OrderServiceStatusChangeRepository;
+import br.com.tech.os.ostech.repository.SmartphoneRepository;
+import br.com.tech.os.ostech.service.ClientService;
+import br.com.tech.os.ostech.service.OrderServiceService;
+import br.com.tech.os.ostech.service.SmartphoneService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@OrderServiceJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true",
+        "api.bulk-import.batch-size=3"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkImporterTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private SmartphoneService smartphoneService;
+
+    @Autowired
+    private OrderServiceService orderServiceService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private SmartphoneRepository smartphoneRepository;
+
+    @Autowired
+    private OrderServiceRepository orderServiceRepository;
+
+    @Autowired
+    private OrderServiceStatusChangeRepository statusChangeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        statusChangeRepository.deleteAllInBatch();
+        orderServiceRepository.deleteAllInBatch();
+        smartphoneRepository.deleteAllInBatch();
+        clientRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve importar as linhas válidas e relatar as inválidas com o número da linha")
+    void shouldImportValidRowsAndReportInvalidOnes() throws Exception {
+        String body = """
+                [
+                  {"name": "Maria Silva", "cpf": "11111111111"},
+                  {"name": "", "cpf": "22222222222"},
+                  {"name": "João Souza", "cpf": "33333333333"},
+                  {"name": "Maria Repetida", "cpf": "11111111111"},
+                  {"name": "Ana Lima", "cpf": "55555555555"}
+                ]
+                """;
+
+        BulkImportResponse response = clientService.importClients(stream(body), MediaType.APPLICATION_JSON);
+
+        assertEquals(5, response.received());
+        assertEquals(3, response.imported());
+        assertEquals(2, response.failed());
+        assertEquals(List.of(2L, 4L), response.errors().stream().map(BulkImportError::row).toList());
+        assertEquals("Name cannot be null or blank", response.errors().get(0).message());
+        assertTrue(response.errors().get(1).message().contains("constraint"));
+        assertEquals(3, clientRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve importar CSV com cabeçalho")
+    void shouldImportCsvWithHeader() throws Exception {
+        String body = """
+                model,problem,observation,serial
+                Galaxy S23,Tela quebrada,Sem capa,SN1
+                iPhone 13,Bateria,Arranhado,
+                Moto G84,Não liga,Nenhuma,SN3
+                """;
+
+        BulkImportResponse response = smartphoneService.importSmartphones(stream(body), MediaType.parseMediaType("text/csv"));
+
+        assertEquals(2, response.imported());
+        assertEquals(List.of(new BulkImportError(2, "Serial cannot be null or blank")), response.errors());
+        assertEquals(List.of("Galaxy S23", "Moto G84"),
+                smartphoneRepository.findAll().stream().map(Smartphone::getModel).sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Deve validar referências das ordens de serviço uma vez por lote")
+    void shouldValidateOrderServiceReferencesPerBatch() throws Exception {
+        Client client = clientRepository.save(client("Cliente Ordem", "12312312312"));
+        Smartphone first = smartphoneRepository.save(smartphone("SN-A"));
+        Smartphone second = smartphoneRepository.save(smartphone("SN-B"));
+        String body = """
+                [
+                  {"clientId": "%s", "smartphoneId": "%s", "status": "IN_PROGRESS"},
+                  {"clientId": "inexistente", "smartphoneId": "%s"},
+                  {"clientId": "%s", "smartphoneId": "%s", "status": "PERDIDO"},
+                  {"clientId": "%s", "smartphoneId": "%s"}
+                ]
+                """.formatted(client.getId(), first.getId(), second.getId(), client.getId(), second.getId(),
+                client.getId(), second.getId());
+
+        BulkImportResponse response = orderServiceService.importOrderServices(stream(body), MediaType.APPLICATION_JSON);
+
+        assertEquals(2, response.imported());
+        assertEquals(List.of(new BulkImportError(2, "Client not found"), new BulkImportError(3, "Invalid status: PERDIDO")),
+                response.errors());
+        List<OrderService> orders = orderServiceRepository.findAll();
+        assertEquals(2, orders.size());
+        assertTrue(orders.stream().anyMatch(order -> order.getStatus() == Status.IN_PROGRESS));
+        assertTrue(orders.stream().anyMatch(order -> order.getStatus() == Status.OPEN));
+        List<OrderServiceStatusChange> changes = statusChangeRepository.findAll();
+        assertEquals(2, changes.size());
+        assertTrue(changes.stream().allMatch(change -> change.getFromStatus() == null));
+        assertEquals(orders.stream().map(OrderService::getId).sorted().toList(),
+                changes.stream().map(OrderServiceStatusChange::getOrderServiceId).sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Deve manter os lotes já gravados quando o JSON está malformado")
+    void shouldKeepImportedRowsWhenJsonIsMalformed() throws Exception {
+        String body = "[{\"name\": \"Maria Silva\", \"cpf\": \"11111111111\"}, {\"name\": ";
+
+        BulkImportResponse response = clientService.importClients(stream(body), MediaType.APPLICATION_JSON);
+
+        assertEquals(1, response.imported());
+        assertEquals(1, response.failed());
+        assertEquals(2, response.errors().get(0).row());
+        assertTrue(response.errors().get(0).message().startsWith("Malformed input"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar corpo que não é um array JSON")
+    void shouldRejectBodyThatIsNotAnArray() throws Exception {
+        BulkImportResponse response = clientService.importClients(
+                stream("{\"name\": \"Maria\", \"cpf\": \"1\"}"), MediaType.APPLICATION_JSON);
+
+        assertEquals(0, response.imported());
+        assertEquals("Malformed input: Bulk import body must be a JSON array", response.errors().get(0).message());
+    }
+
+    @Test
+    @DisplayName("Deve gravar cada lote com um único insert em batch")
+    void shouldWriteEachBatchWithOneBatchedInsert() throws Exception {
+        String body = IntStream.range(0, 10)
+                .mapToObj(i -> "{\"name\": \"Cliente " + i + "\", \"cpf\": \"" + (10_000_000_000L + i) + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkImportResponse response = clientService.importClients(stream(body), MediaType.APPLICATION_JSON);
+
+        assertEquals(10, response.imported());
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(4, statistics.getTransactionCount());
+        assertTrue(clientRepository.findAll().stream().allMatch(client -> UUID.fromString(client.getId()).version() == 7));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Client client(String name, String cpf) {
+        Client client = new Client();
+        client.setName(name);
+        client.setCpf(cpf);
+        client.setCreatedAt(new Date());
+        return client;
+    }
+
+    private static Smartphone smartphone(String serial) {
+        Smartphone smartphone = new Smartphone();
+        smartphone.setModel("Galaxy");
+        smartphone.setSerial(serial);
+        smartphone.setCreatedAt(new Date());
+        return smartphone;
+    }
+
+}
@@ -0,0 +1,43 @@
+package br.com.tech.os.ostech.service.components;
+
+import br.com.tech.os.ostech.exception.InvalidExceptionClientPagination;
+import br.com.tech.os.ostech.exception.InvalidExceptionOrderServicePagination;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+
+import java.util.Date;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Deve codificar e decodificar o cursor preservando data de criação e id")
+    void shouldRoundTripCursor() {
+        Date createdAt = new Date(1_700_000_000_123L);
+
+        KeysetScrollPosition position = KeysetCursor.decode(KeysetCursor.encode(createdAt, 42), Integer::valueOf,
+                InvalidExceptionOrderServicePagination::new);
+
+        assertEquals(createdAt, position.getKeys().get(KeysetCursor.CREATED_AT));
+        assertEquals(42, position.getKeys().get(KeysetCursor.ID));
+    }
+
+    @Test
+    @DisplayName("Deve iniciar do começo quando o cursor estiver vazio")
+    void shouldStartFromBeginningWhenCursorIsBlank() {
+        assertTrue(KeysetCursor.decode("", Function.identity(), InvalidExceptionClientPagination::new).isInitial());
+    }
+
+    @Test
+    @DisplayName("Deve lançar a exceção informada pelo chamador para cursor inválido")
+    void shouldRejectInvalidCursor() {
+        assertThrows(InvalidExceptionClientPagination.class,
+                () -> KeysetCursor.decode("não-é-cursor", Function.identity(), InvalidExceptionClientPagination::new));
+        assertThrows(InvalidExceptionOrderServicePagination.class,
+                () -> KeysetCursor.decode("YWJj", Integer::valueOf, InvalidExceptionOrderServicePagination::new));
+    }
+
+}
@@ -0,0 +1,55 @@
+package br.com.tech.os.ostech.service.components;
+
+import br.com.tech.os.ostech.model.Technical;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class NdjsonWriterTest {
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final NdjsonWriter ndjsonWriter = new NdjsonWriter(new ObjectMapper(), entityManager);
+
+    @Test
+    @DisplayName("Deve escrever um objeto JSON por linha")
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long written = ndjsonWriter.write(Stream.of(technical("1", "Ana"), technical("2", "Bruno")), outputStream);
+
+        assertEquals(2, written);
+        assertEquals("{\"id\":\"1\",\"name\":\"Ana\",\"createdAt\":null,\"updatedAt\":null}\n"
+                        + "{\"id\":\"2\",\"name\":\"Bruno\",\"createdAt\":null,\"updatedAt\":null}\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    @DisplayName("Deve limpar o contexto de persistência a cada lote escrito")
+    void shouldClearPersistenceContextEveryBatch() throws Exception {
+        Stream<Technical> rows = IntStream.range(0, NdjsonWriter.BATCH_SIZE * 2 + 1)
+                .mapToObj(i -> technical(String.valueOf(i), "Tecnico " + i));
+
+        long written = ndjsonWriter.write(rows, new ByteArrayOutputStream());
+
+        assertEquals(NdjsonWriter.BATCH_SIZE * 2 + 1, written);
+        verify(entityManager, times(2)).clear();
+    }
+
+    private Technical technical(String id, String name) {
+        Technical technical = new Technical();
+        technical.setId(id);
+        technical.setName(name);
+        return technical;
+    }
+
+}
@@ -0,0 +1,136 @@
+package br.com.tech.os.ostech.service.counters;
+
+import br.com.tech.os.ostech.model.OrderService;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.model.dto.orderServiceDTO.OrderServiceAnalyticsAggregate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderServiceCountersTest {
+
+    private OrderServiceCounters counters;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        counters = new OrderServiceCounters();
+        today = LocalDate.now(CounterUpdates.ZONE);
+    }
+
+    @Test
+    void isReady_shouldBeFalseUntilReset() {
+        assertFalse(counters.isReady());
+
+        counters.reset(Map.of(), 0, 0, Map.of(), Map.of());
+
+        assertTrue(counters.isReady());
+    }
+
+    @Test
+    void reset_shouldReplaceAllCounters() {
+        counters.recordCreated(order(Status.OPEN, today, null));
+
+        counters.reset(Map.of(Status.FINISHED, 3L), 3, 1, Map.of(today.minusDays(2), 3L), Map.of(today, 1L));
+
+        OrderServiceAnalyticsAggregate aggregate = aggregate();
+        assertEquals(3, aggregate.getTotalOrders());
+        assertEquals(3, aggregate.getLastWeekOrders());
+        assertEquals(0, aggregate.getLast24HoursOrders());
+        assertEquals(1, aggregate.getExitOrders());
+        assertEquals(0, counters.countsByStatus().get(Status.OPEN));
+        assertEquals(3, counters.countsByStatus().get(Status.FINISHED));
+    }
+
+    @Test
+    void reset_shouldReplayUpdatesRecordedWhileRebuilding() {
+        counters.beginRebuild();
+        counters.recordCreated(order(Status.OPEN, today, null));
+
+        counters.reset(Map.of(Status.FINISHED, 3L), 3, 1, Map.of(today.minusDays(2), 3L), Map.of(today, 1L));
+
+        OrderServiceAnalyticsAggregate aggregate = aggregate();
+        assertEquals(4, aggregate.getTotalOrders());
+        assertEquals(1, aggregate.getLast24HoursOrders());
+        assertEquals(1, counters.countsByStatus().get(Status.OPEN));
+        assertEquals(3, counters.countsByStatus().get(Status.FINISHED));
+    }
+
+    @Test
+    void reset_shouldNotReplayUpdatesOfACancelledRebuild() {
+        counters.beginRebuild();
+        counters.recordCreated(order(Status.OPEN, today, null));
+        counters.cancelRebuild();
+
+        counters.reset(Map.of(), 0, 0, Map.of(), Map.of());
+
+        assertEquals(0, aggregate().getTotalOrders());
+    }
+
+    @Test
+    void recordCreated_shouldIncrementTotalsStatusAndBuckets() {
+        counters.recordCreated(order(Status.OPEN, today, null));
+        counters.recordCreated(order(Status.BUDGET, today.minusDays(10), null));
+
+        OrderServiceAnalyticsAggregate aggregate = aggregate();
+        assertEquals(2, aggregate.getTotalOrders());
+        assertEquals(2, aggregate.getLastMonthOrders());
+        assertEquals(1, aggregate.getLastWeekOrders());
+        assertEquals(1, aggregate.getLast24HoursOrders());
+        assertEquals(1, counters.countsByStatus().get(Status.OPEN));
+        assertEquals(1, counters.countsByStatus().get(Status.BUDGET));
+    }
+
+    @Test
+    void recordUpdated_shouldMoveStatusAndExitBucket() {
+        OrderService orderService = order(Status.OPEN, today, null);
+        counters.recordCreated(orderService);
+
+        orderService.setStatus(Status.FINISHED);
+        orderService.setDepartureDate(toDate(today));
+        counters.recordUpdated(Status.OPEN, null, orderService);
+
+        OrderServiceAnalyticsAggregate aggregate = aggregate();
+        assertEquals(1, aggregate.getTotalOrders());
+        assertEquals(1, aggregate.getExitOrders());
+        assertEquals(1, aggregate.getExitOrdersLast24Hours());
+        assertEquals(0, counters.countsByStatus().get(Status.OPEN));
+        assertEquals(1, counters.countsByStatus().get(Status.FINISHED));
+    }
+
+    @Test
+    void recordDeleted_shouldRevertCreation() {
+        OrderService orderService = order(Status.IN_PROGRESS, today, today);
+        counters.recordCreated(orderService);
+
+        counters.recordDeleted(orderService);
+
+        OrderServiceAnalyticsAggregate aggregate = aggregate();
+        assertEquals(0, aggregate.getTotalOrders());
+        assertEquals(0, aggregate.getLast24HoursOrders());
+        assertEquals(0, aggregate.getExitOrders());
+        assertEquals(0, counters.countsByStatus().get(Status.IN_PROGRESS));
+    }
+
+    private OrderServiceAnalyticsAggregate aggregate() {
+        return counters.aggregate(today.minusMonths(1), today.minusWeeks(1), today.minusDays(1), today);
+    }
+
+    private static OrderService order(Status status, LocalDate createdAt, LocalDate departureDate) {
+        OrderService orderService = new OrderService();
+        orderService.setStatus(status);
+        orderService.setCreatedAt(toDate(createdAt));
+        orderService.setDepartureDate(departureDate == null ? null : toDate(departureDate));
+        return orderService;
+    }
+
+    private static Date toDate(LocalDate day) {
+        return CounterUpdates.startOf(day);
+    }
+
+}
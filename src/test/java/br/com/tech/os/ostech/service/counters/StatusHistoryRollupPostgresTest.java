@@ -0,0 +1,22 @@
+package br.com.tech.os.ostech.service.counters;
+
+import br.com.tech.os.ostech.repository.PostgresTestDatabase;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Runs the {@link StatusHistoryRollupTest} cases against a PostgreSQL migrated by Flyway, with Hibernate validating
+ * the status history tables of V7 and V8 on startup (see {@link PostgresTestDatabase}).
+ */
+@EnabledIf("br.com.tech.os.ostech.repository.PostgresTestDatabase#isAvailable")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StatusHistoryRollupPostgresTest extends StatusHistoryRollupTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry, "status_history_test");
+    }
+
+}
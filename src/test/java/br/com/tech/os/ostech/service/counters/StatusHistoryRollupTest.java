@@ -0,0 +1,161 @@
+package br.com.tech.os.ostech.service.counters;
+
+import br.com.tech.os.ostech.model.OrderServiceStatusChange;
+import br.com.tech.os.ostech.model.OrderServiceStatusRollup;
+import br.com.tech.os.ostech.model.OrderServiceStatusRollup.Granularity;
+import br.com.tech.os.ostech.model.OrderServiceStatusRollupWatermark;
+import br.com.tech.os.ostech.model.Status;
+import br.com.tech.os.ostech.repository.OrderServiceStatusRollupRepository;
+import br.com.tech.os.ostech.repository.OrderServiceStatusRollupWatermarkRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.auto_quote_keyword=true")
+@Import(StatusHistoryRollup.class)
+class StatusHistoryRollupTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StatusHistoryRollup statusHistoryRollup;
+
+    @Autowired
+    private OrderServiceStatusRollupRepository statusRollupRepository;
+
+    @Autowired
+    private OrderServiceStatusRollupWatermarkRepository watermarkRepository;
+
+    @Test
+    void rollUp_shouldCountTransitionsAndDwellPerHourAndDay() {
+        change(1, null, Status.OPEN, at(8, 10));
+        change(1, Status.OPEN, Status.BUDGET, at(9, 10));
+        change(1, Status.BUDGET, Status.IN_PROGRESS, at(9, 40));
+        change(2, null, Status.OPEN, at(9, 5));
+        change(3, Status.OPEN, Status.CANCELED, at(9, 20));
+
+        statusHistoryRollup.rollUp(at(8, 0), at(9, 59));
+
+        List<OrderServiceStatusRollup> hours = hours();
+        assertEquals(5, hours.size());
+        assertRollup(hours, at(8, 0), Status.OPEN, 1, 0, 0, 0, 0);
+        assertRollup(hours, at(9, 0), Status.OPEN, 1, 2, 1, 3600, 3600);
+        assertRollup(hours, at(9, 0), Status.IN_PROGRESS, 1, 0, 0, 0, 0);
+        assertRollup(hours, at(9, 0), Status.CANCELED, 1, 0, 0, 0, 0);
+        assertRollup(hours, at(9, 0), Status.BUDGET, 1, 1, 1, 1800, 1800);
+
+        List<OrderServiceStatusRollup> days = days();
+        assertEquals(4, days.size());
+        assertRollup(days, DAY.atStartOfDay(), Status.OPEN, 2, 2, 1, 3600, 3600);
+    }
+
+    @Test
+    void rollUp_shouldRecomputeBucketsWhenChangesArriveLate() {
+        change(1, null, Status.OPEN, at(9, 0));
+        change(1, Status.OPEN, Status.BUDGET, at(9, 30));
+        statusHistoryRollup.rollUp(at(9, 0), at(9, 45));
+
+        change(2, null, Status.OPEN, at(9, 10));
+        change(2, Status.OPEN, Status.BUDGET, at(9, 50));
+        statusHistoryRollup.rollUp(at(9, 15), at(9, 55));
+
+        List<OrderServiceStatusRollup> hours = hours();
+        assertEquals(2, hours.size());
+        assertRollup(hours, at(9, 0), Status.OPEN, 2, 2, 2, 4200, 2400);
+        assertRollup(hours, at(9, 0), Status.BUDGET, 2, 0, 0, 0, 0);
+        assertRollup(days(), DAY.atStartOfDay(), Status.OPEN, 2, 2, 2, 4200, 2400);
+    }
+
+    @Test
+    void rollUp_shouldAttributeDwellToTheDayTheStatusWasLeft() {
+        change(1, null, Status.IN_PROGRESS, at(23, 30));
+        change(1, Status.IN_PROGRESS, Status.FINISHED, DAY.plusDays(1).atTime(1, 30));
+
+        statusHistoryRollup.rollUp(at(23, 0), DAY.plusDays(1).atTime(2, 0));
+
+        List<OrderServiceStatusRollup> days = days();
+        assertEquals(3, days.size());
+        assertRollup(days, DAY.atStartOfDay(), Status.IN_PROGRESS, 1, 0, 0, 0, 0);
+        assertRollup(days, DAY.plusDays(1).atStartOfDay(), Status.IN_PROGRESS, 0, 1, 1, 7200, 7200);
+        assertRollup(days, DAY.plusDays(1).atStartOfDay(), Status.FINISHED, 1, 0, 0, 0, 0);
+    }
+
+    @Test
+    void rollUp_shouldPersistHowFarItGotWithoutMovingBack() {
+        change(1, null, Status.OPEN, at(9, 0));
+
+        statusHistoryRollup.rollUp(at(8, 0), at(9, 59));
+        statusHistoryRollup.rollUp(at(8, 0), at(8, 30));
+
+        assertEquals(at(9, 59), watermark());
+    }
+
+    @Test
+    void rollUp_shouldResumeFromThePersistedWatermark() {
+        OrderServiceStatusRollupWatermark watermark = new OrderServiceStatusRollupWatermark(StatusHistoryRollup.WATERMARK);
+        watermark.setRolledUpTo(at(9, 30));
+        watermarkRepository.save(watermark);
+        change(1, null, Status.OPEN, at(8, 10));
+        change(2, null, Status.OPEN, at(9, 40));
+
+        statusHistoryRollup.rollUp();
+
+        List<OrderServiceStatusRollup> hours = hours();
+        assertEquals(1, hours.size());
+        assertRollup(hours, at(9, 0), Status.OPEN, 1, 0, 0, 0, 0);
+        assertTrue(watermark().isAfter(at(9, 30)));
+    }
+
+    private LocalDateTime watermark() {
+        entityManager.clear();
+        return watermarkRepository.findById(StatusHistoryRollup.WATERMARK).orElseThrow().getRolledUpTo();
+    }
+
+    private void change(Integer orderServiceId, Status fromStatus, Status toStatus, LocalDateTime changedAt) {
+        entityManager.persist(new OrderServiceStatusChange(orderServiceId, fromStatus, toStatus,
+                Date.from(changedAt.atZone(CounterUpdates.ZONE).toInstant())));
+    }
+
+    private List<OrderServiceStatusRollup> hours() {
+        return statusRollupRepository.findBuckets(Granularity.HOUR, DAY.atStartOfDay(), DAY.plusDays(2).atStartOfDay());
+    }
+
+    private List<OrderServiceStatusRollup> days() {
+        return statusRollupRepository.findBuckets(Granularity.DAY, DAY.atStartOfDay(), DAY.plusDays(2).atStartOfDay());
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+
+    private static void assertRollup(List<OrderServiceStatusRollup> rollups, LocalDateTime bucketStart, Status status,
+                                     long entered, long exited, long dwellCount, long dwellTotalSeconds,
+                                     long dwellMaxSeconds) {
+        OrderServiceStatusRollup rollup = rollups.stream()
+                .filter(candidate -> candidate.getId().getBucketStart().equals(bucketStart)
+                        && candidate.getId().getStatus() == status)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + status + " bucket at " + bucketStart));
+        assertEquals(entered, rollup.getEntered());
+        assertEquals(exited, rollup.getExited());
+        assertEquals(dwellCount, rollup.getDwellCount());
+        assertEquals(dwellTotalSeconds, rollup.getDwellTotalSeconds());
+        assertEquals(dwellMaxSeconds, rollup.getDwellMaxSeconds());
+    }
+
+}